@@ -8,7 +8,9 @@ import type {
   BusinessType,
   FileInfoResponse,
   ListFilesRequest,
+  ListFilesCursorRequest,
   PageResponse,
+  CursorPageResponse,
   AddFileTagsRequest,
   BatchOperationResponse,
 } from '../types/file'
@@ -48,6 +50,18 @@ export function listFiles(requestData: ListFilesRequest) {
   )
 }
 
+/**
+ * 游标查询文件列表（无限滚动）
+ * 传入上一批返回的 nextCursor 获取下一批，深翻页不变慢
+ * @param requestData 查询参数
+ */
+export function listFilesByCursor(requestData: ListFilesCursorRequest) {
+  return request.post<ApiResponse<CursorPageResponse<FileInfoResponse>>>(
+    '/api/files/list/cursor',
+    requestData,
+  )
+}
+
 /**
  * 下载文件
  * @param fileId 文件ID
@@ -115,6 +115,30 @@ export interface ListFilesRequest {
   pageSize?: number
 }
 
+/**
+ * 游标查询文件列表请求（筛选与排序同 ListFilesRequest，pageSize 为每批数量）
+ */
+export interface ListFilesCursorRequest extends ListFilesRequest {
+  /** 上一批返回的 nextCursor，第一批不传 */
+  cursor?: string
+  /** 是否同时返回总数（默认不返回） */
+  withTotal?: boolean
+}
+
+/**
+ * 游标分页响应
+ */
+export interface CursorPageResponse<T> {
+  /** 本批数据 */
+  records: T[]
+  /** 下一批的游标（没有更多数据时为 null） */
+  nextCursor: string | null
+  /** 是否还有更多数据 */
+  hasMore: boolean
+  /** 总记录数（仅 withTotal=true 时返回） */
+  total?: number | null
+}
+
 /**
  * 文件详情响应
  */
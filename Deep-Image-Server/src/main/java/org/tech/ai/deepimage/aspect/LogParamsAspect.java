@@ -2,15 +2,18 @@ package org.tech.ai.deepimage.aspect;
 
 import cn.dev33.satoken.stp.StpUtil;
 import com.alibaba.fastjson2.JSON;
+import jakarta.servlet.ServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.tech.ai.deepimage.annotation.LogParams;
 
+import java.io.InputStream;
 import java.lang.reflect.Method;
 
 /**
@@ -52,7 +55,8 @@ public class LogParamsAspect {
             paramsLog.append("，参数：{");
             for (int i = 0; i < args.length; i++) {
                 Object arg = args[i];
-                if (arg instanceof MultipartFile) {
+                if (arg instanceof MultipartFile || arg instanceof InputStream || arg instanceof WebRequest
+                        || arg instanceof ServletResponse) {
                     continue;
                 }
                 if (i > 0) {
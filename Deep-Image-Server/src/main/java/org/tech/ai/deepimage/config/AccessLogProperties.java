@@ -0,0 +1,52 @@
+package org.tech.ai.deepimage.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 文件访问日志异步写入配置属性
+ *
+ * @author zgq
+ * @since 2025-10-26
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "deepimage.access-log")
+public class AccessLogProperties {
+
+    /**
+     * 内存队列容量，队列满时丢弃新日志
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * 单次批量写入的最大条数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 最长刷新间隔（毫秒），未攒满一批时到时也会写入
+     */
+    private long flushIntervalMillis = 1000;
+
+    /**
+     * 应用关闭时等待写入线程结束的最长时间（毫秒）
+     */
+    private long shutdownTimeoutMillis = 10000;
+
+    /**
+     * 原始日志保留月数，更早的月分区会被删除（按日汇总不删除）
+     */
+    private int retentionMonths = 6;
+
+    /**
+     * 预先创建的未来月分区数
+     */
+    private int precreateMonths = 2;
+
+    /**
+     * 分区维护与前一日汇总校正的执行时间（cron）
+     */
+    private String maintenanceCron = "0 10 0 * * ?";
+}
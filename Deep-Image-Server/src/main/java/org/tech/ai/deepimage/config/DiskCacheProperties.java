@@ -0,0 +1,42 @@
+package org.tech.ai.deepimage.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 本地磁盘对象缓存配置属性
+ *
+ * @author zgq
+ * @since 2025-10-30
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "deepimage.disk-cache")
+public class DiskCacheProperties {
+
+    /**
+     * 是否启用本地磁盘缓存（默认关闭，多节点部署时各节点独立缓存）
+     */
+    private boolean enabled = false;
+
+    /**
+     * 缓存根目录（objects 存放缓存文件，tmp 存放写入中的临时文件）
+     */
+    private String directory = "data/object-cache";
+
+    /**
+     * 缓存容量上限（字节），超出后按访问频率与时间淘汰
+     */
+    private long maxBytes = 10L * 1024 * 1024 * 1024;
+
+    /**
+     * 单个对象大小上限（字节），超过的对象不缓存
+     */
+    private long maxObjectBytes = 256L * 1024 * 1024;
+
+    /**
+     * 命中时是否交由容器 sendfile 零拷贝发送（容器不支持时自动降级为读取本地文件）
+     */
+    private boolean sendfile = true;
+}
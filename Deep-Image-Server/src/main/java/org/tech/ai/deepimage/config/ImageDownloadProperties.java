@@ -29,6 +29,31 @@ public class ImageDownloadProperties {
      */
     private long maxFileSize = 10 * 1024 * 1024;
     
+    /**
+     * 并发下载线程数（全局），默认8
+     */
+    private int maxConcurrency = 8;
+    
+    /**
+     * 单个图片源主机的最大并发连接数，默认3
+     */
+    private int maxConcurrencyPerHost = 3;
+    
+    /**
+     * 同时执行的抓取任务数，默认2
+     */
+    private int maxRunningJobs = 2;
+    
+    /**
+     * 排队中的抓取任务上限，超过则拒绝提交，默认20
+     */
+    private int jobQueueCapacity = 20;
+    
+    /**
+     * 已结束任务的保留时间（分钟），超时后不可再查询，默认60
+     */
+    private int jobRetentionMinutes = 60;
+    
     /**
      * 默认文件扩展名
      */
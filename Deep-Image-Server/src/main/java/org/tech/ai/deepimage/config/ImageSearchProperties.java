@@ -0,0 +1,52 @@
+package org.tech.ai.deepimage.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 图片搜索配置属性
+ *
+ * @author zgq
+ * @since 2025-10-22
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "deepimage.search")
+public class ImageSearchProperties {
+
+    /**
+     * 搜索接口地址（可指向本地桩服务用于测试）
+     */
+    private String baseUrl = "https://cn.bing.com/images/async";
+
+    /**
+     * 搜索结果缓存有效期（秒）
+     */
+    private long cacheTtlSeconds = 600;
+
+    /**
+     * 搜索结果缓存最大条目数
+     */
+    private long cacheMaxSize = 1000;
+
+    /**
+     * 流式搜索每页请求的图片数量
+     */
+    private int streamPageSize = 35;
+
+    /**
+     * 流式搜索翻页间隔（毫秒），避免请求过于密集
+     */
+    private long streamPageIntervalMillis = 300;
+
+    /**
+     * 同时执行的流式搜索数
+     */
+    private int streamMaxConcurrency = 4;
+
+    /**
+     * 排队中的流式搜索上限，超过则拒绝
+     */
+    private int streamQueueCapacity = 16;
+}
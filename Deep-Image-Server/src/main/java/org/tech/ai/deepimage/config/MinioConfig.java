@@ -2,18 +2,26 @@ package org.tech.ai.deepimage.config;
 
 import io.minio.BucketExistsArgs;
 import io.minio.MakeBucketArgs;
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
 import io.minio.SetBucketPolicyArgs;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.EventListener;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * MinIO配置类
- * 负责创建MinioClient Bean并初始化默认存储桶
+ * 负责创建MinioClient / MinioAsyncClient Bean并初始化默认存储桶
  * 使用事件监听器避免循环依赖问题
  * 
  * @author zgq
@@ -26,18 +34,59 @@ public class MinioConfig {
 
     private final MinioProperties minioProperties;
 
+    /**
+     * 创建 MinIO 共用的 OkHttpClient Bean
+     * 同步、异步客户端共享连接池与 Dispatcher，连接数与并发上限统一由配置控制
+     * 
+     * @return OkHttpClient实例
+     */
+    @Bean
+    public OkHttpClient minioHttpClient() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(minioProperties.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(minioProperties.getMaxRequestsPerHost());
+
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(minioProperties.getMaxIdleConnections(),
+                        minioProperties.getKeepAliveSeconds(), TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(minioProperties.getConnectTimeoutSeconds(), TimeUnit.SECONDS)
+                .readTimeout(minioProperties.getReadTimeoutSeconds(), TimeUnit.SECONDS)
+                .writeTimeout(minioProperties.getWriteTimeoutSeconds(), TimeUnit.SECONDS)
+                // 与 MinIO SDK 默认客户端一致，只使用 HTTP/1.1
+                .protocols(List.of(Protocol.HTTP_1_1))
+                .build();
+    }
+
     /**
      * 创建MinioClient Bean
      * 
+     * @param minioHttpClient 共用的 OkHttpClient
      * @return MinioClient实例
      */
     @Bean
-    public MinioClient minioClient() {
+    public MinioClient minioClient(OkHttpClient minioHttpClient) {
         log.info("初始化MinIO客户端, endpoint: {}", minioProperties.getEndpoint());
 
         return MinioClient.builder()
                 .endpoint(minioProperties.getEndpoint())
                 .credentials(minioProperties.getAccessKey(), minioProperties.getSecretKey())
+                .httpClient(minioHttpClient)
+                .build();
+    }
+
+    /**
+     * 创建MinioAsyncClient Bean（非阻塞，返回 CompletableFuture）
+     * 
+     * @param minioHttpClient 共用的 OkHttpClient
+     * @return MinioAsyncClient实例
+     */
+    @Bean
+    public MinioAsyncClient minioAsyncClient(OkHttpClient minioHttpClient) {
+        return MinioAsyncClient.builder()
+                .endpoint(minioProperties.getEndpoint())
+                .credentials(minioProperties.getAccessKey(), minioProperties.getSecretKey())
+                .httpClient(minioHttpClient)
                 .build();
     }
 
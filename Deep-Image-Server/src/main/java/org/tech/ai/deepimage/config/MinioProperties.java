@@ -35,5 +35,47 @@ public class MinioProperties {
      * 默认存储桶名称
      */
     private String bucket;
+
+    // ========== HTTP 传输（同步、异步客户端共享同一个 OkHttpClient） ==========
+
+    /**
+     * 连接池最大空闲连接数
+     */
+    private int maxIdleConnections = 32;
+
+    /**
+     * 空闲连接保活时间（秒）
+     */
+    private long keepAliveSeconds = 300;
+
+    /**
+     * 连接超时（秒）
+     */
+    private long connectTimeoutSeconds = 10;
+
+    /**
+     * 读超时（秒），大文件下载按单次读取计时
+     */
+    private long readTimeoutSeconds = 300;
+
+    /**
+     * 写超时（秒），大文件上传按单次写入计时
+     */
+    private long writeTimeoutSeconds = 300;
+
+    /**
+     * 异步请求最大并发数（OkHttp Dispatcher）
+     */
+    private int maxRequests = 64;
+
+    /**
+     * 异步请求单主机最大并发数（OkHttp Dispatcher）
+     */
+    private int maxRequestsPerHost = 64;
+
+    /**
+     * 异步批量操作的扇出并发数（批量查询、删除时同时在途的请求数）
+     */
+    private int asyncBatchConcurrency = 16;
 }
 
@@ -0,0 +1,32 @@
+package org.tech.ai.deepimage.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 预签名URL缓存配置属性
+ *
+ * @author zgq
+ * @since 2025-11-01
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "deepimage.presigned-url-cache")
+public class PresignedUrlCacheProperties {
+
+    /**
+     * 缓存最大条目数
+     */
+    private long maxSize = 10000;
+
+    /**
+     * 有效期分档步长（秒），请求的有效期向下取整到步长的整数倍，相同分档复用同一个URL
+     */
+    private int expiryStepSeconds = 300;
+
+    /**
+     * 安全余量（秒），URL 在过期前这段时间内不再复用，最多为有效期的一半
+     */
+    private int safetyMarginSeconds = 300;
+}
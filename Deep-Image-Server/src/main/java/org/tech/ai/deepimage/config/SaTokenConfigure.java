@@ -12,10 +12,7 @@ import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.tech.ai.deepimage.constant.ResponseConstant;
-import org.tech.ai.deepimage.enums.SessionStatusEnum;
-import org.tech.ai.deepimage.entity.Session;
 import org.tech.ai.deepimage.exception.BusinessException;
-import org.tech.ai.deepimage.model.dto.request.FindSessionByTokenRequest;
 import org.tech.ai.deepimage.service.SessionService;
 
 @Configuration
@@ -37,14 +34,10 @@ public class SaTokenConfigure implements WebMvcConfigurer {
                 
                 // 1) 框架登录校验
                 StpUtil.checkLogin();
-                // 2) 业务会话活跃校验
+                // 2) 业务会话活跃校验（短期缓存，会话失效时主动清除）
                 String token = StpUtil.getTokenValue();
                 long userId = StpUtil.getLoginIdAsLong();
-                FindSessionByTokenRequest req = new FindSessionByTokenRequest();
-                req.setAccessToken(token);
-                req.setUserId(userId);
-                Session s = sessionService.findByAccessTokenAndUserId(req);
-                if (s == null || s.getActive() == null || s.getActive() != SessionStatusEnum.ACTIVE.getValue()) {
+                if (!sessionService.isSessionActive(token, userId)) {
                     throw BusinessException.of(ResponseConstant.UNAUTHORIZED, ResponseConstant.NOT_LOGIN_MESSAGE);
                 }
                 return true;
@@ -52,7 +45,9 @@ public class SaTokenConfigure implements WebMvcConfigurer {
         })
                 .addPathPatterns("/**")
                 .excludePathPatterns("/api/auth/login","/api/auth/register","/api/auth/refresh",
-                        "/api/auth/reset-password","/api/health","/api/auth/google/login","/api/auth/google/callback");
+                        "/api/auth/reset-password","/api/health","/api/auth/google/login","/api/auth/google/callback",
+                        // WebSocket 握手无法携带请求头，鉴权在 STOMP CONNECT 帧中完成
+                        "/ws/**");
     }
 
 
@@ -0,0 +1,57 @@
+package org.tech.ai.deepimage.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 会话有效性缓存配置属性
+ *
+ * @author zgq
+ * @since 2025-10-28
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "deepimage.session-cache")
+public class SessionCacheProperties {
+
+    /**
+     * 缓存有效期（秒），会话失效时会主动清除，TTL 只兜底其他节点的变更
+     */
+    private long ttlSeconds = 30;
+
+    /**
+     * 缓存最大条目数
+     */
+    private long maxSize = 10000;
+
+    /**
+     * 会话失效广播实现：postgres（LISTEN/NOTIFY，多节点）/ memory（仅本节点）
+     */
+    private String revocationBus = "postgres";
+
+    /**
+     * 会话失效广播的 PostgreSQL 通道名
+     */
+    private String revocationChannel = "deepimage_session_revocation";
+
+    /**
+     * 监听连接等待通知的超时（毫秒）
+     */
+    private long listenerPollMillis = 1000;
+
+    /**
+     * 监听连接断开后的重连间隔（毫秒）
+     */
+    private long listenerReconnectMillis = 5000;
+
+    /**
+     * 监听连接探活间隔（毫秒），半开连接上收不到通知也不会报错，需要主动探测
+     */
+    private long listenerProbeMillis = 30000;
+
+    /**
+     * 监听连接探活超时（秒）
+     */
+    private int listenerProbeTimeoutSeconds = 5;
+}
@@ -0,0 +1,37 @@
+package org.tech.ai.deepimage.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户存储配置属性
+ *
+ * @author zgq
+ * @since 2025-10-25
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "deepimage.storage")
+public class StorageProperties {
+
+    /**
+     * 每个用户的存储配额（字节，含回收站），0 表示不限制
+     */
+    private long quotaBytes = 0;
+
+    /**
+     * 存储统计修复任务的执行时间（cron）
+     */
+    private String statsRepairCron = "0 30 3 * * ?";
+
+    /**
+     * 上传会话（直传、分片）的有效期（小时），超过后未完成的会话及其对象由清理任务删除
+     */
+    private int uploadSessionTtlHours = 24;
+
+    /**
+     * 过期上传会话清理任务的执行时间（cron）
+     */
+    private String uploadSweepCron = "0 15 * * * ?";
+}
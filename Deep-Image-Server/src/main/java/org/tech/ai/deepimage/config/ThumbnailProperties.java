@@ -0,0 +1,66 @@
+package org.tech.ai.deepimage.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.tech.ai.deepimage.constant.FileConstant;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 缩略图生成配置属性
+ *
+ * @author zgq
+ * @since 2025-10-22
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "deepimage.thumbnail")
+public class ThumbnailProperties {
+
+    /**
+     * 是否启用缩略图生成
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缩略图规格（最长边像素），最小的规格写入 thumbnail_url
+     */
+    private List<Integer> sizes = new ArrayList<>(List.of(FileConstant.THUMBNAIL_WIDTH, 480));
+
+    /**
+     * JPEG 压缩质量（0~1）
+     */
+    private float quality = 0.8f;
+
+    /**
+     * 工作线程数
+     */
+    private int workerThreads = 2;
+
+    /**
+     * 任务队列容量，队列满时拒绝提交，文件保持处理中状态由恢复任务重新提交
+     */
+    private int queueCapacity = 200;
+
+    /**
+     * 恢复任务间隔（毫秒），重新提交仍处于处理中且不在队列中的文件
+     */
+    private long recoverIntervalMillis = 60000;
+
+    /**
+     * 失败最大重试次数
+     */
+    private int maxRetries = 3;
+
+    /**
+     * 首次重试延迟（毫秒），之后按指数退避
+     */
+    private long retryBackoffMillis = 2000;
+
+    /**
+     * 原图最大像素数，超过则不解码（防止解压炸弹耗尽内存）
+     */
+    private long maxSourcePixels = 50_000_000L;
+}
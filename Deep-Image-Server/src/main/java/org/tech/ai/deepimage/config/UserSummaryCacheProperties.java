@@ -0,0 +1,27 @@
+package org.tech.ai.deepimage.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户摘要缓存配置属性
+ *
+ * @author zgq
+ * @since 2025-10-28
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "deepimage.user-summary-cache")
+public class UserSummaryCacheProperties {
+
+    /**
+     * 缓存最大条目数，超出后由 Caffeine 按 W-TinyLFU（兼顾访问频率与时间）淘汰
+     */
+    private long maxSize = 10000;
+
+    /**
+     * 缓存有效期（秒），本节点修改资料时主动清除，TTL 兜底其他节点的修改
+     */
+    private long ttlSeconds = 600;
+}
@@ -0,0 +1,117 @@
+package org.tech.ai.deepimage.config;
+
+import cn.dev33.satoken.SaManager;
+import cn.dev33.satoken.stp.StpUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.tech.ai.deepimage.constant.ResponseConstant;
+import org.tech.ai.deepimage.entity.Session;
+import org.tech.ai.deepimage.enums.SessionStatusEnum;
+import org.tech.ai.deepimage.model.dto.request.FindSessionByTokenRequest;
+import org.tech.ai.deepimage.service.SessionService;
+
+import java.security.Principal;
+
+/**
+ * WebSocket(STOMP) 配置
+ * 握手不做鉴权（浏览器 WebSocket 无法携带自定义请求头），在 STOMP CONNECT 帧中校验 token，握手只接受配置的前端来源；
+ * 只允许订阅用户私有目的地（/user/**），消息按登录用户隔离；客户端只能向应用目的地（/app/**）发送，不能直接向代理目的地发布消息
+ *
+ * @author zgq
+ * @since 2025-10-22
+ */
+@Slf4j
+@Configuration
+@EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private static final String USER_DESTINATION_PREFIX = "/user/";
+    private static final String APP_DESTINATION_PREFIX = "/app";
+
+    private final SessionService sessionService;
+    private final WebSocketProperties webSocketProperties;
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws")
+                .setAllowedOriginPatterns(webSocketProperties.getAllowedOrigins().toArray(String[]::new));
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/queue");
+        registry.setApplicationDestinationPrefixes(APP_DESTINATION_PREFIX);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor == null) {
+                    return message;
+                }
+                if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+                    String userId = authenticate(accessor);
+                    Principal principal = () -> userId;
+                    accessor.setUser(principal);
+                } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+                    String destination = accessor.getDestination();
+                    if (destination == null || !destination.startsWith(USER_DESTINATION_PREFIX)) {
+                        throw new MessageDeliveryException(ResponseConstant.FORBIDDEN_MESSAGE);
+                    }
+                } else if (StompCommand.SEND.equals(accessor.getCommand())) {
+                    String destination = accessor.getDestination();
+                    if (destination == null || !destination.startsWith(APP_DESTINATION_PREFIX + "/")) {
+                        throw new MessageDeliveryException(ResponseConstant.FORBIDDEN_MESSAGE);
+                    }
+                }
+                return message;
+            }
+        });
+    }
+
+    /**
+     * 校验 CONNECT 帧中的 token（与 HTTP 拦截器一致：框架登录校验 + 业务会话活跃校验）
+     *
+     * @return 登录用户ID
+     */
+    private String authenticate(StompHeaderAccessor accessor) {
+        String tokenName = SaManager.getConfig().getTokenName();
+        String tokenPrefix = SaManager.getConfig().getTokenPrefix();
+        String token = accessor.getFirstNativeHeader(tokenName);
+        if (StringUtils.isNotBlank(tokenPrefix)) {
+            token = StringUtils.removeStart(token, tokenPrefix + " ");
+        }
+
+        Object loginId = StringUtils.isBlank(token) ? null : StpUtil.getLoginIdByToken(token);
+        if (loginId == null) {
+            throw new MessageDeliveryException(ResponseConstant.NOT_LOGIN_MESSAGE);
+        }
+
+        FindSessionByTokenRequest req = new FindSessionByTokenRequest();
+        req.setAccessToken(token);
+        req.setUserId(Long.valueOf(loginId.toString()));
+        Session s = sessionService.findByAccessTokenAndUserId(req);
+        if (s == null || s.getActive() == null || s.getActive() != SessionStatusEnum.ACTIVE.getValue()) {
+            throw new MessageDeliveryException(ResponseConstant.NOT_LOGIN_MESSAGE);
+        }
+        return loginId.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package org.tech.ai.deepimage.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WebSocket 配置属性
+ *
+ * @author zgq
+ * @since 2025-10-22
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "deepimage.websocket")
+public class WebSocketProperties {
+
+    /**
+     * 允许建立 WebSocket 连接的前端来源，支持 https://*.example.com 形式的通配
+     * 浏览器跨站发起的 WebSocket 握手不受同源策略限制，必须显式限定来源
+     */
+    private List<String> allowedOrigins = new ArrayList<>(List.of("http://localhost:5173"));
+}
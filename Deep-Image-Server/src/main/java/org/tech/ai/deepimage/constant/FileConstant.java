@@ -52,11 +52,80 @@ public class FileConstant {
      */
     public static final int THUMBNAIL_HEIGHT = 200;
     
+    /**
+     * 缩略图对象前缀
+     * 格式: thumbnail/{size}/{原图对象名去扩展名}.jpg
+     */
+    public static final String THUMBNAIL_OBJECT_PREFIX = "thumbnail";
+    
+    /**
+     * 缩略图格式
+     */
+    public static final String THUMBNAIL_FORMAT = "jpg";
+    
+    /**
+     * 缩略图内容类型
+     */
+    public static final String THUMBNAIL_CONTENT_TYPE = "image/jpeg";
+    
+    /**
+     * SVG 内容类型（矢量图，不生成缩略图）
+     */
+    public static final String SVG_CONTENT_TYPE = "image/svg+xml";
+    
     /**
      * 文件哈希长度（SHA-256）
      */
     public static final int FILE_HASH_LENGTH = 64;
     
+    /**
+     * 上传暂存对象前缀
+     * 流式上传时先写入暂存对象，去重判定后再转正或丢弃
+     */
+    public static final String STAGING_OBJECT_PREFIX = "staging";
+    
+    // ========== 直传上传常量 ==========
+    
+    /**
+     * 预签名直传文件大小限制（5GB，S3 单次 PUT 上限）
+     * 更大的文件使用分片上传
+     */
+    public static final long MAX_DIRECT_UPLOAD_FILE_SIZE = 5L * 1024 * 1024 * 1024;
+    
+    /**
+     * 预签名直传URL有效期（秒）
+     */
+    public static final int DIRECT_UPLOAD_EXPIRY_SECONDS = 900;
+    
+    /**
+     * 过期上传会话每批清理的数量
+     */
+    public static final int UPLOAD_SWEEP_BATCH_SIZE = 100;
+    
+    // ========== 分片上传常量 ==========
+    
+    /**
+     * 分片上传文件大小限制（5GB）
+     */
+    public static final long MAX_MULTIPART_FILE_SIZE = 5L * 1024 * 1024 * 1024;
+    
+    /**
+     * 分片大小（8MB）
+     * 除最后一片外每片大小必须严格等于该值，不得小于 S3 合并要求的 5MB
+     */
+    public static final long MULTIPART_PART_SIZE = 8 * 1024 * 1024;
+    
+    /**
+     * 分片临时对象前缀
+     * 格式: multipart/{uploadId}/{partNumber}
+     */
+    public static final String MULTIPART_OBJECT_PREFIX = "multipart";
+    
+    /**
+     * 上传中文件的占位哈希（合并完成后回填真实哈希）
+     */
+    public static final String PENDING_FILE_HASH = "";
+    
     // ========== 文件排序字段常量 ==========
     
     /**
@@ -83,5 +152,19 @@ public class FileConstant {
      * 排序方向：降序
      */
     public static final String SORT_ORDER_DESC = "desc";
+    
+    /**
+     * 标签匹配模式：包含任一标签
+     */
+    public static final String TAG_MATCH_ANY = "any";
+    
+    /**
+     * 标签匹配模式：包含全部标签
+     */
+    public static final String TAG_MATCH_ALL = "all";
+    
+    /**
+     * 单次查询最多筛选的标签数量
+     */
+    public static final int MAX_FILTER_TAG_COUNT = 20;
 }
-
@@ -42,6 +42,16 @@ public class ImageDownloadConstant {
      */
     public static final String STATUS_PARTIAL = "partial";
     
+    /**
+     * 抓取任务进度推送目的地（用户私有队列，客户端订阅 /user/queue/crawler-jobs）
+     */
+    public static final String CRAWLER_JOB_DESTINATION = "/queue/crawler-jobs";
+    
+    /**
+     * 主机并发通道的空闲移除时间（分钟）
+     */
+    public static final int HOST_LANE_IDLE_MINUTES = 10;
+    
     /**
      * 秒转换：毫秒到秒
      */
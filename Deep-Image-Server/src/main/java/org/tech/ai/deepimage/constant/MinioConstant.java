@@ -23,6 +23,11 @@ public class MinioConstant {
      */
     public static final int MIN_PRESIGNED_EXPIRY = 60;
 
+    /**
+     * 未知大小流式上传时的分片大小(字节) - 10MB
+     */
+    public static final long DEFAULT_PART_SIZE = 10L * 1024 * 1024;
+
     private MinioConstant() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
@@ -53,10 +53,26 @@ public class ResponseConstant {
     public static final String FILE_NOT_FOUND_MESSAGE = "文件不存在";
     public static final String FILE_PERMISSION_DENIED_MESSAGE = "无权操作该文件";
     public static final String FILE_SIZE_EXCEEDED_MESSAGE = "文件大小超过限制";
+    public static final String STORAGE_QUOTA_EXCEEDED_MESSAGE = "存储空间不足";
     public static final String FILE_TYPE_INVALID_MESSAGE = "业务类型不合法";
     public static final String FILE_BEING_REFERENCED_MESSAGE = "文件正在被引用，无法删除";
     public static final String FILE_ALREADY_EXISTS_MESSAGE = "文件已存在";
     public static final String FILE_NOT_EXISTS_MESSAGE = "文件不存在";
+    public static final String INVALID_CURSOR_MESSAGE = "分页游标无效或与排序条件不一致";
+
+    // multipart upload error messages
+    public static final String MULTIPART_UPLOAD_NOT_FOUND_MESSAGE = "上传会话不存在";
+    public static final String MULTIPART_UPLOAD_NOT_IN_PROGRESS_MESSAGE = "上传会话已结束";
+    public static final String MULTIPART_PART_NUMBER_INVALID_MESSAGE = "分片号不合法";
+    public static final String MULTIPART_PART_SIZE_INVALID_MESSAGE = "分片大小不合法";
+    public static final String MULTIPART_PARTS_INCOMPLETE_MESSAGE = "分片未全部上传";
+    public static final String DIRECT_UPLOAD_OBJECT_MISSING_MESSAGE = "文件尚未上传到存储服务";
+    public static final String UPLOADED_OBJECT_SIZE_MISMATCH_MESSAGE = "上传文件大小与声明不一致";
+    public static final String UPLOADED_OBJECT_ETAG_MISMATCH_MESSAGE = "上传文件ETag校验失败";
+
+    // crawler error messages
+    public static final String CRAWLER_JOB_NOT_FOUND_MESSAGE = "抓取任务不存在或已过期";
+    public static final String CRAWLER_JOB_INTERRUPTED_MESSAGE = "服务关闭，抓取任务已中断";
 
     // tag error messages
     public static final String TAG_NOT_FOUND_MESSAGE = "标签不存在或无权访问";
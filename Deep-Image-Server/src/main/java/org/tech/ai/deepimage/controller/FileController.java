@@ -1,22 +1,34 @@
 package org.tech.ai.deepimage.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.InputStreamResource;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.tech.ai.deepimage.annotation.LogParams;
+import org.tech.ai.deepimage.model.dto.DownloadContent;
+import org.tech.ai.deepimage.model.dto.FileAccessInfo;
 import org.tech.ai.deepimage.model.dto.request.*;
 import org.tech.ai.deepimage.model.dto.response.*;
 import org.tech.ai.deepimage.service.FileService;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 /**
@@ -65,6 +77,93 @@ public class FileController {
         return ApiResponse.success(response);
     }
     
+    // ========== 直传上传 ==========
+    
+    /**
+     * 创建直传上传意图（返回预签名PUT地址）
+     * POST /api/files/upload-intent
+     */
+    @PostMapping("/upload-intent")
+    public ApiResponse<UploadIntentResponse> createUploadIntent(@Valid @RequestBody UploadIntentRequest request) {
+        UploadIntentResponse response = fileService.createUploadIntent(request);
+        return ApiResponse.success(response);
+    }
+    
+    /**
+     * 完成直传上传
+     * POST /api/files/upload-finalize
+     */
+    @PostMapping("/upload-finalize")
+    public ApiResponse<FileUploadResponse> finalizeUpload(@Valid @RequestBody FinalizeUploadRequest request) {
+        FileUploadResponse response = fileService.finalizeUpload(request);
+        return ApiResponse.success(response);
+    }
+    
+    // ========== 分片上传 ==========
+    
+    /**
+     * 初始化分片上传
+     * POST /api/files/multipart/init
+     */
+    @PostMapping("/multipart/init")
+    public ApiResponse<MultipartUploadInitResponse> initMultipartUpload(
+            @Valid @RequestBody InitMultipartUploadRequest request) {
+        MultipartUploadInitResponse response = fileService.initMultipartUpload(request);
+        return ApiResponse.success(response);
+    }
+    
+    /**
+     * 上传分片（请求体为分片原始字节，可并发上传不同分片）
+     * PUT /api/files/multipart/part
+     */
+    @PutMapping("/multipart/part")
+    public ApiResponse<MultipartUploadPartResponse> uploadPart(
+            @RequestParam Long uploadId,
+            @RequestParam Integer partNumber,
+            @RequestHeader(HttpHeaders.CONTENT_LENGTH) Long contentLength,
+            InputStream body) {
+        
+        UploadPartRequest request = new UploadPartRequest();
+        request.setUploadId(uploadId);
+        request.setPartNumber(partNumber);
+        request.setPartSize(contentLength);
+        request.setInputStream(body);
+        
+        MultipartUploadPartResponse response = fileService.uploadPart(request);
+        return ApiResponse.success(response);
+    }
+    
+    /**
+     * 查询分片上传进度（断线后据此续传缺失分片）
+     * GET /api/files/multipart/status
+     */
+    @GetMapping("/multipart/status")
+    public ApiResponse<MultipartUploadStatusResponse> getMultipartUploadStatus(@RequestParam Long uploadId) {
+        MultipartUploadStatusResponse response = fileService.getMultipartUploadStatus(uploadId);
+        return ApiResponse.success(response);
+    }
+    
+    /**
+     * 完成分片上传
+     * POST /api/files/multipart/complete
+     */
+    @PostMapping("/multipart/complete")
+    public ApiResponse<FileUploadResponse> completeMultipartUpload(
+            @Valid @RequestBody CompleteMultipartUploadRequest request) {
+        FileUploadResponse response = fileService.completeMultipartUpload(request);
+        return ApiResponse.success(response);
+    }
+    
+    /**
+     * 取消分片上传
+     * DELETE /api/files/multipart
+     */
+    @DeleteMapping("/multipart")
+    public ApiResponse<Boolean> abortMultipartUpload(@RequestParam Long uploadId) {
+        Boolean result = fileService.abortMultipartUpload(uploadId);
+        return ApiResponse.success(result);
+    }
+    
     // ========== 文件查询 ==========
     
     /**
@@ -78,6 +177,18 @@ public class FileController {
         return ApiResponse.success(response);
     }
 
+    /**
+     * 游标查询文件列表（无限滚动）
+     * POST /api/files/list/cursor
+     * 筛选与排序同 /list，传入上一批的 nextCursor 获取下一批
+     */
+    @PostMapping("/list/cursor")
+    public ApiResponse<CursorPageResponse<FileInfoResponse>> listFilesByCursor(
+            @Valid @RequestBody ListFilesCursorRequest request) {
+        CursorPageResponse<FileInfoResponse> response = fileService.listFilesByCursor(request);
+        return ApiResponse.success(response);
+    }
+
     /**
      * 查询文件详情
      * GET /api/files/detail
@@ -93,29 +204,75 @@ public class FileController {
     /**
      * 下载文件
      * GET /api/files/download
+     * 
+     * 支持 Range / If-Range 断点续传（单区间），以及 If-None-Match / If-Modified-Since 条件请求
+     * 响应体直接写入 HttpServletResponse：状态码和区间完全由此处决定，
+     * 不经过 Spring 对 Resource 返回值的 Range 二次处理（多区间、If-Range 不匹配时按 200 返回整文件）
      */
     @GetMapping("/download")
-    public ResponseEntity<InputStreamResource> downloadFile(@RequestParam Long fileId) {
-        // 获取文件详情
-        FileDetailResponse fileDetail = fileService.getFileDetail(fileId);
-        
-        // 下载文件流
-        InputStream inputStream = fileService.downloadFile(fileId);
-        
+    public void downloadFile(
+            @RequestParam Long fileId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRangeHeader,
+            WebRequest webRequest,
+            HttpServletResponse response) throws IOException {
+        // 校验权限并获取下载元信息
+        FileAccessInfo accessInfo = fileService.prepareDownload(fileId);
+        long fileSize = accessInfo.getFileSize();
+        String etag = StringUtils.isNotBlank(accessInfo.getEtag())
+                ? "\"" + StringUtils.strip(accessInfo.getEtag(), "\"") + "\""
+                : null;
+        long lastModified = accessInfo.getLastModified() != null
+                ? accessInfo.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+
+        // 条件请求命中时已写入 304（或 412），无需响应体
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return;
+        }
+
         // 设置响应头
-        String encodedFilename = URLEncoder.encode(fileDetail.getOriginalFilename(), StandardCharsets.UTF_8)
+        String encodedFilename = URLEncoder.encode(accessInfo.getOriginalFilename(), StandardCharsets.UTF_8)
                 .replace("+", "%20");
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.add(HttpHeaders.CONTENT_DISPOSITION, 
-                "attachment; filename*=UTF-8''" + encodedFilename);
-        headers.add(HttpHeaders.CONTENT_TYPE, fileDetail.getContentType());
-        
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(new InputStreamResource(inputStream));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + encodedFilename);
+        response.setContentType(StringUtils.defaultIfBlank(
+                accessInfo.getContentType(), MediaType.APPLICATION_OCTET_STREAM_VALUE));
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (etag != null) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+        }
+        if (lastModified >= 0) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        }
+
+        // 解析区间请求（If-Range 不匹配时按整文件返回）
+        HttpRange range = isIfRangeSatisfied(ifRangeHeader, etag, lastModified)
+                ? resolveSingleRange(rangeHeader, fileSize)
+                : null;
+        if (range == null) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentLengthLong(fileSize);
+            writeBody(fileService.openDownload(accessInfo, 0, fileSize), response);
+            return;
+        }
+
+        long rangeStart = range.getRangeStart(fileSize);
+        long rangeEnd = range.getRangeEnd(fileSize);
+        if (rangeStart >= fileSize || rangeStart > rangeEnd) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize);
+            response.setContentLengthLong(0);
+            return;
+        }
+
+        long rangeLength = rangeEnd - rangeStart + 1;
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + rangeStart + "-" + rangeEnd + "/" + fileSize);
+        response.setContentLengthLong(rangeLength);
+        writeBody(fileService.openDownload(accessInfo, rangeStart, rangeLength), response);
     }
-    
+
     /**
      * 获取文件预览URL
      * GET /api/files/preview-url
@@ -274,6 +431,16 @@ public class FileController {
         return ApiResponse.success(response);
     }
     
+    /**
+     * 游标查询回收站文件列表（无限滚动）
+     * GET /api/files/trash/cursor
+     */
+    @GetMapping("/trash/cursor")
+    public ApiResponse<CursorPageResponse<FileInfoResponse>> queryTrashByCursor(@Valid TrashCursorRequest request) {
+        CursorPageResponse<FileInfoResponse> response = fileService.queryTrashByCursor(request);
+        return ApiResponse.success(response);
+    }
+    
     /**
      * 批量恢复文件
      * POST /api/files/restore
@@ -313,4 +480,54 @@ public class FileController {
         TrashStatsResponse response = fileService.getTrashStats();
         return ApiResponse.success(response);
     }
+
+    // ========== 私有方法 ==========
+
+    /**
+     * 写出下载流并关闭；已由容器 sendfile 发送时响应只写出头部
+     */
+    private void writeBody(DownloadContent content, HttpServletResponse response) throws IOException {
+        if (content.isSentByContainer()) {
+            return;
+        }
+        try (InputStream in = content.getInputStream()) {
+            in.transferTo(response.getOutputStream());
+        }
+    }
+
+    /**
+     * 解析单区间 Range 请求头；缺失、格式错误、多区间或空文件时返回 null（按整文件响应）
+     */
+    private HttpRange resolveSingleRange(String rangeHeader, long fileSize) {
+        if (fileSize <= 0 || StringUtils.isBlank(rangeHeader)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            log.debug("忽略非法 Range 请求头: {}", rangeHeader);
+            return null;
+        }
+    }
+
+    /**
+     * 校验 If-Range：ETag 需强匹配，日期需与最后修改时间（秒级）一致
+     */
+    private boolean isIfRangeSatisfied(String ifRangeHeader, String etag, long lastModified) {
+        if (StringUtils.isBlank(ifRangeHeader)) {
+            return true;
+        }
+        String ifRange = ifRangeHeader.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return etag != null && ifRange.equals(etag);
+        }
+        try {
+            long ifRangeDate = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+            return lastModified >= 0 && lastModified / 1000 == ifRangeDate / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
 }
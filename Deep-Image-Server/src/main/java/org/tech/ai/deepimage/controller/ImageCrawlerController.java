@@ -5,18 +5,28 @@ import cn.dev33.satoken.stp.StpUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.tech.ai.deepimage.annotation.LogParams;
 import org.tech.ai.deepimage.model.dto.ImageInfo;
+import org.tech.ai.deepimage.model.dto.request.CrawlerJobRequest;
 import org.tech.ai.deepimage.model.dto.request.ImageSearchRequest;
 import org.tech.ai.deepimage.model.dto.request.ImageDownloadRequest;
+import org.tech.ai.deepimage.model.dto.request.ImageStreamSearchRequest;
 import org.tech.ai.deepimage.model.dto.response.ApiResponse;
+import org.tech.ai.deepimage.model.dto.response.CrawlerJobResponse;
 import org.tech.ai.deepimage.model.dto.response.DownloadResult;
+import org.tech.ai.deepimage.model.dto.response.ImageSearchBatchResponse;
 import org.tech.ai.deepimage.model.dto.response.ImageSearchResponse;
+import org.tech.ai.deepimage.service.CrawlerJobService;
 import org.tech.ai.deepimage.service.ImageSearchService;
 import org.tech.ai.deepimage.service.ImageDownloadService;
+import org.tech.ai.deepimage.service.ImageSearchStreamListener;
 import org.tech.ai.deepimage.util.Timer;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -31,6 +41,12 @@ public class ImageCrawlerController {
 
     private final ImageSearchService imageSearchService;
     private final ImageDownloadService imageDownloadService;
+    private final CrawlerJobService crawlerJobService;
+
+    /**
+     * 流式搜索 SSE 连接超时时间（毫秒）
+     */
+    private static final long SEARCH_STREAM_TIMEOUT_MS = 10 * 60 * 1000L;
 
     /**
      * 搜索图片（同步操作，只返回图片URL列表）
@@ -56,6 +72,56 @@ public class ImageCrawlerController {
         return ApiResponse.success(response);
     }
 
+    /**
+     * 流式搜索图片（SSE，逐页推送结果）
+     * 事件：batch（每页新增图片）、complete（搜索结束）、error（搜索失败）
+     *
+     * @param request 搜索请求
+     * @return SSE 连接
+     */
+    @SaCheckLogin
+    @PostMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSearchImages(@Valid @RequestBody ImageStreamSearchRequest request) {
+        String keyword = request.getKeyword();
+        SseEmitter emitter = new SseEmitter(SEARCH_STREAM_TIMEOUT_MS);
+        Timer timer = Timer.start();
+
+        imageSearchService.streamImages(keyword, request.getMaxCount(), new ImageSearchStreamListener() {
+            @Override
+            public void onBatch(int page, List<ImageInfo> images) {
+                // 客户端断开时发送失败，抛出异常以终止后续翻页
+                sendEvent(emitter, "batch", ImageSearchBatchResponse.builder()
+                        .keyword(keyword)
+                        .page(page)
+                        .images(images)
+                        .build());
+            }
+
+            @Override
+            public void onComplete(int totalCount) {
+                timer.stop();
+                sendEvent(emitter, "complete", ImageSearchResponse.builder()
+                        .keyword(keyword)
+                        .totalCount(totalCount)
+                        .searchTimeMs(timer.getElapsedMillis())
+                        .build());
+                emitter.complete();
+                log.info("流式图片搜索完成：找到 {} 张图片，耗时：{}ms", totalCount, timer.getElapsedMillis());
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                try {
+                    sendEvent(emitter, "error", ApiResponse.error(error.getMessage()));
+                } catch (UncheckedIOException ignored) {
+                    // 客户端已断开
+                }
+                emitter.complete();
+            }
+        });
+        return emitter;
+    }
+
     /**
      * 下载选中的图片（同步操作）
      *
@@ -79,4 +145,43 @@ public class ImageCrawlerController {
         return ApiResponse.success(result);
     }
 
+    /**
+     * 提交异步下载任务（立即返回任务ID）
+     * 进度通过 STOMP 推送到 /user/queue/crawler-jobs，也可轮询任务状态接口
+     *
+     * @param request 任务请求
+     * @return 任务状态
+     */
+    @SaCheckLogin
+    @PostMapping("/jobs")
+    public ApiResponse<CrawlerJobResponse> submitJob(@Valid @RequestBody CrawlerJobRequest request) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        CrawlerJobResponse response = crawlerJobService.submitJob(request, userId);
+        return ApiResponse.success(response);
+    }
+
+    /**
+     * 查询异步下载任务状态（轮询接口）
+     *
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    @SaCheckLogin
+    @GetMapping("/jobs/status")
+    public ApiResponse<CrawlerJobResponse> getJob(@RequestParam String jobId) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        CrawlerJobResponse response = crawlerJobService.getJob(jobId, userId);
+        return ApiResponse.success(response);
+    }
+
+    /**
+     * 发送 SSE 事件，发送失败（客户端已断开）时抛出 UncheckedIOException
+     */
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
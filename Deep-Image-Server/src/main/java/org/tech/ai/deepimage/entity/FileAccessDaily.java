@@ -0,0 +1,56 @@
+package org.tech.ai.deepimage.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 文件访问按日汇总表实体
+ * 主键为（file_id, stat_date），访问日志写入时增量更新
+ *
+ * @author zgq
+ * @since 2025-10-27
+ */
+@Data
+@TableName("di_file_access_daily")
+public class FileAccessDaily {
+
+    /**
+     * 文件ID
+     */
+    @TableField("file_id")
+    private Long fileId;
+
+    /**
+     * 统计日期
+     */
+    @TableField("stat_date")
+    private LocalDate statDate;
+
+    /**
+     * 当日预览次数
+     */
+    @TableField("view_count")
+    private long viewCount;
+
+    /**
+     * 当日下载次数
+     */
+    @TableField("download_count")
+    private long downloadCount;
+
+    /**
+     * 当日上传次数
+     */
+    @TableField("upload_count")
+    private long uploadCount;
+
+    /**
+     * 当日最后访问时间
+     */
+    @TableField("last_accessed_at")
+    private LocalDateTime lastAccessedAt;
+}
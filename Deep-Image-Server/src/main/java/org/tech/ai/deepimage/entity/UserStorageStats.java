@@ -0,0 +1,120 @@
+package org.tech.ai.deepimage.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户存储统计汇总表实体
+ * 由文件写操作增量维护，定时任务从源表重建
+ *
+ * @author zgq
+ * @since 2025-10-25
+ */
+@Data
+@TableName("di_user_storage_stats")
+public class UserStorageStats {
+
+    /**
+     * 用户ID，主键
+     */
+    @TableId(value = "user_id", type = IdType.INPUT)
+    private Long userId;
+
+    /**
+     * 有效文件数（未删除且非上传中）
+     */
+    @TableField("total_files")
+    private Long totalFiles;
+
+    /**
+     * 有效文件总大小（字节）
+     */
+    @TableField("total_size")
+    private Long totalSize;
+
+    /**
+     * 业务类型IMAGE的有效文件数
+     */
+    @TableField("image_count")
+    private Long imageCount;
+
+    /**
+     * 业务类型DOCUMENT的有效文件数
+     */
+    @TableField("document_count")
+    private Long documentCount;
+
+    /**
+     * 业务类型VIDEO的有效文件数
+     */
+    @TableField("video_count")
+    private Long videoCount;
+
+    /**
+     * 业务类型AVATAR的有效文件数
+     */
+    @TableField("avatar_count")
+    private Long avatarCount;
+
+    /**
+     * 业务类型TEMP的有效文件数
+     */
+    @TableField("temp_count")
+    private Long tempCount;
+
+    /**
+     * 回收站文件数
+     */
+    @TableField("trash_count")
+    private Long trashCount;
+
+    /**
+     * 回收站文件总大小（字节）
+     */
+    @TableField("trash_size")
+    private Long trashSize;
+
+    /**
+     * 分享出去且未撤销的分享数
+     */
+    @TableField("share_out_count")
+    private Long shareOutCount;
+
+    /**
+     * 收到且未撤销的分享数
+     */
+    @TableField("share_in_count")
+    private Long shareInCount;
+
+    /**
+     * 有效文件的下载次数
+     */
+    @TableField("download_count")
+    private Long downloadCount;
+
+    /**
+     * 有效文件的预览次数
+     */
+    @TableField("view_count")
+    private Long viewCount;
+
+    /**
+     * 有效文件的上传次数
+     */
+    @TableField("upload_count")
+    private Long uploadCount;
+
+    /**
+     * 最近上传时间
+     */
+    @TableField("last_uploaded_at")
+    private LocalDateTime lastUploadedAt;
+
+    /**
+     * 记录最后更新时间
+     */
+    @TableField("updated_at")
+    private LocalDateTime updatedAt;
+}
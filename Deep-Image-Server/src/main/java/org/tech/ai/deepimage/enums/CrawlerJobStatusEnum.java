@@ -0,0 +1,31 @@
+package org.tech.ai.deepimage.enums;
+
+import lombok.Getter;
+
+/**
+ * 图片抓取任务状态枚举
+ * 
+ * @author zgq
+ * @since 2025-10-22
+ */
+@Getter
+public enum CrawlerJobStatusEnum {
+    
+    PENDING("排队中"),
+    RUNNING("执行中"),
+    COMPLETED("已完成"),
+    FAILED("失败");
+    
+    private final String description;
+    
+    CrawlerJobStatusEnum(String description) {
+        this.description = description;
+    }
+    
+    /**
+     * 是否为终态
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
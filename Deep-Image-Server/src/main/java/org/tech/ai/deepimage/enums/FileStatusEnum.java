@@ -12,7 +12,9 @@ import lombok.Getter;
 public enum FileStatusEnum {
     
     UPLOADING("上传中"),
+    PROCESSING("处理中"),
     COMPLETED("已完成"),
+    THUMBNAIL_FAILED("缩略图生成失败"),
     FAILED("失败"),
     DELETED("已删除");
     
@@ -0,0 +1,23 @@
+package org.tech.ai.deepimage.enums;
+
+import lombok.Getter;
+
+/**
+ * 单张图片下载结果枚举
+ * 
+ * @author zgq
+ * @since 2025-10-22
+ */
+@Getter
+public enum ImageDownloadStatusEnum {
+    
+    DOWNLOADED("已下载"),
+    DEDUPED("已存在，复用现有文件"),
+    FAILED("失败");
+    
+    private final String description;
+    
+    ImageDownloadStatusEnum(String description) {
+        this.description = description;
+    }
+}
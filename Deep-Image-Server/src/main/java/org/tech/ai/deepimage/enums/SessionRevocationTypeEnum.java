@@ -0,0 +1,22 @@
+package org.tech.ai.deepimage.enums;
+
+import lombok.Getter;
+
+/**
+ * 会话失效广播类型枚举
+ *
+ * @author zgq
+ * @since 2025-10-28
+ */
+@Getter
+public enum SessionRevocationTypeEnum {
+
+    SESSION_REVOKED("单个会话失效"),
+    USER_LOGGED_OUT("用户全部会话失效");
+
+    private final String description;
+
+    SessionRevocationTypeEnum(String description) {
+        this.description = description;
+    }
+}
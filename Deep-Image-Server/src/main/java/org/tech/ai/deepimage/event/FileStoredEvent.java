@@ -0,0 +1,29 @@
+package org.tech.ai.deepimage.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * 文件落库事件
+ * 新文件写入 MinIO 并保存记录后发布，由后台任务（如缩略图生成）在事务提交后消费
+ *
+ * @author zgq
+ * @since 2025-10-22
+ */
+@Getter
+public class FileStoredEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 新保存的文件记录ID
+     */
+    private final List<Long> fileIds;
+
+    public FileStoredEvent(Object source, List<Long> fileIds) {
+        super(source);
+        this.fileIds = fileIds;
+    }
+}
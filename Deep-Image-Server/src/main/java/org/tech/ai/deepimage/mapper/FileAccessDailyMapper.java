@@ -0,0 +1,36 @@
+package org.tech.ai.deepimage.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.tech.ai.deepimage.entity.FileAccessDaily;
+import org.tech.ai.deepimage.model.dto.FileAccessSummary;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文件访问按日汇总表 Mapper 接口
+ *
+ * @author zgq
+ * @since 2025-10-27
+ */
+@Mapper
+public interface FileAccessDailyMapper extends BaseMapper<FileAccessDaily> {
+
+    /**
+     * 批量累加按日访问增量（同一批内 file_id + stat_date 不可重复）
+     */
+    int upsertIncrements(@Param("items") List<FileAccessDaily> items);
+
+    /**
+     * 从原始日志重建指定日期的汇总
+     */
+    int rebuildForDate(@Param("statDate") LocalDate statDate);
+
+    /**
+     * 汇总指定文件的累计访问次数与最后访问时间
+     */
+    FileAccessSummary selectSummaryByFileIds(@Param("fileIds") Collection<Long> fileIds);
+}
@@ -2,8 +2,13 @@ package org.tech.ai.deepimage.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.tech.ai.deepimage.entity.FileAccessLog;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * 文件访问日志表 Mapper 接口
  * 
@@ -12,6 +17,38 @@ import org.tech.ai.deepimage.entity.FileAccessLog;
  */
 @Mapper
 public interface FileAccessLogMapper extends BaseMapper<FileAccessLog> {
-    
+
+    /**
+     * 批量插入访问日志（单条多行 INSERT）
+     */
+    int insertBatch(@Param("logs") List<FileAccessLog> logs);
+
+    /**
+     * 查询访问日志表的所有分区名
+     */
+    List<String> selectPartitionNames();
+
+    /**
+     * 创建月分区（已存在时跳过）
+     *
+     * @param partitionName 分区表名（由调用方按固定格式生成）
+     * @param fromDate      分区起始日期（含）
+     * @param toDate        分区结束日期（不含）
+     */
+    void createPartition(@Param("partitionName") String partitionName,
+                         @Param("fromDate") LocalDate fromDate,
+                         @Param("toDate") LocalDate toDate);
+
+    /**
+     * 删除分区
+     *
+     * @param partitionName 分区表名（由调用方按固定格式生成）
+     */
+    void dropPartition(@Param("partitionName") String partitionName);
+
+    /**
+     * 删除默认分区中早于指定时间的日志
+     */
+    int deleteDefaultPartitionBefore(@Param("before") LocalDateTime before);
 }
 
@@ -5,8 +5,13 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.tech.ai.deepimage.entity.FileRecord;
+import org.tech.ai.deepimage.model.dto.FileAccessInfo;
+import org.tech.ai.deepimage.model.dto.FileCursor;
+import org.tech.ai.deepimage.model.dto.request.ListFilesRequest;
 import org.tech.ai.deepimage.model.dto.response.TrashStatsResponse;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -25,6 +30,62 @@ public interface FileRecordMapper extends BaseMapper<FileRecord> {
                                @Param("userId") Long userId,
                                @Param("deleteFlag") Integer deleteFlag);
 
+    /**
+     * 分页查询文件列表（标签筛选通过 EXISTS 子查询在数据库完成）
+     *
+     * @param page     分页对象
+     * @param userId   用户ID
+     * @param query    查询条件
+     * @param tagIds   筛选的标签ID（为空时不按标签筛选）
+     * @param matchAll 是否要求包含全部标签
+     */
+    Page<FileRecord> selectFilePage(
+            Page<FileRecord> page,
+            @Param("userId") Long userId,
+            @Param("query") ListFilesRequest query,
+            @Param("tagIds") Collection<Long> tagIds,
+            @Param("matchAll") boolean matchAll
+    );
+
+    /**
+     * 游标查询文件列表（从游标位置继续，不使用 OFFSET）
+     *
+     * @param userId   用户ID
+     * @param query    查询条件（排序字段与方向需与游标一致）
+     * @param tagIds   筛选的标签ID（为空时不按标签筛选）
+     * @param matchAll 是否要求包含全部标签
+     * @param cursor   游标（为 null 时从头开始）
+     * @param limit    最多返回条数
+     */
+    List<FileRecord> selectFilesAfter(
+            @Param("userId") Long userId,
+            @Param("query") ListFilesRequest query,
+            @Param("tagIds") Collection<Long> tagIds,
+            @Param("matchAll") boolean matchAll,
+            @Param("cursor") FileCursor cursor,
+            @Param("limit") int limit
+    );
+
+    /**
+     * 统计文件列表总数（筛选条件同 selectFilesAfter）
+     */
+    long countFiles(
+            @Param("userId") Long userId,
+            @Param("query") ListFilesRequest query,
+            @Param("tagIds") Collection<Long> tagIds,
+            @Param("matchAll") boolean matchAll
+    );
+
+    /**
+     * 物理删除上传中的会话记录（取消上传或去重命中时）
+     */
+    int deleteUploadingRecord(@Param("id") Long id);
+
+    /**
+     * 查询创建时间早于指定时间、仍未完成的上传会话
+     */
+    List<FileRecord> selectExpiredUploads(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
     /**
      * 查询回收站文件（忽略 @TableLogic，支持分页）
      */
@@ -33,6 +94,19 @@ public interface FileRecordMapper extends BaseMapper<FileRecord> {
             @Param("userId") Long userId
     );
 
+    /**
+     * 游标查询回收站文件（按创建时间降序）
+     *
+     * @param userId 用户ID
+     * @param cursor 游标（为 null 时从头开始）
+     * @param limit  最多返回条数
+     */
+    List<FileRecord> selectTrashFilesAfter(
+            @Param("userId") Long userId,
+            @Param("cursor") FileCursor cursor,
+            @Param("limit") int limit
+    );
+
     /**
      * 批量彻底删除文件
      */
@@ -52,4 +126,13 @@ public interface FileRecordMapper extends BaseMapper<FileRecord> {
      * 查询回收站中的指定文件（绕过 @TableLogic）
      */
     List<FileRecord> selectTrashFilesByIds(@Param("fileIds") List<Long> fileIds, @Param("userId") Long userId);
+
+    /**
+     * 查询文件访问元信息（下载、预览的权限解析）
+     * 只取对象元信息列，并关联当前用户最新的一条未撤销分享（所有者访问时不关联）
+     *
+     * @param fileId 文件ID
+     * @param userId 当前用户ID
+     */
+    FileAccessInfo selectFileAccess(@Param("fileId") Long fileId, @Param("userId") Long userId);
 }
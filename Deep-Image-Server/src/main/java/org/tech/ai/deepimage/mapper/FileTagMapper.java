@@ -4,7 +4,9 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.tech.ai.deepimage.entity.FileTag;
+import org.tech.ai.deepimage.model.dto.FileTagDetail;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,5 +22,10 @@ public interface FileTagMapper extends BaseMapper<FileTag> {
      * 批量删除文件的标签关联
      */
     int deleteBatchByFileIds(@Param("fileIds") List<Long> fileIds);
+
+    /**
+     * 批量查询文件的标签明细（联表查询）
+     */
+    List<FileTagDetail> selectTagDetailsByFileIds(@Param("fileIds") Collection<Long> fileIds);
 }
 
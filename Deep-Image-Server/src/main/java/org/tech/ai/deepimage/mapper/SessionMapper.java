@@ -2,6 +2,7 @@ package org.tech.ai.deepimage.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.tech.ai.deepimage.entity.Session;
 
 /**
@@ -13,4 +14,11 @@ import org.tech.ai.deepimage.entity.Session;
 @Mapper
 public interface SessionMapper extends BaseMapper<Session> {
 
+    /**
+     * 发送 PostgreSQL 通知
+     *
+     * @param channel 通道名
+     * @param payload 消息内容
+     */
+    void notifyChannel(@Param("channel") String channel, @Param("payload") String payload);
 }
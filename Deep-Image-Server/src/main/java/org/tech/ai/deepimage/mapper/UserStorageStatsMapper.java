@@ -0,0 +1,51 @@
+package org.tech.ai.deepimage.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.tech.ai.deepimage.entity.UserStorageStats;
+import org.tech.ai.deepimage.model.dto.UserStorageDelta;
+
+import java.util.List;
+
+/**
+ * 用户存储统计表 Mapper 接口
+ *
+ * @author zgq
+ * @since 2025-10-25
+ */
+@Mapper
+public interface UserStorageStatsMapper extends BaseMapper<UserStorageStats> {
+
+    /**
+     * 原子累加统计增量
+     *
+     * @param delta      统计增量
+     * @param quotaBytes 存储配额（字节），大于0时累加后超出配额则不更新
+     * @return 更新行数，统计记录不存在或超出配额时为0
+     */
+    int applyDelta(@Param("delta") UserStorageDelta delta, @Param("quotaBytes") long quotaBytes);
+
+    /**
+     * 统计记录不存在时插入全零记录
+     */
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    /**
+     * 锁定统计记录（SELECT ... FOR UPDATE）
+     */
+    Long lockByUserId(@Param("userId") Long userId);
+
+    /**
+     * 查询需要重建统计的用户ID
+     */
+    List<Long> selectUserIdsToRebuild();
+
+    /**
+     * 从源表重建单个用户的统计（调用方需先锁定统计记录）
+     *
+     * @param userId 用户ID
+     * @return 写入行数
+     */
+    int rebuild(@Param("userId") Long userId);
+}
@@ -0,0 +1,39 @@
+package org.tech.ai.deepimage.model.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.InputStream;
+
+/**
+ * 下载内容 DTO：由调用方写出的输入流，或已交由容器 sendfile 发送（只需写出响应头）
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class DownloadContent {
+
+    /**
+     * 文件输入流（sendfile 发送时为 null）
+     */
+    private final InputStream inputStream;
+
+    /**
+     * 是否已由容器 sendfile 发送
+     */
+    private final boolean sentByContainer;
+
+    /**
+     * 由调用方读取并写出的输入流
+     */
+    public static DownloadContent of(InputStream inputStream) {
+        return new DownloadContent(inputStream, false);
+    }
+
+    /**
+     * 已交由容器 sendfile 发送
+     */
+    public static DownloadContent sentByContainer() {
+        return new DownloadContent(null, true);
+    }
+}
@@ -0,0 +1,78 @@
+package org.tech.ai.deepimage.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文件访问元信息 DTO（权限解析窄查询结果，供下载、预览复用）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileAccessInfo {
+
+    /**
+     * 文件ID
+     */
+    private Long fileId;
+
+    /**
+     * 文件所有者ID
+     */
+    private Long ownerId;
+
+    /**
+     * 当前访问用户ID
+     */
+    private Long userId;
+
+    /**
+     * MinIO 对象名称
+     */
+    private String objectName;
+
+    /**
+     * 文件哈希（SHA-256，本地磁盘缓存的键）
+     */
+    private String fileHash;
+
+    /**
+     * 原始文件名
+     */
+    private String originalFilename;
+
+    /**
+     * 文件类型
+     */
+    private String contentType;
+
+    /**
+     * 文件大小（字节）
+     */
+    private Long fileSize;
+
+    /**
+     * 对象 ETag（不含引号）
+     */
+    private String etag;
+
+    /**
+     * 最后修改时间
+     */
+    private LocalDateTime lastModified;
+
+    /**
+     * 当前用户命中的分享ID（所有者访问时为空）
+     */
+    private Long shareId;
+
+    /**
+     * 分享过期时间（为空表示永久有效）
+     */
+    private LocalDateTime shareExpiresAt;
+}
@@ -0,0 +1,32 @@
+package org.tech.ai.deepimage.model.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文件访问汇总 DTO（按日汇总表累计）
+ */
+@Data
+public class FileAccessSummary {
+
+    /**
+     * 预览次数
+     */
+    private long viewCount;
+
+    /**
+     * 下载次数
+     */
+    private long downloadCount;
+
+    /**
+     * 上传次数
+     */
+    private long uploadCount;
+
+    /**
+     * 最后访问时间
+     */
+    private LocalDateTime lastAccessedAt;
+}
@@ -0,0 +1,49 @@
+package org.tech.ai.deepimage.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文件列表游标 DTO（上一页最后一条记录的排序键与ID）
+ * 只有与 sortBy 对应的排序键有值
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileCursor {
+
+    /**
+     * 排序字段
+     */
+    private String sortBy;
+
+    /**
+     * 排序方向
+     */
+    private String sortOrder;
+
+    /**
+     * 文件ID（排序键相同时的次序）
+     */
+    private Long id;
+
+    /**
+     * 创建时间（sortBy=createdAt）
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 文件大小（sortBy=fileSize）
+     */
+    private Long fileSize;
+
+    /**
+     * 文件名（sortBy=originalFilename）
+     */
+    private String originalFilename;
+}
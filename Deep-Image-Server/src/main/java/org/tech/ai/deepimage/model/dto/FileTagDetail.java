@@ -0,0 +1,58 @@
+package org.tech.ai.deepimage.model.dto;
+
+import lombok.Data;
+import org.tech.ai.deepimage.model.dto.response.TagResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文件标签明细 DTO（文件-标签关联与标签详情的联表结果）
+ */
+@Data
+public class FileTagDetail {
+
+    /**
+     * 文件ID
+     */
+    private Long fileId;
+
+    /**
+     * 标签ID
+     */
+    private Long tagId;
+
+    /**
+     * 标签名称
+     */
+    private String tagName;
+
+    /**
+     * 标签颜色
+     */
+    private String color;
+
+    /**
+     * 使用次数
+     */
+    private Integer usageCount;
+
+    /**
+     * 标签创建时间
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 转换为TagResponse
+     *
+     * @return TagResponse
+     */
+    public TagResponse toTagResponse() {
+        return TagResponse.builder()
+                .id(tagId)
+                .tagName(tagName)
+                .color(color)
+                .usageCount(usageCount)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package org.tech.ai.deepimage.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 预签名URL DTO（URL 与其实际过期时间）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresignedUrl {
+
+    /**
+     * 预签名URL
+     */
+    private String url;
+
+    /**
+     * 过期时间
+     */
+    private LocalDateTime expiresAt;
+}
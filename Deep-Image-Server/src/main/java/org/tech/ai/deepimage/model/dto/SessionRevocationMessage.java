@@ -0,0 +1,32 @@
+package org.tech.ai.deepimage.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.tech.ai.deepimage.enums.SessionRevocationTypeEnum;
+
+/**
+ * 会话失效广播消息 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionRevocationMessage {
+
+    /**
+     * 失效类型
+     */
+    private SessionRevocationTypeEnum type;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * accessToken 哈希（仅 SESSION_REVOKED 时有值）
+     */
+    private String accessTokenHash;
+}
@@ -0,0 +1,168 @@
+package org.tech.ai.deepimage.model.dto;
+
+import lombok.Data;
+import org.tech.ai.deepimage.entity.FileRecord;
+import org.tech.ai.deepimage.enums.BusinessTypeEnum;
+import org.tech.ai.deepimage.enums.FileStatusEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户存储统计增量 DTO（各字段为变化量，可为负数）
+ */
+@Data
+public class UserStorageDelta {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 有效文件数（未删除且非上传中）变化量
+     */
+    private long totalFiles;
+
+    /**
+     * 有效文件总大小（字节）变化量
+     */
+    private long totalSize;
+
+    /**
+     * 业务类型IMAGE的有效文件数变化量
+     */
+    private long imageCount;
+
+    /**
+     * 业务类型DOCUMENT的有效文件数变化量
+     */
+    private long documentCount;
+
+    /**
+     * 业务类型VIDEO的有效文件数变化量
+     */
+    private long videoCount;
+
+    /**
+     * 业务类型AVATAR的有效文件数变化量
+     */
+    private long avatarCount;
+
+    /**
+     * 业务类型TEMP的有效文件数变化量
+     */
+    private long tempCount;
+
+    /**
+     * 回收站文件数变化量
+     */
+    private long trashCount;
+
+    /**
+     * 回收站文件总大小（字节）变化量
+     */
+    private long trashSize;
+
+    /**
+     * 分享出去且未撤销的分享数变化量
+     */
+    private long shareOutCount;
+
+    /**
+     * 收到且未撤销的分享数变化量
+     */
+    private long shareInCount;
+
+    /**
+     * 有效文件的下载次数变化量
+     */
+    private long downloadCount;
+
+    /**
+     * 有效文件的预览次数变化量
+     */
+    private long viewCount;
+
+    /**
+     * 有效文件的上传次数变化量
+     */
+    private long uploadCount;
+
+    /**
+     * 最近上传时间（为空时不更新）
+     */
+    private LocalDateTime lastUploadedAt;
+
+    public UserStorageDelta(Long userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * 累加有效文件的数量、大小与业务类型计数
+     *
+     * @param fileRecord 文件记录
+     * @param sign       1=增加，-1=减少
+     */
+    public void addActiveFile(FileRecord fileRecord, int sign) {
+        // 上传中的会话不计入有效文件
+        if (FileStatusEnum.UPLOADING.name().equals(fileRecord.getStatus())) {
+            return;
+        }
+        long size = fileRecord.getFileSize() != null ? fileRecord.getFileSize() : 0L;
+        totalFiles += sign;
+        totalSize += sign * size;
+
+        if (BusinessTypeEnum.IMAGE.name().equals(fileRecord.getBusinessType())) {
+            imageCount += sign;
+        } else if (BusinessTypeEnum.DOCUMENT.name().equals(fileRecord.getBusinessType())) {
+            documentCount += sign;
+        } else if (BusinessTypeEnum.VIDEO.name().equals(fileRecord.getBusinessType())) {
+            videoCount += sign;
+        } else if (BusinessTypeEnum.AVATAR.name().equals(fileRecord.getBusinessType())) {
+            avatarCount += sign;
+        } else if (BusinessTypeEnum.TEMP.name().equals(fileRecord.getBusinessType())) {
+            tempCount += sign;
+        }
+    }
+
+    /**
+     * 累加回收站文件的数量与大小
+     *
+     * @param fileRecord 文件记录
+     * @param sign       1=增加，-1=减少
+     */
+    public void addTrashFile(FileRecord fileRecord, int sign) {
+        long size = fileRecord.getFileSize() != null ? fileRecord.getFileSize() : 0L;
+        trashCount += sign;
+        trashSize += sign * size;
+    }
+
+    /**
+     * 累加指定访问类型的访问次数
+     *
+     * @param accessType 访问类型
+     * @param count      访问次数（可为负数）
+     */
+    public void addAccess(String accessType, long count) {
+        switch (accessType) {
+            case "DOWNLOAD" -> downloadCount += count;
+            case "PREVIEW" -> viewCount += count;
+            case "UPLOAD" -> uploadCount += count;
+            default -> {
+                // 其他访问类型不统计
+            }
+        }
+    }
+
+    /**
+     * 累加文件的累计访问次数
+     *
+     * @param summary 文件访问汇总
+     * @param sign    1=增加，-1=减少
+     */
+    public void addAccess(FileAccessSummary summary, int sign) {
+        viewCount += sign * summary.getViewCount();
+        downloadCount += sign * summary.getDownloadCount();
+        uploadCount += sign * summary.getUploadCount();
+    }
+}
@@ -0,0 +1,28 @@
+package org.tech.ai.deepimage.model.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 完成分片上传请求
+ * 
+ * @author zgq
+ * @since 2025-10-02
+ */
+@Data
+public class CompleteMultipartUploadRequest {
+    
+    /**
+     * 上传会话ID（必填）
+     */
+    @NotNull(message = "上传会话ID不能为空")
+    private Long uploadId;
+    
+    /**
+     * 标签ID列表（可选）
+     * 完成时直接关联标签
+     */
+    private List<Long> tagIds;
+}
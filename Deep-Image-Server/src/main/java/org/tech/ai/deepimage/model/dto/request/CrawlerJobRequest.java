@@ -0,0 +1,34 @@
+package org.tech.ai.deepimage.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.tech.ai.deepimage.model.dto.ImageInfo;
+
+import java.util.List;
+
+/**
+ * 图片抓取任务请求 DTO（异步下载）
+ */
+@Data
+public class CrawlerJobRequest {
+
+    /**
+     * 选中要下载的图片列表
+     */
+    @NotEmpty(message = "请选择要下载的图片")
+    @Size(max = 500, message = "单个任务图片数量不能超过500张")
+    @Valid
+    private List<ImageInfo> selectedImages;
+
+    /**
+     * 搜索关键词（用于记录来源）
+     */
+    private String keyword;
+
+    /**
+     * 标签ID列表（可选）
+     */
+    private List<Long> tagIds;
+}
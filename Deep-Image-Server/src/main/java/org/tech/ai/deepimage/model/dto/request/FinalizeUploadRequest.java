@@ -0,0 +1,34 @@
+package org.tech.ai.deepimage.model.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 直传上传完成请求
+ * 
+ * @author zgq
+ * @since 2025-10-02
+ */
+@Data
+public class FinalizeUploadRequest {
+    
+    /**
+     * 上传会话ID（必填，来自上传意图）
+     */
+    @NotNull(message = "上传会话ID不能为空")
+    private Long uploadId;
+    
+    /**
+     * 直传 PUT 响应头中的 ETag（可选）
+     * 提供时服务端会与对象实际 ETag 比对
+     */
+    private String etag;
+    
+    /**
+     * 标签ID列表（可选）
+     * 完成时直接关联标签
+     */
+    private List<Long> tagIds;
+}
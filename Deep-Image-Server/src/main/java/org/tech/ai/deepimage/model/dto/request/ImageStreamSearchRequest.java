@@ -0,0 +1,26 @@
+package org.tech.ai.deepimage.model.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * 流式图片搜索请求 DTO（逐页返回结果）
+ */
+@Data
+public class ImageStreamSearchRequest {
+
+    /**
+     * 搜索关键词
+     */
+    @NotBlank(message = "搜索关键词不能为空")
+    private String keyword;
+
+    /**
+     * 需要搜索的图片总数
+     */
+    @Min(value = 1, message = "图片数量不能少于1张")
+    @Max(value = 1000, message = "图片数量不能超过1000张")
+    private Integer maxCount = 200;
+}
@@ -0,0 +1,24 @@
+package org.tech.ai.deepimage.model.dto.request;
+
+import lombok.Data;
+
+/**
+ * 文件列表游标查询请求
+ * 筛选与排序条件同 ListFilesRequest，使用 cursor 代替页码，pageSize 为每批数量
+ *
+ * @author zgq
+ * @since 2025-10-28
+ */
+@Data
+public class ListFilesCursorRequest extends ListFilesRequest {
+
+    /**
+     * 游标（上一批返回的 nextCursor，第一批不传）
+     */
+    private String cursor;
+
+    /**
+     * 是否同时返回总数（需要额外的 COUNT 查询，默认不返回）
+     */
+    private Boolean withTotal = false;
+}
@@ -1,8 +1,11 @@
 package org.tech.ai.deepimage.model.dto.request;
 
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 import org.tech.ai.deepimage.constant.FileConstant;
 
+import java.util.List;
+
 /**
  * 文件列表查询请求（统一接口）
  * 
@@ -24,6 +27,19 @@ public class ListFilesRequest extends PageRequest {
      */
     private Long tagId;
     
+    /**
+     * 标签ID列表（可选）
+     * 按多个标签筛选文件，与 tagId 合并
+     */
+    @Size(max = FileConstant.MAX_FILTER_TAG_COUNT, message = "筛选标签数量不能超过20个")
+    private List<Long> tagIds;
+    
+    /**
+     * 标签匹配模式（可选）
+     * 可选值：any（包含任一标签）, all（包含全部标签）
+     */
+    private String tagMatchMode = FileConstant.TAG_MATCH_ANY;
+    
     /**
      * 文件名搜索关键词（可选）
      * 支持模糊搜索
@@ -0,0 +1,32 @@
+package org.tech.ai.deepimage.model.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * 回收站游标查询请求（按创建时间降序）
+ *
+ * @author zgq
+ * @since 2025-10-28
+ */
+@Data
+public class TrashCursorRequest {
+
+    /**
+     * 游标（上一批返回的 nextCursor，第一批不传）
+     */
+    private String cursor;
+
+    /**
+     * 每批数量
+     */
+    @Min(value = 1, message = "每页数量必须大于0")
+    @Max(value = 100, message = "每页数量不能超过100")
+    private Integer size = 20;
+
+    /**
+     * 是否同时返回总数（默认不返回）
+     */
+    private Boolean withTotal = false;
+}
@@ -0,0 +1,43 @@
+package org.tech.ai.deepimage.model.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * 直传上传意图请求
+ * 
+ * @author zgq
+ * @since 2025-10-02
+ */
+@Data
+public class UploadIntentRequest {
+    
+    /**
+     * 原始文件名（必填）
+     */
+    @NotBlank(message = "文件名不能为空")
+    @Size(max = 255, message = "文件名不能超过255字符")
+    private String originalFilename;
+    
+    /**
+     * 文件总大小（字节，必填）
+     */
+    @NotNull(message = "文件大小不能为空")
+    @Min(value = 1, message = "文件大小必须大于0")
+    private Long fileSize;
+    
+    /**
+     * 内容类型（可选）
+     */
+    private String contentType;
+    
+    /**
+     * 业务类型（必填）
+     * 可选值：AVATAR, DOCUMENT, IMAGE, VIDEO, TEMP
+     */
+    @NotBlank(message = "业务类型不能为空")
+    private String businessType;
+}
@@ -0,0 +1,42 @@
+package org.tech.ai.deepimage.model.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.io.InputStream;
+
+/**
+ * 上传分片请求
+ * 
+ * @author zgq
+ * @since 2025-10-02
+ */
+@Data
+public class UploadPartRequest {
+    
+    /**
+     * 上传会话ID（必填）
+     */
+    @NotNull(message = "上传会话ID不能为空")
+    private Long uploadId;
+    
+    /**
+     * 分片号（必填，从1开始）
+     */
+    @NotNull(message = "分片号不能为空")
+    @Min(value = 1, message = "分片号必须大于0")
+    private Integer partNumber;
+    
+    /**
+     * 分片大小（字节，取自请求头 Content-Length）
+     */
+    @NotNull(message = "分片大小不能为空")
+    private Long partSize;
+    
+    /**
+     * 分片数据流（请求体）
+     */
+    @NotNull(message = "分片数据不能为空")
+    private InputStream inputStream;
+}
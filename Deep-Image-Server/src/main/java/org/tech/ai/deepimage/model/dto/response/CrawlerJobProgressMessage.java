@@ -0,0 +1,63 @@
+package org.tech.ai.deepimage.model.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 图片抓取任务进度消息（通过 STOMP 推送到 /user/queue/crawler-jobs）
+ * 每处理完一张图片推送一次，任务结束时再推送一次终态
+ */
+@Data
+@Builder
+public class CrawlerJobProgressMessage {
+
+    /**
+     * 任务ID
+     */
+    private String jobId;
+
+    /**
+     * 任务状态：PENDING, RUNNING, COMPLETED, FAILED
+     */
+    private String status;
+
+    /**
+     * 图片总数
+     */
+    private int totalCount;
+
+    /**
+     * 已下载数量
+     */
+    private int downloadedCount;
+
+    /**
+     * 去重复用数量
+     */
+    private int dedupedCount;
+
+    /**
+     * 失败数量
+     */
+    private int failedCount;
+
+    /**
+     * 本次完成的图片URL（终态消息为空）
+     */
+    private String imageUrl;
+
+    /**
+     * 本次完成的图片结果：DOWNLOADED, DEDUPED, FAILED
+     */
+    private String imageStatus;
+
+    /**
+     * 复用的已有文件ID（DEDUPED 时有值）
+     */
+    private Long fileId;
+
+    /**
+     * 失败原因
+     */
+    private String errorMessage;
+}
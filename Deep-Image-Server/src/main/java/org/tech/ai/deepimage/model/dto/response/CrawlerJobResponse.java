@@ -0,0 +1,69 @@
+package org.tech.ai.deepimage.model.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 图片抓取任务状态响应（轮询接口）
+ */
+@Data
+@Builder
+public class CrawlerJobResponse {
+
+    /**
+     * 任务ID
+     */
+    private String jobId;
+
+    /**
+     * 任务状态：PENDING, RUNNING, COMPLETED, FAILED
+     */
+    private String status;
+
+    /**
+     * 搜索关键词
+     */
+    private String keyword;
+
+    /**
+     * 图片总数
+     */
+    private int totalCount;
+
+    /**
+     * 已下载数量
+     */
+    private int downloadedCount;
+
+    /**
+     * 去重复用数量
+     */
+    private int dedupedCount;
+
+    /**
+     * 失败数量
+     */
+    private int failedCount;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishedAt;
+
+    /**
+     * 任务失败原因
+     */
+    private String errorMessage;
+
+    /**
+     * 下载结果（任务完成后有值）
+     */
+    private DownloadResult result;
+}
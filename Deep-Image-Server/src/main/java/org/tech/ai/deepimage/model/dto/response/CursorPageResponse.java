@@ -0,0 +1,37 @@
+package org.tech.ai.deepimage.model.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 游标分页响应
+ *
+ * @author zgq
+ * @since 2025-10-28
+ */
+@Data
+@Builder
+public class CursorPageResponse<T> {
+
+    /**
+     * 本批数据
+     */
+    private List<T> records;
+
+    /**
+     * 下一批的游标（没有更多数据时为 null）
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    private Boolean hasMore;
+
+    /**
+     * 总记录数（仅 withTotal=true 时返回）
+     */
+    private Long total;
+}
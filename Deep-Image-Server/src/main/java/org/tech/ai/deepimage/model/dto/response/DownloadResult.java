@@ -27,6 +27,11 @@ public class DownloadResult {
      */
     private int successCount;
     
+    /**
+     * 去重复用数量（已存在相同文件，未重复存储，计入成功数量）
+     */
+    private int dedupedCount;
+    
     /**
      * 失败下载数量
      */
@@ -0,0 +1,34 @@
+package org.tech.ai.deepimage.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.tech.ai.deepimage.model.dto.ImageInfo;
+
+import java.util.List;
+
+/**
+ * 流式图片搜索批次 DTO（SSE batch 事件数据）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageSearchBatchResponse {
+
+    /**
+     * 搜索关键词
+     */
+    private String keyword;
+
+    /**
+     * 页码（从1开始）
+     */
+    private Integer page;
+
+    /**
+     * 本页新增的图片
+     */
+    private List<ImageInfo> images;
+}
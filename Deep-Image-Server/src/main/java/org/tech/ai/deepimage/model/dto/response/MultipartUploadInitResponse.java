@@ -0,0 +1,30 @@
+package org.tech.ai.deepimage.model.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 初始化分片上传响应
+ * 
+ * @author zgq
+ * @since 2025-10-02
+ */
+@Data
+@Builder
+public class MultipartUploadInitResponse {
+    
+    /**
+     * 上传会话ID（后续上传分片、查询进度、完成上传时使用）
+     */
+    private Long uploadId;
+    
+    /**
+     * 分片大小（字节），除最后一片外每片必须严格等于该值
+     */
+    private Long partSize;
+    
+    /**
+     * 分片总数
+     */
+    private Integer totalParts;
+}
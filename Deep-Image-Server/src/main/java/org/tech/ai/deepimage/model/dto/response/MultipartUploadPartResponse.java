@@ -0,0 +1,25 @@
+package org.tech.ai.deepimage.model.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 已上传分片信息响应
+ * 
+ * @author zgq
+ * @since 2025-10-02
+ */
+@Data
+@Builder
+public class MultipartUploadPartResponse {
+    
+    /**
+     * 分片号（从1开始）
+     */
+    private Integer partNumber;
+    
+    /**
+     * 分片大小（字节）
+     */
+    private Long size;
+}
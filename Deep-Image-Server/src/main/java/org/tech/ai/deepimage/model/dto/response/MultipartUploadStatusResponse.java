@@ -0,0 +1,53 @@
+package org.tech.ai.deepimage.model.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 分片上传进度响应
+ * 断线后客户端据此只补传缺失的分片
+ * 
+ * @author zgq
+ * @since 2025-10-02
+ */
+@Data
+@Builder
+public class MultipartUploadStatusResponse {
+    
+    /**
+     * 上传会话ID
+     */
+    private Long uploadId;
+    
+    /**
+     * 上传状态：UPLOADING, COMPLETED
+     */
+    private String status;
+    
+    /**
+     * 文件总大小（字节）
+     */
+    private Long fileSize;
+    
+    /**
+     * 分片大小（字节）
+     */
+    private Long partSize;
+    
+    /**
+     * 分片总数
+     */
+    private Integer totalParts;
+    
+    /**
+     * 已上传的分片
+     */
+    private List<MultipartUploadPartResponse> uploadedParts;
+    
+    /**
+     * 尚未上传的分片号
+     */
+    private List<Integer> missingPartNumbers;
+}
@@ -0,0 +1,48 @@
+package org.tech.ai.deepimage.model.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 直传上传意图响应
+ * 客户端使用 uploadUrl 直接 PUT 文件到 MinIO，完成后调用 finalize 接口
+ * 
+ * @author zgq
+ * @since 2025-10-02
+ */
+@Data
+@Builder
+public class UploadIntentResponse {
+    
+    /**
+     * 上传会话ID（finalize 时使用）
+     */
+    private Long uploadId;
+    
+    /**
+     * 预留的对象名称
+     */
+    private String objectName;
+    
+    /**
+     * 预签名PUT地址
+     */
+    private String uploadUrl;
+    
+    /**
+     * PUT 时应携带的 Content-Type
+     */
+    private String contentType;
+    
+    /**
+     * 有效期（秒）
+     */
+    private Integer expirySeconds;
+    
+    /**
+     * 过期时间
+     */
+    private LocalDateTime expiresAt;
+}
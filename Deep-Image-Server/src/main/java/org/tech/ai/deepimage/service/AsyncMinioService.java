@@ -0,0 +1,63 @@
+package org.tech.ai.deepimage.service;
+
+import org.tech.ai.deepimage.model.dto.response.FileObjectInfoResponse;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * MinIO 非阻塞访问服务（基于 MinioAsyncClient，调用线程不等待网络往返）
+ * 失败时 future 以 BusinessException 异常完成，与 {@link MinioService} 的错误语义一致
+ *
+ * @author zgq
+ * @since 2025-10-31
+ */
+public interface AsyncMinioService {
+
+    // ========== 单对象操作 ==========
+
+    /**
+     * 上传文件（已知大小）
+     *
+     * @param inputStream 文件输入流
+     * @param objectSize  文件大小
+     * @param objectName  对象名称
+     * @param contentType 文件类型
+     * @return 文件访问URL
+     */
+    CompletableFuture<String> uploadFile(InputStream inputStream, long objectSize, String objectName, String contentType);
+
+    /**
+     * 下载文件
+     *
+     * @param objectName 对象名称
+     * @return 文件输入流
+     */
+    CompletableFuture<InputStream> downloadFile(String objectName);
+
+    /**
+     * 获取文件信息
+     *
+     * @param objectName 对象名称
+     * @return 文件对象信息
+     */
+    CompletableFuture<FileObjectInfoResponse> getFileInfo(String objectName);
+
+    /**
+     * 删除文件
+     *
+     * @param objectName 对象名称
+     */
+    CompletableFuture<Void> deleteFile(String objectName);
+
+    // ========== 批量操作（有界并发扇出） ==========
+
+    /**
+     * 批量删除文件，同时在途的请求数不超过 minio.async-batch-concurrency
+     *
+     * @param objectNames 对象名称
+     * @return 删除失败的对象名称（全部成功时为空）
+     */
+    CompletableFuture<Collection<String>> deleteFiles(Collection<String> objectNames);
+}
@@ -0,0 +1,29 @@
+package org.tech.ai.deepimage.service;
+
+import org.tech.ai.deepimage.model.dto.request.CrawlerJobRequest;
+import org.tech.ai.deepimage.model.dto.response.CrawlerJobResponse;
+
+/**
+ * 图片抓取任务服务接口
+ * 任务提交后立即返回，后台执行下载，进度通过 STOMP 推送到 /user/queue/crawler-jobs
+ */
+public interface CrawlerJobService {
+
+    /**
+     * 提交抓取任务
+     *
+     * @param request 任务请求
+     * @param userId  用户ID
+     * @return 任务状态（含任务ID）
+     */
+    CrawlerJobResponse submitJob(CrawlerJobRequest request, Long userId);
+
+    /**
+     * 查询任务状态（WebSocket 不可用时的轮询接口）
+     *
+     * @param jobId  任务ID
+     * @param userId 用户ID
+     * @return 任务状态
+     */
+    CrawlerJobResponse getJob(String jobId, Long userId);
+}
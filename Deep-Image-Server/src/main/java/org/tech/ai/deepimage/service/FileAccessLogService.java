@@ -10,5 +10,19 @@ import org.tech.ai.deepimage.entity.FileAccessLog;
  * @since 2025-10-02
  */
 public interface FileAccessLogService extends IService<FileAccessLog> {
-    
+
+    /**
+     * 异步记录访问日志：放入内存队列，由后台线程批量写入并更新文件所有者的访问统计
+     * 队列已满时丢弃，不阻塞调用方
+     *
+     * @param accessLog 访问日志（请求相关字段需在调用线程中填充）
+     * @param ownerId   文件所有者ID
+     */
+    void record(FileAccessLog accessLog, Long ownerId);
+
+    /**
+     * 日志存储维护：预建未来月分区、删除超过保留期的分区、从原始日志重算前一日汇总
+     * （重算只能校正汇总与原始日志的偏差，被丢弃或写入失败的事件无法恢复）
+     */
+    void maintainStorage();
 }
@@ -1,10 +1,11 @@
 package org.tech.ai.deepimage.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.tech.ai.deepimage.model.dto.DownloadContent;
+import org.tech.ai.deepimage.model.dto.FileAccessInfo;
 import org.tech.ai.deepimage.model.dto.request.*;
 import org.tech.ai.deepimage.model.dto.response.*;
 
-import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -32,6 +33,75 @@ public interface FileService {
      * @return 检查结果
      */
     FileExistsResponse checkFileExists(FileExistsCheckRequest request);
+
+    // ========== 直传上传 ==========
+
+    /**
+     * 创建直传上传意图
+     * 预留对象名称并返回预签名PUT地址，文件字节不经过应用服务器
+     *
+     * @param request 上传意图请求
+     * @return 上传会话ID及预签名地址
+     */
+    UploadIntentResponse createUploadIntent(UploadIntentRequest request);
+
+    /**
+     * 完成直传上传：校验对象大小与 ETag 后写入文件记录
+     *
+     * @param request 完成请求
+     * @return 上传结果
+     */
+    FileUploadResponse finalizeUpload(FinalizeUploadRequest request);
+
+    /**
+     * 清理超过有效期仍未完成的上传会话：删除 UPLOADING 记录、预留的最终对象及分片临时对象
+     *
+     * @return 清理的会话数量
+     */
+    int cleanupExpiredUploads();
+
+    // ========== 分片上传 ==========
+
+    /**
+     * 初始化分片上传会话
+     * 创建一条 UPLOADING 状态的文件记录，记录ID即上传会话ID
+     *
+     * @param request 初始化请求
+     * @return 上传会话ID及分片规格
+     */
+    MultipartUploadInitResponse initMultipartUpload(InitMultipartUploadRequest request);
+
+    /**
+     * 上传单个分片（同一会话的不同分片可并发上传，重复上传同一分片会覆盖）
+     *
+     * @param request 分片上传请求
+     * @return 分片信息
+     */
+    MultipartUploadPartResponse uploadPart(UploadPartRequest request);
+
+    /**
+     * 查询上传会话的进度（已上传分片与缺失分片）
+     *
+     * @param uploadId 上传会话ID
+     * @return 上传进度
+     */
+    MultipartUploadStatusResponse getMultipartUploadStatus(Long uploadId);
+
+    /**
+     * 完成分片上传：服务端合并分片、计算哈希去重并写入文件记录
+     *
+     * @param request 完成请求
+     * @return 上传结果
+     */
+    FileUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request);
+
+    /**
+     * 取消分片上传，清理已上传的分片
+     *
+     * @param uploadId 上传会话ID
+     * @return 是否成功
+     */
+    Boolean abortMultipartUpload(Long uploadId);
     
     // ========== 文件查询 ==========
     
@@ -44,6 +114,15 @@ public interface FileService {
      */
     Page<FileInfoResponse> listFiles(ListFilesRequest request);
     
+    /**
+     * 游标查询文件列表（用于无限滚动，深翻页不退化）
+     * 筛选与排序同 listFiles，默认不执行 COUNT 查询
+     * 
+     * @param request 游标查询请求
+     * @return 本批文件及下一批游标
+     */
+    CursorPageResponse<FileInfoResponse> listFilesByCursor(ListFilesCursorRequest request);
+    
     /**
      * 查询文件详情
      * 
@@ -55,12 +134,22 @@ public interface FileService {
     // ========== 文件下载 ==========
     
     /**
-     * 下载文件
+     * 准备下载：校验权限并返回构建响应头所需的元信息
      * 
      * @param fileId 文件ID
-     * @return 文件输入流
+     * @return 文件访问元信息
+     */
+    FileAccessInfo prepareDownload(Long fileId);
+
+    /**
+     * 打开下载流（offset 为 0 时记录下载日志，续传请求不重复记录）
+     * 
+     * @param accessInfo 文件访问元信息
+     * @param offset 起始偏移量
+     * @param length 读取长度
+     * @return 下载内容：文件输入流，或本地缓存命中且已交由容器 sendfile 发送
      */
-    InputStream downloadFile(Long fileId);
+    DownloadContent openDownload(FileAccessInfo accessInfo, long offset, long length);
     
     /**
      * 获取文件预览URL
@@ -203,6 +292,14 @@ public interface FileService {
      */
     Page<FileInfoResponse> queryTrash(RecycleBinQueryRequest request);
     
+    /**
+     * 游标查询回收站文件列表（按创建时间降序）
+     * 
+     * @param request 游标查询请求
+     * @return 本批文件及下一批游标
+     */
+    CursorPageResponse<FileInfoResponse> queryTrashByCursor(TrashCursorRequest request);
+    
     /**
      * 批量恢复文件
      * 
@@ -4,7 +4,9 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import org.tech.ai.deepimage.entity.FileTag;
 import org.tech.ai.deepimage.model.dto.response.TagResponse;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -31,6 +33,14 @@ public interface FileTagService extends IService<FileTag> {
      * @return 标签响应列表
      */
     List<TagResponse> getFileTagsResponse(Long fileId);
+
+    /**
+     * 批量获取多个文件的标签（一次联表查询）
+     *
+     * @param fileIds 文件ID集合
+     * @return 文件ID -> 标签响应列表（没有标签的文件不在Map中）
+     */
+    Map<Long, List<TagResponse>> getFileTagsResponseMap(Collection<Long> fileIds);
     
     /**
      * 删除文件的所有标签关联
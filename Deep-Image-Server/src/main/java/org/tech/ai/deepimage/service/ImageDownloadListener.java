@@ -0,0 +1,23 @@
+package org.tech.ai.deepimage.service;
+
+import org.tech.ai.deepimage.enums.ImageDownloadStatusEnum;
+import org.tech.ai.deepimage.model.dto.ImageInfo;
+
+/**
+ * 图片下载进度监听器
+ * 在下载线程中回调，实现需保证线程安全且不阻塞
+ * 已上报 DOWNLOADED 的图片在文件记录保存失败时会再次以 FAILED 上报，实现应按状态变更处理而不是重复计数
+ */
+@FunctionalInterface
+public interface ImageDownloadListener {
+
+    /**
+     * 单张图片处理结束
+     *
+     * @param image        图片信息
+     * @param status       处理结果
+     * @param fileId       复用的已有文件ID（仅 DEDUPED 时有值）
+     * @param errorMessage 失败原因（仅 FAILED 时有值）
+     */
+    void onImageFinished(ImageInfo image, ImageDownloadStatusEnum status, Long fileId, String errorMessage);
+}
@@ -20,4 +20,17 @@ public interface ImageDownloadService {
      * @return 下载结果详情
      */
     DownloadResult downloadImages(List<ImageInfo> images, Long userId, String keyword, List<Long> tagIds);
+
+    /**
+     * 批量下载图片，并在每张图片处理结束时回调监听器
+     *
+     * @param images   图片信息列表
+     * @param userId   用户ID
+     * @param keyword  关键词
+     * @param tagIds   标签ID列表（可选）
+     * @param listener 进度监听器
+     * @return 下载结果详情
+     */
+    DownloadResult downloadImages(List<ImageInfo> images, Long userId, String keyword, List<Long> tagIds,
+                                  ImageDownloadListener listener);
 }
@@ -18,6 +18,16 @@ public interface ImageSearchService {
      */
     List<ImageInfo> searchImages(String keyword, int count);
 
+    /**
+     * 流式搜索图片：在后台逐页翻取结果，每解析完一页立即回调
+     * 提交后立即返回，队列已满时抛出异常
+     *
+     * @param keyword  搜索关键词
+     * @param maxCount 需要的图片总数
+     * @param listener 结果监听器
+     */
+    void streamImages(String keyword, int maxCount, ImageSearchStreamListener listener);
+
     /**
      * 清理图片URL，去除查询参数并处理协议
      *
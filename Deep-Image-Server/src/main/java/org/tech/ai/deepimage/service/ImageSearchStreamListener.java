@@ -0,0 +1,34 @@
+package org.tech.ai.deepimage.service;
+
+import org.tech.ai.deepimage.model.dto.ImageInfo;
+
+import java.util.List;
+
+/**
+ * 流式图片搜索监听器
+ * 在搜索线程中回调；onBatch 抛出异常（如客户端已断开）会终止后续翻页
+ */
+public interface ImageSearchStreamListener {
+
+    /**
+     * 解析完一页结果
+     *
+     * @param page   页码（从1开始）
+     * @param images 本页新增的图片（已跨页去重）
+     */
+    void onBatch(int page, List<ImageInfo> images);
+
+    /**
+     * 搜索结束
+     *
+     * @param totalCount 共返回的图片数量
+     */
+    void onComplete(int totalCount);
+
+    /**
+     * 搜索失败
+     *
+     * @param error 异常
+     */
+    void onError(Throwable error);
+}
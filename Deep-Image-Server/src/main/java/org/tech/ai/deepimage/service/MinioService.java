@@ -37,6 +37,18 @@ public interface MinioService {
      */
     String uploadFile(String bucketName, InputStream inputStream, String objectName, String contentType);
 
+    /**
+     * 上传文件(已知对象大小，流式写入)
+     * 不依赖 inputStream.available()，适用于 MultipartFile 等非缓冲流
+     * 
+     * @param inputStream 文件输入流
+     * @param objectSize  对象大小(字节)
+     * @param objectName  对象名称
+     * @param contentType 内容类型
+     * @return 文件访问URL
+     */
+    String uploadFile(InputStream inputStream, long objectSize, String objectName, String contentType);
+
     // ========== 文件下载 ==========
 
     /**
@@ -56,6 +68,16 @@ public interface MinioService {
      */
     InputStream downloadFile(String bucketName, String objectName);
 
+    /**
+     * 按字节区间下载文件（用于 HTTP Range 请求）
+     * 
+     * @param objectName 对象名称
+     * @param offset 起始偏移量
+     * @param length 读取长度
+     * @return 文件输入流
+     */
+    InputStream downloadFile(String objectName, long offset, long length);
+
     // ========== 文件删除 ==========
 
     /**
@@ -223,5 +245,33 @@ public interface MinioService {
      * @param targetObject 目标对象名称
      */
     void copyObject(String sourceObject, String targetObject);
+
+    /**
+     * 移动对象(同一存储桶内，服务端复制后删除源对象)
+     * 
+     * @param sourceObject 源对象名称
+     * @param targetObject 目标对象名称
+     * @return 目标对象访问URL
+     */
+    String moveObject(String sourceObject, String targetObject);
+
+    /**
+     * 合并多个对象为一个对象(同一存储桶内，基于 S3 分片复制在服务端完成)
+     * 除最后一个源对象外，每个源对象大小不得小于 5MB
+     * 
+     * @param sourceObjects 源对象名称列表(按合并顺序)
+     * @param targetObject 目标对象名称
+     * @param contentType 目标对象内容类型
+     * @return 目标对象访问URL
+     */
+    String composeObject(List<String> sourceObjects, String targetObject, String contentType);
+
+    /**
+     * 获取对象访问URL(默认存储桶，不校验对象是否存在)
+     * 
+     * @param objectName 对象名称
+     * @return 对象访问URL
+     */
+    String getObjectUrl(String objectName);
 }
 
@@ -0,0 +1,51 @@
+package org.tech.ai.deepimage.service;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * 本地磁盘对象缓存（按 file_hash 内容寻址，位于 MinIO 之前）
+ *
+ * @author zgq
+ * @since 2025-10-30
+ */
+public interface ObjectDiskCache {
+
+    /**
+     * 查找缓存对象
+     *
+     * @param fileHash 文件哈希
+     * @return 命中返回缓存文件路径，未命中或未启用返回 null
+     */
+    Path lookup(String fileHash);
+
+    /**
+     * 通过容器 sendfile 发送缓存文件区间（数据由内核直接写入 socket，不经过 JVM 堆）
+     *
+     * @param cachedPath 缓存文件路径
+     * @param offset     起始偏移量
+     * @param length     发送长度
+     * @return 是否已交由容器发送；容器不支持或未开启时返回 false
+     */
+    boolean sendfile(Path cachedPath, long offset, long length);
+
+    /**
+     * 打开缓存文件区间读取流（sendfile 不可用时的降级路径）
+     *
+     * @param cachedPath 缓存文件路径
+     * @param offset     起始偏移量
+     * @param length     读取长度
+     * @return 文件输入流；缓存文件已失效时返回 null
+     */
+    InputStream open(Path cachedPath, long offset, long length);
+
+    /**
+     * 包装回源流：读取完整且哈希校验通过后原子写入缓存，读取中断或校验失败时丢弃
+     *
+     * @param fileHash 文件哈希
+     * @param fileSize 文件大小
+     * @param source   回源输入流
+     * @return 包装后的输入流；未启用、对象过大或同一对象正在写入时原样返回
+     */
+    InputStream cacheOnRead(String fileHash, long fileSize, InputStream source);
+}
@@ -0,0 +1,23 @@
+package org.tech.ai.deepimage.service;
+
+import org.tech.ai.deepimage.model.dto.PresignedUrl;
+
+/**
+ * 预签名下载URL缓存
+ * 同一对象、同一有效期分档复用同一个URL，使浏览器与 CDN 缓存能够命中
+ *
+ * @author zgq
+ * @since 2025-11-01
+ */
+public interface PresignedUrlCache {
+
+    /**
+     * 获取预签名下载URL
+     * 返回的URL过期时间不晚于当前时间加 expirySeconds（有效期向下分档，复用的URL签发于更早之前）
+     *
+     * @param objectName    对象名称
+     * @param expirySeconds 期望有效期（秒）
+     * @return 预签名URL及其实际过期时间
+     */
+    PresignedUrl getDownloadUrl(String objectName, int expirySeconds);
+}
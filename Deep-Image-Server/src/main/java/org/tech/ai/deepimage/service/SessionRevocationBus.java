@@ -0,0 +1,47 @@
+package org.tech.ai.deepimage.service;
+
+import org.tech.ai.deepimage.enums.SessionRevocationTypeEnum;
+import org.tech.ai.deepimage.model.dto.SessionRevocationMessage;
+
+/**
+ * 会话失效广播
+ * 会话失效时通知所有节点清除本地的会话有效性缓存，实现由 deepimage.session-cache.revocation-bus 选择
+ *
+ * @author zgq
+ * @since 2025-10-28
+ */
+public interface SessionRevocationBus {
+
+    /**
+     * 广播会话失效消息（本节点立即生效）
+     *
+     * @param message 失效消息
+     */
+    void publish(SessionRevocationMessage message);
+
+    /**
+     * 广播单个会话失效（登出、踢下线、accessToken 轮换）
+     *
+     * @param userId          用户ID
+     * @param accessTokenHash 失效的 accessToken 哈希
+     */
+    default void publishSessionRevoked(Long userId, String accessTokenHash) {
+        publish(SessionRevocationMessage.builder()
+                .type(SessionRevocationTypeEnum.SESSION_REVOKED)
+                .userId(userId)
+                .accessTokenHash(accessTokenHash)
+                .build());
+    }
+
+    /**
+     * 广播用户全部会话失效（重置密码、下线其他设备）
+     *
+     * @param userId 用户ID
+     */
+    default void publishUserLoggedOut(Long userId) {
+        publish(SessionRevocationMessage.builder()
+                .type(SessionRevocationTypeEnum.USER_LOGGED_OUT)
+                .userId(userId)
+                .build());
+    }
+}
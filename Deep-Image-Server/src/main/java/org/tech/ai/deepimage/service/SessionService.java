@@ -1,6 +1,7 @@
 package org.tech.ai.deepimage.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import org.tech.ai.deepimage.model.dto.SessionRevocationMessage;
 import org.tech.ai.deepimage.model.dto.request.FindSessionByTokenRequest;
 import org.tech.ai.deepimage.entity.Session;
 
@@ -16,4 +17,40 @@ public interface SessionService extends IService<Session> {
      * 根据accessToken和用户ID查找会话
      */
     Session findByAccessTokenAndUserId(FindSessionByTokenRequest request);
+
+    /**
+     * 判断accessToken对应的会话是否活跃（带短期缓存，供每次请求的鉴权使用）
+     *
+     * @param accessToken accessToken 明文
+     * @param userId      用户ID
+     * @return 是否活跃
+     */
+    boolean isSessionActive(String accessToken, Long userId);
+
+    /**
+     * 清除单个会话的有效性缓存（会话失效或 accessToken 轮换时调用）
+     *
+     * @param userId          用户ID
+     * @param accessTokenHash accessToken 哈希
+     */
+    void evictSessionCache(Long userId, String accessTokenHash);
+
+    /**
+     * 清除用户所有会话的有效性缓存（批量失效会话时调用）
+     *
+     * @param userId 用户ID
+     */
+    void evictUserSessionCache(Long userId);
+
+    /**
+     * 清空全部会话有效性缓存（失效广播中断后调用）
+     */
+    void evictAllSessionCache();
+
+    /**
+     * 应用会话失效广播消息，清除本节点对应的缓存
+     *
+     * @param message 失效消息
+     */
+    void applyRevocation(SessionRevocationMessage message);
 }
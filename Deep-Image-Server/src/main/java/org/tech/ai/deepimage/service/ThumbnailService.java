@@ -0,0 +1,44 @@
+package org.tech.ai.deepimage.service;
+
+import org.tech.ai.deepimage.event.FileStoredEvent;
+
+import java.util.List;
+
+/**
+ * 缩略图生成Service接口
+ *
+ * @author zgq
+ * @since 2025-10-22
+ */
+public interface ThumbnailService {
+
+    /**
+     * 判断该内容类型的文件是否需要生成缩略图
+     *
+     * @param contentType 内容类型
+     * @return 是否需要生成缩略图
+     */
+    boolean supports(String contentType);
+
+    /**
+     * 提交缩略图生成任务（异步执行，不阻塞调用方）
+     *
+     * @param fileIds 文件记录ID列表
+     */
+    void submit(List<Long> fileIds);
+
+    /**
+     * 文件落库事件监听，事务提交后提交缩略图任务
+     *
+     * @param event 文件落库事件
+     */
+    void onFileStored(FileStoredEvent event);
+
+    /**
+     * 获取原图对应的所有缩略图对象名称（用于彻底删除文件时一并清理）
+     *
+     * @param objectName 原图对象名称
+     * @return 缩略图对象名称列表
+     */
+    List<String> getThumbnailObjectNames(String objectName);
+}
@@ -0,0 +1,95 @@
+package org.tech.ai.deepimage.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import org.tech.ai.deepimage.entity.FileRecord;
+import org.tech.ai.deepimage.entity.UserStorageStats;
+
+import java.util.Collection;
+
+/**
+ * 用户存储统计Service接口
+ * 统计随文件写操作在同一事务内增量更新，定时任务从源表重建以修正偏差
+ *
+ * @author zgq
+ * @since 2025-10-25
+ */
+public interface UserStorageStatsService extends IService<UserStorageStats> {
+
+    /**
+     * 获取用户存储统计（不存在时从源表重建）
+     *
+     * @param userId 用户ID
+     * @return 存储统计
+     */
+    UserStorageStats getStats(Long userId);
+
+    /**
+     * 新增文件后更新统计，累加后超出存储配额时抛出异常（调用方事务回滚）
+     *
+     * @param userId      用户ID
+     * @param fileRecords 新增的文件记录
+     */
+    void onFilesAdded(Long userId, Collection<FileRecord> fileRecords);
+
+    /**
+     * 文件移入回收站后更新统计
+     *
+     * @param userId      用户ID
+     * @param fileRecords 移入回收站的文件记录（删除前的状态）
+     */
+    void onFilesTrashed(Long userId, Collection<FileRecord> fileRecords);
+
+    /**
+     * 文件从回收站恢复后更新统计
+     *
+     * @param userId      用户ID
+     * @param fileRecords 恢复的文件记录
+     */
+    void onFilesRestored(Long userId, Collection<FileRecord> fileRecords);
+
+    /**
+     * 回收站文件彻底删除后更新统计
+     *
+     * @param userId      用户ID
+     * @param fileRecords 彻底删除的文件记录
+     */
+    void onFilesPurged(Long userId, Collection<FileRecord> fileRecords);
+
+    /**
+     * 分享创建或撤销后更新统计
+     *
+     * @param fromUserId 分享者用户ID
+     * @param toUserId   接收者用户ID
+     * @param sign       1=创建，-1=撤销
+     */
+    void onShareChanged(Long fromUserId, Long toUserId, int sign);
+
+    /**
+     * 文件被访问后更新文件所有者的访问统计
+     *
+     * @param ownerId    文件所有者ID
+     * @param accessType 访问类型
+     * @param count      访问次数
+     */
+    void onFileAccessed(Long ownerId, String accessType, long count);
+
+    /**
+     * 从源表重建用户统计
+     *
+     * @param userId 用户ID
+     */
+    void rebuild(Long userId);
+
+    /**
+     * 从源表重建全部用户统计（定时修复任务）
+     */
+    void rebuildAll();
+
+    /**
+     * 预检用户存储配额，超出时抛出异常（写入前快速失败，最终以 onFilesAdded 的原子校验为准）
+     *
+     * @param userId         用户ID
+     * @param additionalSize 即将新增的文件大小（字节）
+     */
+    void checkQuota(Long userId, long additionalSize);
+}
@@ -0,0 +1,39 @@
+package org.tech.ai.deepimage.service;
+
+import org.tech.ai.deepimage.model.dto.UserSummary;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 用户摘要缓存
+ * 构建分享、访问日志、文件详情等响应时解析用户名与头像，未命中时批量回源数据库
+ *
+ * @author zgq
+ * @since 2025-10-28
+ */
+public interface UserSummaryCache {
+
+    /**
+     * 获取单个用户摘要
+     *
+     * @param userId 用户ID
+     * @return 用户摘要，用户不存在时返回 null
+     */
+    UserSummary get(Long userId);
+
+    /**
+     * 批量获取用户摘要，未命中的用户一次查询
+     *
+     * @param userIds 用户ID（可重复、可含 null）
+     * @return userId -> 用户摘要，不存在的用户不在结果中
+     */
+    Map<Long, UserSummary> getAll(Collection<Long> userIds);
+
+    /**
+     * 清除用户摘要缓存（用户名或头像变更时调用，处于事务中时在提交后清除）
+     *
+     * @param userId 用户ID
+     */
+    void invalidate(Long userId);
+}
@@ -0,0 +1,167 @@
+package org.tech.ai.deepimage.service.impl;
+
+import io.minio.GetObjectArgs;
+import io.minio.MinioAsyncClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.tech.ai.deepimage.config.MinioProperties;
+import org.tech.ai.deepimage.exception.BusinessException;
+import org.tech.ai.deepimage.model.dto.response.FileObjectInfoResponse;
+import org.tech.ai.deepimage.service.AsyncMinioService;
+import org.tech.ai.deepimage.service.MinioService;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * MinIO 非阻塞访问服务实现
+ * 与 {@link MinioServiceImpl} 共用同一个 OkHttpClient（连接池、Dispatcher 并发上限由 MinioProperties 配置）
+ *
+ * @author zgq
+ * @since 2025-10-31
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsyncMinioServiceImpl implements AsyncMinioService {
+
+    private final MinioAsyncClient minioAsyncClient;
+    private final MinioProperties minioProperties;
+    private final MinioService minioService;
+
+    // ========== 单对象操作 ==========
+
+    @Override
+    public CompletableFuture<String> uploadFile(InputStream inputStream, long objectSize, String objectName, String contentType) {
+        return execute(() -> minioAsyncClient.putObject(PutObjectArgs.builder()
+                        .bucket(minioProperties.getBucket())
+                        .object(objectName)
+                        .stream(inputStream, objectSize, -1)
+                        .contentType(contentType != null ? contentType : "application/octet-stream")
+                        .build()),
+                objectName, "文件上传失败", BusinessException::serverError)
+                .thenApply(response -> minioService.getObjectUrl(objectName));
+    }
+
+    @Override
+    public CompletableFuture<InputStream> downloadFile(String objectName) {
+        return execute(() -> minioAsyncClient.getObject(GetObjectArgs.builder()
+                        .bucket(minioProperties.getBucket())
+                        .object(objectName)
+                        .build()),
+                objectName, "文件不存在", BusinessException::notFound)
+                .thenApply(response -> (InputStream) response);
+    }
+
+    @Override
+    public CompletableFuture<FileObjectInfoResponse> getFileInfo(String objectName) {
+        return execute(() -> minioAsyncClient.statObject(StatObjectArgs.builder()
+                        .bucket(minioProperties.getBucket())
+                        .object(objectName)
+                        .build()),
+                objectName, "文件不存在", BusinessException::notFound)
+                .thenApply(stat -> {
+                    FileObjectInfoResponse info = FileObjectInfoResponse.from(stat);
+                    info.setUrl(minioService.getObjectUrl(objectName));
+                    return info;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteFile(String objectName) {
+        return execute(() -> minioAsyncClient.removeObject(RemoveObjectArgs.builder()
+                        .bucket(minioProperties.getBucket())
+                        .object(objectName)
+                        .build()),
+                objectName, "文件删除失败", BusinessException::serverError);
+    }
+
+    // ========== 批量操作 ==========
+
+    @Override
+    public CompletableFuture<Collection<String>> deleteFiles(Collection<String> objectNames) {
+        return fanOut(objectNames, objectName -> deleteFile(objectName).thenApply(v -> Boolean.TRUE))
+                .thenApply(deleted -> objectNames.stream()
+                        .filter(objectName -> !deleted.containsKey(objectName))
+                        .collect(Collectors.toList()));
+    }
+
+    // ========== 私有工具方法 ==========
+
+    /**
+     * 发起调用的 MinIO 请求（签名、参数校验阶段会抛出受检异常）
+     */
+    @FunctionalInterface
+    private interface MinioCall<T> {
+        CompletableFuture<T> call() throws Exception;
+    }
+
+    /**
+     * 执行异步请求，失败时记录日志并以 BusinessException 异常完成
+     */
+    private <T> CompletableFuture<T> execute(MinioCall<T> minioCall, String objectName, String errorMessage,
+                                             Function<String, BusinessException> errorFactory) {
+        CompletableFuture<T> future;
+        try {
+            future = minioCall.call();
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.handle((result, e) -> {
+            if (e == null) {
+                return result;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.warn("{}: bucket={}, object={}", errorMessage, minioProperties.getBucket(), objectName, cause);
+            throw errorFactory.apply(errorMessage + ": " + objectName);
+        });
+    }
+
+    /**
+     * 有界并发扇出：启动 asyncBatchConcurrency 条执行链，每条链完成一个请求后再取下一个
+     * 不占用等待线程，失败的元素不包含在结果中
+     */
+    private <K, V> CompletableFuture<Map<K, V>> fanOut(Collection<K> keys, Function<K, CompletableFuture<V>> call) {
+        List<K> keyList = new ArrayList<>(keys);
+        Map<K, V> results = new ConcurrentHashMap<>();
+        AtomicInteger cursor = new AtomicInteger();
+        int lanes = Math.min(Math.max(1, minioProperties.getAsyncBatchConcurrency()), keyList.size());
+
+        CompletableFuture<?>[] laneFutures = new CompletableFuture<?>[lanes];
+        for (int i = 0; i < lanes; i++) {
+            laneFutures[i] = runLane(keyList, cursor, call, results);
+        }
+        return CompletableFuture.allOf(laneFutures).thenApply(v -> results);
+    }
+
+    private <K, V> CompletableFuture<Void> runLane(List<K> keys, AtomicInteger cursor,
+                                                   Function<K, CompletableFuture<V>> call, Map<K, V> results) {
+        int index = cursor.getAndIncrement();
+        if (index >= keys.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        K key = keys.get(index);
+        return call.apply(key)
+                .handle((value, e) -> {
+                    if (e == null && value != null) {
+                        results.put(key, value);
+                    }
+                    return null;
+                })
+                // 异步衔接下一个请求，避免同步失败的请求在同一调用栈中连续递归
+                .thenComposeAsync(ignored -> runLane(keys, cursor, call, results));
+    }
+}
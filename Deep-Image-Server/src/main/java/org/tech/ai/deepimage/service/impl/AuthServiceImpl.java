@@ -17,6 +17,7 @@ import org.tech.ai.deepimage.model.dto.request.*;
 import org.tech.ai.deepimage.model.dto.response.TokenPairResponse;
 import org.tech.ai.deepimage.service.AuthService;
 import org.tech.ai.deepimage.service.RefreshTokenService;
+import org.tech.ai.deepimage.service.SessionRevocationBus;
 import org.tech.ai.deepimage.service.SessionService;
 import org.tech.ai.deepimage.service.UserService;
 import org.tech.ai.deepimage.util.ConditionalUtil;
@@ -39,6 +40,9 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private SessionService sessionService;
 
+    @Autowired
+    private SessionRevocationBus sessionRevocationBus;
+
 
     @Override
     public TokenPairResponse loginByEmail(LoginRequest request) {
@@ -114,9 +118,12 @@ public class AuthServiceImpl implements AuthService {
         // 5. 更新会话信息
         Session session = sessionService.getById(refreshToken.getSessionId());
         ConditionalUtil.ifNotNull(session,s->{
+            String oldAccessTokenHash = s.getAccessTokenHash();
             session.setAccessTokenHash(CryptoUtil.sha256Hex(accessToken));
             session.setLastRefreshAt(LocalDateTime.now());
             sessionService.updateById(s);
+            // 旧 accessToken 已轮换，清除其有效性缓存
+            sessionRevocationBus.publishSessionRevoked(s.getUserId(), oldAccessTokenHash);
         });
 
         // 6. 生成新的 refresh token
@@ -164,6 +171,7 @@ public class AuthServiceImpl implements AuthService {
         ConditionalUtil.ifNotNull(session, s -> {
             s.setActive(SessionStatusEnum.INACTIVE.getValue());
             sessionService.updateById(s);
+            sessionRevocationBus.publishSessionRevoked(s.getUserId(), s.getAccessTokenHash());
 
             // 4. 撤销该会话关联的所有refresh token
             RevokeRefreshTokenBySessionRequest revokeReq = new RevokeRefreshTokenBySessionRequest();
@@ -200,6 +208,7 @@ public class AuthServiceImpl implements AuthService {
                 .eq(Session::getUserId, userId)
                 .eq(Session::getActive, SessionStatusEnum.ACTIVE.getValue())
                 .update();
+        sessionRevocationBus.publishUserLoggedOut(userId);
         refreshTokenService.lambdaUpdate()
                 .set(RefreshToken::getRevoked, RefreshTokenStatusEnum.REVOKED.getValue())
                 .eq(RefreshToken::getUserId, userId)
@@ -0,0 +1,257 @@
+package org.tech.ai.deepimage.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.tech.ai.deepimage.config.ImageDownloadProperties;
+import org.tech.ai.deepimage.constant.ImageDownloadConstant;
+import org.tech.ai.deepimage.constant.ResponseConstant;
+import org.tech.ai.deepimage.enums.CrawlerJobStatusEnum;
+import org.tech.ai.deepimage.enums.ImageDownloadStatusEnum;
+import org.tech.ai.deepimage.exception.BusinessException;
+import org.tech.ai.deepimage.model.dto.ImageInfo;
+import org.tech.ai.deepimage.model.dto.request.CrawlerJobRequest;
+import org.tech.ai.deepimage.model.dto.response.CrawlerJobProgressMessage;
+import org.tech.ai.deepimage.model.dto.response.CrawlerJobResponse;
+import org.tech.ai.deepimage.model.dto.response.DownloadResult;
+import org.tech.ai.deepimage.service.CrawlerJobService;
+import org.tech.ai.deepimage.service.ImageDownloadService;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 图片抓取任务服务实现类
+ * 任务保存在内存中（单实例部署），结束后保留一段时间供轮询查询
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CrawlerJobServiceImpl implements CrawlerJobService {
+
+    private final ImageDownloadService imageDownloadService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ImageDownloadProperties downloadProperties;
+
+    /**
+     * 任务注册表
+     */
+    private final Map<String, CrawlerJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * 任务执行线程池（有界队列，满时拒绝提交）
+     */
+    private ThreadPoolExecutor jobExecutor;
+
+    @PostConstruct
+    public void init() {
+        jobExecutor = new ThreadPoolExecutor(
+                downloadProperties.getMaxRunningJobs(),
+                downloadProperties.getMaxRunningJobs(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(downloadProperties.getJobQueueCapacity()),
+                new CustomizableThreadFactory("crawler-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 关闭时中断执行中的任务，未结束的任务标记为失败并推送，客户端不会一直等待
+     */
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        for (CrawlerJob job : jobs.values()) {
+            if (job.getFinishedAt() != null) {
+                continue;
+            }
+            job.setErrorMessage(ResponseConstant.CRAWLER_JOB_INTERRUPTED_MESSAGE);
+            job.setStatus(CrawlerJobStatusEnum.FAILED);
+            job.setFinishedAt(LocalDateTime.now());
+            publish(job, null, null, null, job.getErrorMessage());
+            log.warn("抓取任务因服务关闭中断：{}，已处理：{}/{}", job.getJobId(),
+                    job.getDownloadedCount().get() + job.getDedupedCount().get() + job.getFailedCount().get(),
+                    job.getTotalCount());
+        }
+    }
+
+    @Override
+    public CrawlerJobResponse submitJob(CrawlerJobRequest request, Long userId) {
+        CrawlerJob job = new CrawlerJob(UUID.randomUUID().toString().replace("-", ""), userId,
+                request.getKeyword(), request.getSelectedImages().size());
+        jobs.put(job.getJobId(), job);
+
+        try {
+            jobExecutor.execute(() -> runJob(job, request));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            log.warn("抓取任务队列已满，拒绝提交：用户：{}，图片数量：{}", userId, job.getTotalCount());
+            throw BusinessException.of(ResponseConstant.TOO_MANY_REQUESTS, ResponseConstant.TOO_MANY_REQUESTS_MESSAGE);
+        }
+
+        log.info("抓取任务已提交：{}，用户：{}，图片数量：{}", job.getJobId(), userId, job.getTotalCount());
+        return toResponse(job);
+    }
+
+    @Override
+    public CrawlerJobResponse getJob(String jobId, Long userId) {
+        CrawlerJob job = jobs.get(jobId);
+        BusinessException.assertNotNull(job, ResponseConstant.NOT_FOUND, ResponseConstant.CRAWLER_JOB_NOT_FOUND_MESSAGE);
+        BusinessException.assertTrue(job.getUserId().equals(userId),
+                ResponseConstant.FORBIDDEN, ResponseConstant.CRAWLER_JOB_NOT_FOUND_MESSAGE);
+        return toResponse(job);
+    }
+
+    /**
+     * 定时清理超过保留时间的已结束任务
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpiredJobs() {
+        LocalDateTime expireBefore = LocalDateTime.now().minusMinutes(downloadProperties.getJobRetentionMinutes());
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(expireBefore));
+    }
+
+    // ========== 私有辅助方法 ==========
+
+    /**
+     * 执行抓取任务（在任务线程池中执行）
+     */
+    private void runJob(CrawlerJob job, CrawlerJobRequest request) {
+        job.setStatus(CrawlerJobStatusEnum.RUNNING);
+        publish(job, null, null, null, null);
+
+        try {
+            DownloadResult result = imageDownloadService.downloadImages(
+                    request.getSelectedImages(),
+                    job.getUserId(),
+                    request.getKeyword(),
+                    request.getTagIds(),
+                    (image, status, fileId, errorMessage) -> onImageFinished(job, image, status, fileId, errorMessage));
+            job.setResult(result);
+            job.setStatus(CrawlerJobStatusEnum.COMPLETED);
+            log.info("抓取任务完成：{}，成功：{}/{}", job.getJobId(), result.getSuccessCount(), result.getTotalCount());
+        } catch (Exception e) {
+            job.setErrorMessage(e.getMessage());
+            job.setStatus(CrawlerJobStatusEnum.FAILED);
+            log.error("抓取任务失败：{}", job.getJobId(), e);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+            publish(job, null, null, null, job.getErrorMessage());
+        }
+    }
+
+    /**
+     * 单张图片处理结束：更新计数并推送进度
+     * 同一张图片再次上报（保存失败时 DOWNLOADED 更正为 FAILED）视为状态变更，先撤销原状态的计数
+     */
+    private void onImageFinished(CrawlerJob job, ImageInfo image, ImageDownloadStatusEnum status,
+                                 Long fileId, String errorMessage) {
+        ImageDownloadStatusEnum previous = job.getImageStatuses().put(image, status);
+        if (previous != null) {
+            counterOf(job, previous).decrementAndGet();
+        }
+        counterOf(job, status).incrementAndGet();
+        publish(job, image.getUrl(), status.name(), fileId, errorMessage);
+    }
+
+    private AtomicInteger counterOf(CrawlerJob job, ImageDownloadStatusEnum status) {
+        return switch (status) {
+            case DOWNLOADED -> job.getDownloadedCount();
+            case DEDUPED -> job.getDedupedCount();
+            case FAILED -> job.getFailedCount();
+        };
+    }
+
+    /**
+     * 推送进度到任务所属用户的私有队列（推送失败不影响任务执行）
+     */
+    private void publish(CrawlerJob job, String imageUrl, String imageStatus, Long fileId, String errorMessage) {
+        CrawlerJobProgressMessage message = CrawlerJobProgressMessage.builder()
+                .jobId(job.getJobId())
+                .status(job.getStatus().name())
+                .totalCount(job.getTotalCount())
+                .downloadedCount(job.getDownloadedCount().get())
+                .dedupedCount(job.getDedupedCount().get())
+                .failedCount(job.getFailedCount().get())
+                .imageUrl(imageUrl)
+                .imageStatus(imageStatus)
+                .fileId(fileId)
+                .errorMessage(errorMessage)
+                .build();
+        try {
+            messagingTemplate.convertAndSendToUser(job.getUserId().toString(),
+                    ImageDownloadConstant.CRAWLER_JOB_DESTINATION, message);
+        } catch (Exception e) {
+            log.warn("推送抓取任务进度失败：{}", job.getJobId(), e);
+        }
+    }
+
+    private CrawlerJobResponse toResponse(CrawlerJob job) {
+        return CrawlerJobResponse.builder()
+                .jobId(job.getJobId())
+                .status(job.getStatus().name())
+                .keyword(job.getKeyword())
+                .totalCount(job.getTotalCount())
+                .downloadedCount(job.getDownloadedCount().get())
+                .dedupedCount(job.getDedupedCount().get())
+                .failedCount(job.getFailedCount().get())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .errorMessage(job.getErrorMessage())
+                .result(job.getResult())
+                .build();
+    }
+
+    /**
+     * 内存中的抓取任务状态
+     */
+    @Getter
+    private static class CrawlerJob {
+
+        private final String jobId;
+        private final Long userId;
+        private final String keyword;
+        private final int totalCount;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicInteger downloadedCount = new AtomicInteger();
+        private final AtomicInteger dedupedCount = new AtomicInteger();
+        private final AtomicInteger failedCount = new AtomicInteger();
+        /**
+         * 每张图片最近一次上报的状态（按对象引用区分，同一 URL 被选中多次时分别计数）
+         */
+        private final Map<ImageInfo, ImageDownloadStatusEnum> imageStatuses =
+                Collections.synchronizedMap(new IdentityHashMap<>());
+
+        @Setter
+        private volatile CrawlerJobStatusEnum status = CrawlerJobStatusEnum.PENDING;
+        @Setter
+        private volatile LocalDateTime finishedAt;
+        @Setter
+        private volatile String errorMessage;
+        @Setter
+        private volatile DownloadResult result;
+
+        CrawlerJob(String jobId, Long userId, String keyword, int totalCount) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.keyword = keyword;
+            this.totalCount = totalCount;
+        }
+    }
+}
@@ -1,15 +1,46 @@
 package org.tech.ai.deepimage.service.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tech.ai.deepimage.config.AccessLogProperties;
+import org.tech.ai.deepimage.entity.FileAccessDaily;
 import org.tech.ai.deepimage.entity.FileAccessLog;
+import org.tech.ai.deepimage.mapper.FileAccessDailyMapper;
 import org.tech.ai.deepimage.mapper.FileAccessLogMapper;
 import org.tech.ai.deepimage.service.FileAccessLogService;
+import org.tech.ai.deepimage.service.UserStorageStatsService;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * 文件访问日志Service实现类
+ * 访问日志先进入有界内存队列，由单个后台线程按数量或时间批量写入，应用关闭时写完剩余日志
+ * 原始日志按月分区并按保留期删除，按日汇总表随写入增量更新
  * 
  * @author zgq
  * @since 2025-10-02
@@ -18,5 +49,280 @@ import org.tech.ai.deepimage.service.FileAccessLogService;
 @Service
 @RequiredArgsConstructor
 public class FileAccessLogServiceImpl extends ServiceImpl<FileAccessLogMapper, FileAccessLog> implements FileAccessLogService {
-    
+
+    private static final String PARTITION_PREFIX = "di_file_access_logs_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final AccessLogProperties accessLogProperties;
+    private final UserStorageStatsService userStorageStatsService;
+    private final FileAccessDailyMapper fileAccessDailyMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<PendingAccessLog> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private Counter droppedCounter;
+    private Counter writtenCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(accessLogProperties.getQueueCapacity());
+        Gauge.builder("deepimage.access_log.queue.depth", queue, BlockingQueue::size)
+                .description("等待写入的访问日志数")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("deepimage.access_log.dropped")
+                .description("队列已满被丢弃的访问日志数")
+                .register(meterRegistry);
+        writtenCounter = Counter.builder("deepimage.access_log.written")
+                .description("已写入数据库的访问日志数")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("deepimage.access_log.failed")
+                .description("批量写入失败的访问日志数")
+                .register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "access-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(accessLogProperties.getShutdownTimeoutMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 写入线程退出后，把队列中剩余的日志写完
+        List<PendingAccessLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += accessLogProperties.getBatchSize()) {
+            int to = Math.min(from + accessLogProperties.getBatchSize(), remaining.size());
+            flush(remaining.subList(from, to));
+        }
+        log.info("访问日志写入线程已停止，关闭时写入剩余日志 {} 条", remaining.size());
+    }
+
+    @Override
+    public void record(FileAccessLog accessLog, Long ownerId) {
+        // 处于事务中时等提交后再入队，事务回滚的操作不会留下访问日志
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(accessLog, ownerId);
+                }
+            });
+        } else {
+            enqueue(accessLog, ownerId);
+        }
+    }
+
+    /**
+     * 放入写入队列，队列已满时丢弃并计数
+     */
+    private void enqueue(FileAccessLog accessLog, Long ownerId) {
+        if (!queue.offer(new PendingAccessLog(accessLog, ownerId))) {
+            droppedCounter.increment();
+            log.warn("访问日志队列已满，丢弃日志: fileId={}, accessType={}",
+                    accessLog.getFileId(), accessLog.getAccessType());
+        }
+    }
+
+    /**
+     * 启动时确保当前及未来月份的分区存在
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        try {
+            createUpcomingPartitions();
+        } catch (Exception e) {
+            log.error("创建访问日志分区失败", e);
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${deepimage.access-log.maintenance-cron:0 10 0 * * ?}")
+    public void maintainStorage() {
+        createUpcomingPartitions();
+        dropExpiredPartitions();
+
+        // 前一日的日志已全部写入，用原始日志重算当日汇总，校正汇总与原始日志之间的偏差（如手工修复数据）；
+        // 原始日志与汇总在同一事务内写入，队列满丢弃或写入失败的事件不在原始日志中，无法在此补回，
+        // 只体现在 deepimage.access_log.dropped / failed 指标中
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        int rows = fileAccessDailyMapper.rebuildForDate(yesterday);
+        log.info("访问日志按日汇总校正完成: date={}, files={}", yesterday, rows);
+    }
+
+    /**
+     * 预建当前及未来月分区
+     */
+    private void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= accessLogProperties.getPrecreateMonths(); i++) {
+            YearMonth month = current.plusMonths(i);
+            baseMapper.createPartition(PARTITION_PREFIX + month.format(PARTITION_SUFFIX_FORMAT),
+                    month.atDay(1), month.plusMonths(1).atDay(1));
+        }
+    }
+
+    /**
+     * 删除超过保留期的月分区，默认分区中的过期日志按行删除
+     */
+    private void dropExpiredPartitions() {
+        YearMonth oldestKept = YearMonth.now().minusMonths(accessLogProperties.getRetentionMonths());
+
+        for (String partitionName : baseMapper.selectPartitionNames()) {
+            if (!partitionName.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+            YearMonth month;
+            try {
+                month = YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX_FORMAT);
+            } catch (Exception e) {
+                log.warn("无法识别的访问日志分区: {}", partitionName);
+                continue;
+            }
+            if (month.isBefore(oldestKept)) {
+                baseMapper.dropPartition(partitionName);
+                log.info("删除过期访问日志分区: {}", partitionName);
+            }
+        }
+
+        int deleted = baseMapper.deleteDefaultPartitionBefore(oldestKept.atDay(1).atStartOfDay());
+        if (deleted > 0) {
+            log.info("删除默认分区过期访问日志: {} 条", deleted);
+        }
+    }
+
+    /**
+     * 写入线程主循环：攒满一批或到达刷新间隔时写入
+     */
+    private void runWriter() {
+        int batchSize = accessLogProperties.getBatchSize();
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(accessLogProperties.getFlushIntervalMillis());
+        List<PendingAccessLog> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            try {
+                long deadline = System.nanoTime() + intervalNanos;
+                while (batch.size() < batchSize) {
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (remainingNanos <= 0) {
+                        break;
+                    }
+                    PendingAccessLog pending = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (pending == null) {
+                        break;
+                    }
+                    batch.add(pending);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // 关闭信号，写完当前批次后退出
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 批量写入访问日志，同时更新按日汇总和文件所有者的访问统计
+     * 整批失败时二分重试，只有无法写入的单条日志被丢弃
+     */
+    private void flush(List<PendingAccessLog> batch) {
+        try {
+            writeBatch(batch);
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            if (batch.size() > 1) {
+                int middle = batch.size() / 2;
+                log.warn("批量写入访问日志失败，拆分重试: count={}", batch.size(), e);
+                flush(batch.subList(0, middle));
+                flush(batch.subList(middle, batch.size()));
+                return;
+            }
+            failedCounter.increment();
+            FileAccessLog accessLog = batch.get(0).accessLog();
+            log.error("写入访问日志失败: fileId={}, accessType={}", accessLog.getFileId(), accessLog.getAccessType(), e);
+        }
+    }
+
+    /**
+     * 在一个事务内写入一批访问日志
+     * 汇总行与所有者统计行按主键顺序更新，与其他更新同一批行的事务保持一致的加锁顺序，避免死锁
+     */
+    private void writeBatch(List<PendingAccessLog> batch) {
+        List<FileAccessLog> accessLogs = batch.stream()
+                .map(PendingAccessLog::accessLog)
+                .collect(Collectors.toList());
+        Map<Long, Map<String, Long>> accessCounts = batch.stream()
+                .filter(pending -> pending.ownerId() != null)
+                .collect(Collectors.groupingBy(PendingAccessLog::ownerId, TreeMap::new,
+                        Collectors.groupingBy(pending -> pending.accessLog().getAccessType(), TreeMap::new,
+                                Collectors.counting())));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            baseMapper.insertBatch(accessLogs);
+            fileAccessDailyMapper.upsertIncrements(aggregateDaily(accessLogs));
+            accessCounts.forEach((ownerId, typeCounts) -> typeCounts.forEach((accessType, count) ->
+                    userStorageStatsService.onFileAccessed(ownerId, accessType, count)));
+        });
+    }
+
+    /**
+     * 按（文件, 日期）合并访问日志为汇总增量
+     */
+    private List<FileAccessDaily> aggregateDaily(List<FileAccessLog> accessLogs) {
+        Map<DailyKey, FileAccessDaily> increments = new LinkedHashMap<>();
+        for (FileAccessLog accessLog : accessLogs) {
+            DailyKey key = new DailyKey(accessLog.getFileId(), accessLog.getCreatedAt().toLocalDate());
+            FileAccessDaily daily = increments.computeIfAbsent(key, k -> {
+                FileAccessDaily item = new FileAccessDaily();
+                item.setFileId(k.fileId());
+                item.setStatDate(k.statDate());
+                return item;
+            });
+            switch (accessLog.getAccessType()) {
+                case "PREVIEW" -> daily.setViewCount(daily.getViewCount() + 1);
+                case "DOWNLOAD" -> daily.setDownloadCount(daily.getDownloadCount() + 1);
+                case "UPLOAD" -> daily.setUploadCount(daily.getUploadCount() + 1);
+                default -> {
+                    // 其他访问类型只记录最后访问时间
+                }
+            }
+            if (daily.getLastAccessedAt() == null || accessLog.getCreatedAt().isAfter(daily.getLastAccessedAt())) {
+                daily.setLastAccessedAt(accessLog.getCreatedAt());
+            }
+        }
+        List<FileAccessDaily> dailyIncrements = new ArrayList<>(increments.values());
+        dailyIncrements.sort(Comparator.comparing(FileAccessDaily::getFileId).thenComparing(FileAccessDaily::getStatDate));
+        return dailyIncrements;
+    }
+
+    /**
+     * 按日汇总键
+     */
+    private record DailyKey(Long fileId, LocalDate statDate) {
+    }
+
+    /**
+     * 等待写入的访问日志
+     *
+     * @param accessLog 访问日志
+     * @param ownerId   文件所有者ID
+     */
+    private record PendingAccessLog(FileAccessLog accessLog, Long ownerId) {
+    }
 }
@@ -10,29 +10,49 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.tech.ai.deepimage.config.MinioProperties;
+import org.tech.ai.deepimage.config.StorageProperties;
 import org.tech.ai.deepimage.constant.FileConstant;
 import org.tech.ai.deepimage.constant.ResponseConstant;
 import org.tech.ai.deepimage.entity.*;
 import org.tech.ai.deepimage.enums.*;
+import org.tech.ai.deepimage.event.FileStoredEvent;
 import org.tech.ai.deepimage.exception.BusinessException;
+import org.tech.ai.deepimage.mapper.FileAccessDailyMapper;
 import org.tech.ai.deepimage.mapper.FileRecordMapper;
 import org.tech.ai.deepimage.mapper.FileTagMapper;
+import org.tech.ai.deepimage.model.dto.DownloadContent;
+import org.tech.ai.deepimage.model.dto.FileAccessInfo;
+import org.tech.ai.deepimage.model.dto.FileAccessSummary;
+import org.tech.ai.deepimage.model.dto.FileCursor;
+import org.tech.ai.deepimage.model.dto.PresignedUrl;
+import org.tech.ai.deepimage.model.dto.UserSummary;
 import org.tech.ai.deepimage.model.dto.request.*;
 import org.tech.ai.deepimage.model.dto.response.*;
 import org.tech.ai.deepimage.service.*;
+import org.tech.ai.deepimage.util.CursorUtil;
 import org.tech.ai.deepimage.util.FileUtil;
 import org.tech.ai.deepimage.util.HashUtil;
 import org.tech.ai.deepimage.util.HttpRequestUtil;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 文件管理Service实现类
@@ -47,15 +67,25 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
 
     // MinIO 相关服务
     private final MinioService minioService;
+    private final AsyncMinioService asyncMinioService;
     private final MinioProperties minioProperties;
 
     private final FileTagService fileTagService;
     private final FileTagMapper fileTagMapper;
+    private final FileAccessDailyMapper fileAccessDailyMapper;
     private final TagService tagService;
     private final FileShareService fileShareService;
     private final FileAccessLogService fileAccessLogService;
+    private final UserStorageStatsService userStorageStatsService;
     private final UserService userService;
+    private final UserSummaryCache userSummaryCache;
+    private final ObjectDiskCache objectDiskCache;
+    private final PresignedUrlCache presignedUrlCache;
     private final FileRecordService fileRecordService;
+    private final ThumbnailService thumbnailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final StorageProperties storageProperties;
 
     // ========== 文件上传 ==========
 
@@ -68,6 +98,7 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
         log.info("开始上传文件: userId={}, filename={}, size={}, businessType={}",
                 userId, file.getOriginalFilename(), file.getSize(), request.getBusinessType());
 
+        String stagingObjectName = null;
         try {
             // 1. 校验业务类型
             if (!BusinessTypeEnum.isValid(request.getBusinessType())) {
@@ -78,14 +109,17 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
             if (file.getSize() > FileConstant.MAX_FILE_SIZE) {
                 throw BusinessException.badRequest(ResponseConstant.FILE_SIZE_EXCEEDED_MESSAGE);
             }
+            userStorageStatsService.checkQuota(userId, file.getSize());
 
-            // 3. 读取文件内容到内存（避免 InputStream 重复使用问题）
-            byte[] fileBytes = file.getBytes();
-
-            // 4. 计算文件哈希
-            String fileHash = HashUtil.sha256(fileBytes);
+            // 3. 流式上传到暂存对象，同时计算文件哈希（只读取一遍流，内存占用与文件大小无关）
+            stagingObjectName = FileUtil.generateStagingObjectName(userId);
+            MessageDigest digest = HashUtil.newSha256Digest();
+            try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+                minioService.uploadFile(inputStream, file.getSize(), stagingObjectName, file.getContentType());
+            }
+            String fileHash = HashUtil.toHex(digest);
 
-            // 5. 检查文件是否已存在（全局去重）
+            // 4. 检查文件是否已存在（全局去重），已存在则丢弃暂存对象
             FileRecord existingFile = checkExistingFile(fileHash);
             if (existingFile != null) {
                 log.info("文件已存在，复用现有文件: existingFileId={}, currentUserId={}",
@@ -94,25 +128,29 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
                 return buildUploadResponse(existingFile);
             }
 
-            // 6. 生成对象名称
+            // 5. 生成对象名称
             String objectName = FileUtil.generateObjectName(userId, request.getBusinessType(),
                     FileUtil.getFileExtension(file.getOriginalFilename()));
 
-            // 7. 上传到MinIO（使用字节数组创建新的 InputStream）
-            String fileUrl = minioService.uploadFile(
-                    new ByteArrayInputStream(fileBytes), objectName, file.getContentType());
+            // 6. 暂存对象转正（MinIO 服务端复制，不经过 JVM），之后任何失败导致事务回滚时删除该对象
+            String fileUrl = minioService.moveObject(stagingObjectName, objectName);
+            stagingObjectName = null;
+            discardObjectOnRollback(objectName);
 
-            // 8. 保存文件记录
+            // 7. 保存文件记录（记录 ETag 供下载时的条件请求使用）
             FileRecord fileRecord = buildFileRecord(userId, file, objectName, fileUrl, fileHash, request);
+            fileRecord.setEtag(minioService.getFileInfo(objectName).getEtag());
             save(fileRecord);
+            userStorageStatsService.onFilesAdded(userId, List.of(fileRecord));
+            publishFileStored(fileRecord);
 
-            // 9. 关联标签（使用 FileTagService）
+            // 8. 关联标签（使用 FileTagService）
             if (CollectionUtils.isNotEmpty(request.getTagIds())) {
                 fileTagService.batchSetFileTags(fileRecord.getId(), userId, request.getTagIds());
             }
 
-            // 10. 记录访问日志
-            logFileAccess(fileRecord.getId(), userId, AccessTypeEnum.UPLOAD.name());
+            // 9. 记录访问日志
+            logFileAccess(fileRecord, userId, AccessTypeEnum.UPLOAD.name());
 
             log.info("文件上传成功: fileId={}", fileRecord.getId());
             return buildUploadResponse(fileRecord);
@@ -120,6 +158,9 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
         } catch (Exception e) {
             log.error("文件上传失败: userId={}, filename={}", userId, file.getOriginalFilename(), e);
             throw BusinessException.badRequest(ResponseConstant.FILE_UPLOAD_FAILED_MESSAGE + ": " + e.getMessage());
+        } finally {
+            // 去重命中或上传失败时清理暂存对象
+            discardStagingObject(stagingObjectName);
         }
     }
 
@@ -146,75 +187,247 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
                 .build();
     }
 
-    // ========== 文件查询 ==========
+    // ========== 直传上传 ==========
 
     @Override
-    public Page<FileInfoResponse> listFiles(ListFilesRequest request) {
+    public UploadIntentResponse createUploadIntent(UploadIntentRequest request) {
         Long userId = StpUtil.getLoginIdAsLong();
 
-        // 如果指定了标签ID，先查询关联的文件ID列表
-        List<Long> fileIds = null;
-        if (request.getTagId() != null) {
-            // 校验标签权限
-            Tag userTag = tagService.getUserTag(request.getTagId(), userId);
-            BusinessException.assertNotNull(userTag, ResponseConstant.FORBIDDEN, ResponseConstant.FILE_PERMISSION_DENIED_MESSAGE);
+        // 校验文件大小（单次 PUT 上限）
+        if (request.getFileSize() > FileConstant.MAX_DIRECT_UPLOAD_FILE_SIZE) {
+            throw BusinessException.badRequest(ResponseConstant.FILE_SIZE_EXCEEDED_MESSAGE);
+        }
 
-            // 查询该标签关联的所有文件ID
-            LambdaQueryWrapper<FileTag> fileTagWrapper = new LambdaQueryWrapper<>();
-            fileTagWrapper.eq(FileTag::getTagId, request.getTagId());
-            List<FileTag> fileTags = fileTagService.list(fileTagWrapper);
+        // 预留对象名称并生成预签名PUT地址，文件字节由客户端直接上传到 MinIO
+        FileRecord fileRecord = createUploadingRecord(userId, request.getOriginalFilename(),
+                request.getFileSize(), request.getContentType(), request.getBusinessType());
+        int expirySeconds = FileConstant.DIRECT_UPLOAD_EXPIRY_SECONDS;
+        String uploadUrl = minioService.getPresignedUploadUrl(fileRecord.getObjectName(), expirySeconds);
 
-            if (fileTags.isEmpty()) {
-                // 如果没有关联的文件，直接返回空结果
-                return new Page<>(request.getPage(), request.getPageSize(), 0);
-            }
+        log.info("创建直传上传意图: uploadId={}, userId={}, objectName={}",
+                fileRecord.getId(), userId, fileRecord.getObjectName());
 
-            fileIds = fileTags.stream()
-                    .map(FileTag::getFileId)
-                    .collect(Collectors.toList());
+        return UploadIntentResponse.builder()
+                .uploadId(fileRecord.getId())
+                .objectName(fileRecord.getObjectName())
+                .uploadUrl(uploadUrl)
+                .contentType(fileRecord.getContentType())
+                .expirySeconds(expirySeconds)
+                .expiresAt(LocalDateTime.now().plusSeconds(expirySeconds))
+                .build();
+    }
+
+    @Override
+    public FileUploadResponse finalizeUpload(FinalizeUploadRequest request) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        FileRecord fileRecord = getUploadingRecord(request.getUploadId(), userId);
+
+        // 对象不存在说明客户端尚未完成直传
+        BusinessException.assertTrue(minioService.fileExists(fileRecord.getObjectName()),
+                ResponseConstant.PARAM_ERROR, ResponseConstant.DIRECT_UPLOAD_OBJECT_MISSING_MESSAGE);
+
+        FileUploadResponse response = finalizeUploadedObject(fileRecord, userId, request.getEtag(), request.getTagIds());
+        log.info("直传上传完成: uploadId={}, fileId={}", fileRecord.getId(), response.getFileId());
+        return response;
+    }
+
+    @Override
+    @Scheduled(cron = "${deepimage.storage.upload-sweep-cron:0 15 * * * ?}")
+    public int cleanupExpiredUploads() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minusHours(storageProperties.getUploadSessionTtlHours());
+        int cleaned = 0;
+        List<FileRecord> expiredUploads;
+        do {
+            expiredUploads = baseMapper.selectExpiredUploads(expiredBefore, FileConstant.UPLOAD_SWEEP_BATCH_SIZE);
+            for (FileRecord fileRecord : expiredUploads) {
+                // 先删记录再删对象：记录删除失败（会话已被完成）时保留对象
+                if (baseMapper.deleteUploadingRecord(fileRecord.getId()) > 0) {
+                    discardStagingObject(fileRecord.getObjectName());
+                    discardMultipartParts(listMultipartPartNames(fileRecord.getId()));
+                    cleaned++;
+                }
+            }
+        } while (expiredUploads.size() == FileConstant.UPLOAD_SWEEP_BATCH_SIZE);
+        if (cleaned > 0) {
+            log.info("清理过期上传会话: count={}, expiredBefore={}", cleaned, expiredBefore);
         }
+        return cleaned;
+    }
 
-        // 构建查询条件
-        Page<FileRecord> page = new Page<>(request.getPage(), request.getPageSize());
-        LambdaQueryWrapper<FileRecord> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(FileRecord::getUserId, userId);
+    // ========== 分片上传 ==========
 
-        // 如果有标签筛选，添加 fileIds 条件
-        if (fileIds != null) {
-            wrapper.in(FileRecord::getId, fileIds);
+    @Override
+    public MultipartUploadInitResponse initMultipartUpload(InitMultipartUploadRequest request) {
+        Long userId = StpUtil.getLoginIdAsLong();
+
+        // 校验文件大小
+        if (request.getFileSize() > FileConstant.MAX_MULTIPART_FILE_SIZE) {
+            throw BusinessException.badRequest(ResponseConstant.FILE_SIZE_EXCEEDED_MESSAGE);
         }
 
-        // 业务类型筛选
-        if (StringUtils.isNotBlank(request.getBusinessType())) {
-            wrapper.eq(FileRecord::getBusinessType, request.getBusinessType());
+        FileRecord fileRecord = createUploadingRecord(userId, request.getOriginalFilename(),
+                request.getFileSize(), request.getContentType(), request.getBusinessType());
+
+        int totalParts = calculateTotalParts(request.getFileSize());
+        log.info("初始化分片上传: uploadId={}, userId={}, fileSize={}, totalParts={}",
+                fileRecord.getId(), userId, request.getFileSize(), totalParts);
+
+        return MultipartUploadInitResponse.builder()
+                .uploadId(fileRecord.getId())
+                .partSize(FileConstant.MULTIPART_PART_SIZE)
+                .totalParts(totalParts)
+                .build();
+    }
+
+    @Override
+    public MultipartUploadPartResponse uploadPart(UploadPartRequest request) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        FileRecord fileRecord = getUploadingRecord(request.getUploadId(), userId);
+
+        // 校验分片号与分片大小，保证合并时除最后一片外每片都满足 S3 的最小分片要求
+        int partNumber = request.getPartNumber();
+        int totalParts = calculateTotalParts(fileRecord.getFileSize());
+        if (partNumber < 1 || partNumber > totalParts) {
+            throw BusinessException.badRequest(ResponseConstant.MULTIPART_PART_NUMBER_INVALID_MESSAGE);
         }
+        long expectedSize = calculatePartSize(fileRecord.getFileSize(), partNumber);
+        if (request.getPartSize() != expectedSize) {
+            throw BusinessException.badRequest("%s: 期望 %d 字节, 实际 %d 字节",
+                    ResponseConstant.MULTIPART_PART_SIZE_INVALID_MESSAGE, expectedSize, request.getPartSize());
+        }
+
+        // 直接把请求体流式写入分片对象，重复上传同一分片会覆盖旧对象，断线重传无需额外处理
+        String partObjectName = FileUtil.generateMultipartPartName(fileRecord.getId(), partNumber);
+        minioService.uploadFile(request.getInputStream(), expectedSize, partObjectName, null);
+
+        log.info("分片上传成功: uploadId={}, partNumber={}/{}", fileRecord.getId(), partNumber, totalParts);
+        return MultipartUploadPartResponse.builder()
+                .partNumber(partNumber)
+                .size(expectedSize)
+                .build();
+    }
 
-        // 文件名搜索
-        if (StringUtils.isNotBlank(request.getFilename())) {
-            wrapper.like(FileRecord::getOriginalFilename, request.getFilename());
+    @Override
+    public MultipartUploadStatusResponse getMultipartUploadStatus(Long uploadId) {
+        Long userId = StpUtil.getLoginIdAsLong();
+
+        FileRecord fileRecord = getById(uploadId);
+        BusinessException.assertNotNull(fileRecord, ResponseConstant.MULTIPART_UPLOAD_NOT_FOUND_MESSAGE);
+        BusinessException.assertTrue(fileRecord.getUserId().equals(userId),
+                ResponseConstant.FORBIDDEN, ResponseConstant.FILE_PERMISSION_DENIED_MESSAGE);
+
+        int totalParts = calculateTotalParts(fileRecord.getFileSize());
+        List<MultipartUploadPartResponse> uploadedParts = new ArrayList<>();
+        List<Integer> missingPartNumbers = new ArrayList<>();
+
+        // 已完成的会话分片对象已清理，无需再列举
+        if (FileStatusEnum.UPLOADING.name().equals(fileRecord.getStatus())) {
+            uploadedParts = listUploadedParts(fileRecord);
+            Set<Integer> uploadedPartNumbers = uploadedParts.stream()
+                    .map(MultipartUploadPartResponse::getPartNumber)
+                    .collect(Collectors.toSet());
+            for (int partNumber = 1; partNumber <= totalParts; partNumber++) {
+                if (!uploadedPartNumbers.contains(partNumber)) {
+                    missingPartNumbers.add(partNumber);
+                }
+            }
         }
 
-        // 排序
-        if (FileConstant.SORT_BY_FILE_SIZE.equals(request.getSortBy())) {
-            wrapper.orderBy(true, FileConstant.SORT_ORDER_ASC.equals(request.getSortOrder()), FileRecord::getFileSize);
-        } else if (FileConstant.SORT_BY_FILENAME.equals(request.getSortBy())) {
-            wrapper.orderBy(true, FileConstant.SORT_ORDER_ASC.equals(request.getSortOrder()), FileRecord::getOriginalFilename);
-        } else {
-            wrapper.orderBy(true, FileConstant.SORT_ORDER_ASC.equals(request.getSortOrder()), FileRecord::getCreatedAt);
+        return MultipartUploadStatusResponse.builder()
+                .uploadId(fileRecord.getId())
+                .status(fileRecord.getStatus())
+                .fileSize(fileRecord.getFileSize())
+                .partSize(FileConstant.MULTIPART_PART_SIZE)
+                .totalParts(totalParts)
+                .uploadedParts(uploadedParts)
+                .missingPartNumbers(missingPartNumbers)
+                .build();
+    }
+
+    @Override
+    public FileUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        FileRecord fileRecord = getUploadingRecord(request.getUploadId(), userId);
+        Long uploadId = fileRecord.getId();
+
+        // 1. 校验分片是否全部上传
+        List<MultipartUploadPartResponse> uploadedParts = listUploadedParts(fileRecord);
+        if (uploadedParts.size() != calculateTotalParts(fileRecord.getFileSize())) {
+            throw BusinessException.badRequest(ResponseConstant.MULTIPART_PARTS_INCOMPLETE_MESSAGE);
         }
 
-        Page<FileRecord> recordPage = page(page, wrapper);
+        // 2. 服务端合并分片到最终对象（S3 分片复制，数据不经过 JVM）
+        List<String> partObjectNames = uploadedParts.stream()
+                .map(part -> FileUtil.generateMultipartPartName(uploadId, part.getPartNumber()))
+                .collect(Collectors.toList());
+        minioService.composeObject(partObjectNames, fileRecord.getObjectName(), fileRecord.getContentType());
+
+        // 3. 计算哈希、去重并回填文件记录（合并与读取哈希均在事务之外，只有回填记录使用短事务）
+        FileUploadResponse response = finalizeUploadedObject(fileRecord, userId, null, request.getTagIds());
+        discardMultipartParts(partObjectNames);
+
+        log.info("分片上传完成: uploadId={}, fileId={}, parts={}", uploadId, response.getFileId(), partObjectNames.size());
+        return response;
+    }
+
+    @Override
+    public Boolean abortMultipartUpload(Long uploadId) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        FileRecord fileRecord = getUploadingRecord(uploadId, userId);
+
+        List<String> partObjectNames = minioService.listFiles(FileUtil.generateMultipartPrefix(uploadId)).stream()
+                .map(FileObjectInfoResponse::getObjectName)
+                .collect(Collectors.toList());
+        discardMultipartParts(partObjectNames);
+        baseMapper.deleteUploadingRecord(fileRecord.getId());
+
+        log.info("分片上传已取消: uploadId={}, userId={}", uploadId, userId);
+        return true;
+    }
+
+    // ========== 文件查询 ==========
+
+    @Override
+    public Page<FileInfoResponse> listFiles(ListFilesRequest request) {
+        Long userId = StpUtil.getLoginIdAsLong();
+
+        Set<Long> tagIds = resolveFilterTagIds(request, userId);
+        boolean matchAll = FileConstant.TAG_MATCH_ALL.equalsIgnoreCase(request.getTagMatchMode());
+
+        // 标签筛选、排序在 SQL 中完成，不在内存中展开文件ID
+        Page<FileRecord> page = new Page<>(request.getPage(), request.getPageSize());
+        Page<FileRecord> recordPage = baseMapper.selectFilePage(page, userId, request, tagIds, matchAll);
 
         // 转换为响应对象
         Page<FileInfoResponse> responsePage = new Page<>(recordPage.getCurrent(), recordPage.getSize(),
                 recordPage.getTotal());
-        responsePage.setRecords(recordPage.getRecords().stream()
-                .map(this::buildFileInfoResponse)
-                .collect(Collectors.toList()));
+        responsePage.setRecords(buildFileInfoResponses(recordPage.getRecords()));
 
         return responsePage;
     }
 
+    @Override
+    public CursorPageResponse<FileInfoResponse> listFilesByCursor(ListFilesCursorRequest request) {
+        Long userId = StpUtil.getLoginIdAsLong();
+
+        Set<Long> tagIds = resolveFilterTagIds(request, userId);
+        boolean matchAll = FileConstant.TAG_MATCH_ALL.equalsIgnoreCase(request.getTagMatchMode());
+
+        // 排序条件规范化后写回请求，保证 ORDER BY 与游标比较一致
+        request.setSortBy(CursorUtil.normalizeSortBy(request.getSortBy()));
+        request.setSortOrder(CursorUtil.normalizeSortOrder(request.getSortOrder()));
+        FileCursor cursor = CursorUtil.decode(request.getCursor(), request.getSortBy(), request.getSortOrder());
+
+        // 多取一条判断是否还有下一批
+        int limit = request.getPageSize();
+        List<FileRecord> records = baseMapper.selectFilesAfter(userId, request, tagIds, matchAll, cursor, limit + 1);
+        Long total = Boolean.TRUE.equals(request.getWithTotal())
+                ? baseMapper.countFiles(userId, request, tagIds, matchAll)
+                : null;
+
+        return buildCursorPage(records, limit, request.getSortBy(), request.getSortOrder(), total);
+    }
+
     @Override
     public FileDetailResponse getFileDetail(Long fileId) {
         Long userId = StpUtil.getLoginIdAsLong();
@@ -233,81 +446,88 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
     // ========== 文件下载 ==========
 
     @Override
-    public InputStream downloadFile(Long fileId) {
+    public FileAccessInfo prepareDownload(Long fileId) {
         Long userId = StpUtil.getLoginIdAsLong();
 
-        // 查询文件记录
-        FileRecord fileRecord = getById(fileId);
-        BusinessException.assertNotNull(fileRecord, ResponseConstant.FILE_NOT_FOUND_MESSAGE);
+        // 权限解析（窄查询，不加载访问日志、分享列表）
+        FileAccessInfo accessInfo = resolveFileAccess(fileId, userId);
 
-        // 权限校验
-        checkFilePermission(fileRecord, userId);
+        // 历史记录（流式上传、爬虫入库）未保存 ETag 时从 MinIO 回填，后续请求直接使用
+        if (StringUtils.isBlank(accessInfo.getEtag()) || accessInfo.getFileSize() == null) {
+            FileObjectInfoResponse objectInfo = minioService.getFileInfo(accessInfo.getObjectName());
+            accessInfo.setEtag(objectInfo.getEtag());
+            if (accessInfo.getFileSize() == null) {
+                accessInfo.setFileSize(objectInfo.getSize());
+            }
+            if (StringUtils.isNotBlank(objectInfo.getEtag())) {
+                lambdaUpdate()
+                        .set(FileRecord::getEtag, objectInfo.getEtag())
+                        .eq(FileRecord::getId, fileId)
+                        .update();
+            }
+        }
+        return accessInfo;
+    }
 
-        // 记录访问日志
-        logFileAccess(fileId, userId, AccessTypeEnum.DOWNLOAD.name());
+    @Override
+    public DownloadContent openDownload(FileAccessInfo accessInfo, long offset, long length) {
+        // 记录访问日志（断点续传的后续区间不重复记录）
+        if (offset == 0) {
+            logFileAccess(accessInfo.getFileId(), accessInfo.getOwnerId(),
+                    accessInfo.getUserId(), AccessTypeEnum.DOWNLOAD.name());
+        }
 
-        // 从MinIO下载
-        return minioService.downloadFile(fileRecord.getObjectName());
+        // 本地磁盘缓存命中：优先交由容器 sendfile 零拷贝发送，否则读取本地文件
+        Path cachedPath = objectDiskCache.lookup(accessInfo.getFileHash());
+        if (cachedPath != null) {
+            if (objectDiskCache.sendfile(cachedPath, offset, length)) {
+                return DownloadContent.sentByContainer();
+            }
+            InputStream cachedStream = objectDiskCache.open(cachedPath, offset, length);
+            if (cachedStream != null) {
+                return DownloadContent.of(cachedStream);
+            }
+        }
+
+        // 从MinIO下载（整文件请求不带区间，避免多余的 Range 头，同时回填本地缓存）
+        if (offset == 0 && length == accessInfo.getFileSize()) {
+            return DownloadContent.of(objectDiskCache.cacheOnRead(accessInfo.getFileHash(), length,
+                    minioService.downloadFile(accessInfo.getObjectName())));
+        }
+        return DownloadContent.of(minioService.downloadFile(accessInfo.getObjectName(), offset, length));
     }
 
     @Override
     public FilePreviewResponse getPreviewUrl(Long fileId, Integer expirySeconds) {
         Long userId = StpUtil.getLoginIdAsLong();
 
-        // 查询文件记录
-        FileRecord fileRecord = getById(fileId);
-        BusinessException.assertNotNull(fileRecord, ResponseConstant.FILE_NOT_FOUND_MESSAGE);
+        // 权限解析（所有者直接通过，非所有者校验分享及过期时间）
+        FileAccessInfo accessInfo = resolveFileAccess(fileId, userId);
 
         // 默认有效期
         if (expirySeconds == null || expirySeconds <= 0) {
             expirySeconds = FileConstant.DEFAULT_PREVIEW_EXPIRY_SECONDS;
         }
 
-        // 如果是文件所有者，直接通过权限校验
-        if (fileRecord.getUserId().equals(userId)) {
-            // 文件所有者不受分享时间限制，直接生成预签名URL
-            String previewUrl = minioService.getPresignedDownloadUrl(fileRecord.getObjectName(), expirySeconds);
-            logFileAccess(fileId, userId, AccessTypeEnum.PREVIEW.name());
-
-            return FilePreviewResponse.builder()
-                    .previewUrl(previewUrl)
-                    .expirySeconds(expirySeconds)
-                    .expiresAt(LocalDateTime.now().plusSeconds(expirySeconds))
-                    .build();
-        }
-
-        // 如果不是文件所有者，检查分享权限和时间限制
-        FileShare fileShare = fileShareService.getValidShareByFileAndUser(fileId, userId);
-
-        // 如果没有找到分享记录，无权访问
-        BusinessException.assertNotNull(fileShare, ResponseConstant.FILE_ACCESS_DENIED_MESSAGE);
-
-        // 检查分享是否过期
-        LocalDateTime now = LocalDateTime.now();
-        if (fileShare.getExpiresAt() != null) {
-            BusinessException.throwIf(fileShare.getExpiresAt().isBefore(now) || fileShare.getExpiresAt().isEqual(now),
-                    ResponseConstant.FORBIDDEN, ResponseConstant.SHARE_EXPIRED_MESSAGE);
-
-            // 计算分享剩余的有效时间（秒）
-            long remainingSeconds = java.time.Duration.between(now, fileShare.getExpiresAt()).getSeconds();
-
-            // 预览URL有效期不能超过分享的剩余有效期
+        // 分享访问时，预览URL有效期不能超过分享的剩余有效期（文件所有者不受限制）
+        if (accessInfo.getShareExpiresAt() != null) {
+            long remainingSeconds = java.time.Duration.between(LocalDateTime.now(), accessInfo.getShareExpiresAt()).getSeconds();
             if (expirySeconds > remainingSeconds) {
                 expirySeconds = (int) Math.max(60, remainingSeconds); // 确保至少 60 秒
                 log.info("预览URL有效期受分享限制，调整为: {} 秒", expirySeconds);
             }
         }
 
-        // 生成预签名URL
-        String previewUrl = minioService.getPresignedDownloadUrl(fileRecord.getObjectName(), expirySeconds);
+        // 获取预签名URL（同一对象、同一有效期分档复用，浏览器与 CDN 缓存可命中；过期时间不晚于上面的限制）
+        PresignedUrl presignedUrl = presignedUrlCache.getDownloadUrl(accessInfo.getObjectName(), expirySeconds);
 
         // 记录访问日志
-        logFileAccess(fileId, userId, AccessTypeEnum.PREVIEW.name());
+        logFileAccess(accessInfo.getFileId(), accessInfo.getOwnerId(), userId, AccessTypeEnum.PREVIEW.name());
 
         return FilePreviewResponse.builder()
-                .previewUrl(previewUrl)
-                .expirySeconds(expirySeconds)
-                .expiresAt(LocalDateTime.now().plusSeconds(expirySeconds))
+                .previewUrl(presignedUrl.getUrl())
+                .expirySeconds((int) Math.max(0, java.time.Duration.between(LocalDateTime.now(), presignedUrl.getExpiresAt()).getSeconds()))
+                .expiresAt(presignedUrl.getExpiresAt())
                 .build();
     }
 
@@ -336,6 +556,7 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public Boolean deleteFile(Long fileId) {
         Long userId = StpUtil.getLoginIdAsLong();
 
@@ -349,10 +570,14 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
 
         LambdaUpdateWrapper<FileRecord> updateWrapper = new LambdaUpdateWrapper<>();
         updateWrapper.eq(FileRecord::getId, fileId)
+                .eq(FileRecord::getDeleteFlag, DeleteStatusEnum.NOT_DELETED.getValue())
                 .set(FileRecord::getStatus, FileStatusEnum.DELETED.name())
                 .set(FileRecord::getDeleteFlag, DeleteStatusEnum.DELETED.getValue());
 
-        update(updateWrapper);
+        // 并发删除时只有一次更新生效，统计只累加一次
+        if (update(updateWrapper)) {
+            userStorageStatsService.onFilesTrashed(userId, List.of(fileRecord));
+        }
 
         log.info("文件删除成功（软删除）: fileId={}", fileId);
         return true;
@@ -366,14 +591,28 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
 
         log.info("批量删除文件: userId={}, fileIds={}", userId, fileIds);
 
-        // 直接批量更新，数据库层面自动过滤用户权限
+        // 查询当前用户可删除的文件（用于计算统计增量）
+        List<FileRecord> filesToDelete = lambdaQuery()
+                .select(FileRecord::getId, FileRecord::getFileSize, FileRecord::getBusinessType, FileRecord::getStatus)
+                .in(FileRecord::getId, fileIds)
+                .eq(FileRecord::getUserId, userId)
+                .list();
+        if (filesToDelete.isEmpty()) {
+            return BatchOperationResponse.builder()
+                    .total(fileIds.size())
+                    .success(0)
+                    .failed(fileIds.size())
+                    .build();
+        }
+
         LambdaUpdateWrapper<FileRecord> updateWrapper = new LambdaUpdateWrapper<>();
-        updateWrapper.in(FileRecord::getId, fileIds)
+        updateWrapper.in(FileRecord::getId, filesToDelete.stream().map(FileRecord::getId).toList())
                 .eq(FileRecord::getUserId, userId)
                 .eq(FileRecord::getDeleteFlag, DeleteStatusEnum.NOT_DELETED.getValue())
                 .set(FileRecord::getDeleteFlag, DeleteStatusEnum.DELETED.getValue())
                 .set(FileRecord::getStatus, FileStatusEnum.DELETED.name());
         int updatedCount = fileRecordService.getBaseMapper().update(updateWrapper);
+        applyStatsChange(userId, filesToDelete, updatedCount, userStorageStatsService::onFilesTrashed);
 
         int failedCount = fileIds.size() - updatedCount;
 
@@ -404,15 +643,22 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
         BusinessException.assertFalse(fileRecord.getReferenceCount() != null && fileRecord.getReferenceCount() > 0,
                 ResponseConstant.FILE_BEING_REFERENCED_MESSAGE);
 
-        // 从MinIO删除
+        // 从MinIO删除（含缩略图）
         try {
             minioService.deleteFile(fileRecord.getObjectName());
+            Collection<String> failed = asyncMinioService.deleteFiles(
+                    thumbnailService.getThumbnailObjectNames(fileRecord.getObjectName())).join();
+            if (!failed.isEmpty()) {
+                log.warn("删除缩略图失败: fileId={}, objectNames={}", fileId, failed);
+            }
         } catch (Exception e) {
             log.error("从MinIO删除文件失败: fileId={}, objectName={}", fileId, fileRecord.getObjectName(), e);
         }
 
         // 删除数据库记录
-        removeById(fileId);
+        if (removeById(fileId)) {
+            userStorageStatsService.onFilesTrashed(userId, List.of(fileRecord));
+        }
 
         // 删除关联数据（使用 FileTagService）并减少标签使用计数
         Set<Long> deletedTagIds = fileTagService.deleteAllByFileId(fileId);
@@ -524,6 +770,7 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
         fileShare.setMessage(request.getMessage());
         // 数据库默认值：revoked=0, view_count=0, download_count=0, created_at=now, updated_at=now
         fileShareService.save(fileShare);
+        userStorageStatsService.onShareChanged(userId, request.getShareToUserId(), 1);
 
         // 更新文件可见性
         if (FileVisibilityEnum.PRIVATE.name().equals(fileRecord.getVisibility())) {
@@ -550,9 +797,13 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
         BusinessException.assertTrue(fileShare.getShareFromUserId().equals(userId),
                 ResponseConstant.FORBIDDEN, ResponseConstant.CANCEL_SHARE_PERMISSION_DENIED_MESSAGE);
 
-        // 撤销分享
+        // 撤销分享（已撤销的分享不重复计数）
+        boolean alreadyRevoked = Objects.equals(fileShare.getRevoked(), RevokedStatusEnum.REVOKED.getValue());
         fileShare.setRevoked(RevokedStatusEnum.REVOKED.getValue());
         fileShareService.updateById(fileShare);
+        if (!alreadyRevoked) {
+            userStorageStatsService.onShareChanged(fileShare.getShareFromUserId(), fileShare.getShareToUserId(), -1);
+        }
 
         // 检查文件是否还有其他有效分享
         LambdaQueryWrapper<FileShare> wrapper = new LambdaQueryWrapper<>();
@@ -585,9 +836,7 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
 
         Page<FileShareResponse> responsePage = new Page<>(sharePage.getCurrent(), sharePage.getSize(),
                 sharePage.getTotal());
-        responsePage.setRecords(sharePage.getRecords().stream()
-                .map(this::buildFileShareResponse)
-                .collect(Collectors.toList()));
+        responsePage.setRecords(buildFileShareResponses(sharePage.getRecords()));
 
         return responsePage;
     }
@@ -609,9 +858,7 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
 
         Page<FileShareResponse> responsePage = new Page<>(sharePage.getCurrent(), sharePage.getSize(),
                 sharePage.getTotal());
-        responsePage.setRecords(sharePage.getRecords().stream()
-                .map(this::buildFileShareResponse)
-                .collect(Collectors.toList()));
+        responsePage.setRecords(buildFileShareResponses(sharePage.getRecords()));
 
         return responsePage;
     }
@@ -655,9 +902,7 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
         // 转换响应
         Page<FileAccessLogResponse> responsePage = new Page<>(logPage.getCurrent(), logPage.getSize(),
                 logPage.getTotal());
-        responsePage.setRecords(logPage.getRecords().stream()
-                .map(this::buildFileAccessLogResponse)
-                .collect(Collectors.toList()));
+        responsePage.setRecords(buildFileAccessLogResponses(logPage.getRecords()));
 
         return responsePage;
     }
@@ -666,72 +911,23 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
     public FileStatisticsResponse getFileStatistics() {
         Long userId = StpUtil.getLoginIdAsLong();
 
-        // 查询总文件数和总大小
-        LambdaQueryWrapper<FileRecord> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(FileRecord::getUserId, userId)
-                .eq(FileRecord::getDeleteFlag, DeleteStatusEnum.NOT_DELETED.getValue());
-
-        List<FileRecord> allFiles = list(wrapper);
-
-        long totalFiles = allFiles.size();
-        long totalSize = allFiles.stream()
-                .mapToLong(FileRecord::getFileSize)
-                .sum();
-
-        // 按业务类型统计
-        Map<String, Long> typeCount = allFiles.stream()
-                .collect(Collectors.groupingBy(FileRecord::getBusinessType, Collectors.counting()));
-
-        // 分享统计
-        LambdaQueryWrapper<FileShare> shareOutWrapper = new LambdaQueryWrapper<>();
-        shareOutWrapper.eq(FileShare::getShareFromUserId, userId)
-                .eq(FileShare::getRevoked, 0);
-        long shareOutCount = fileShareService.count(shareOutWrapper);
-
-        LambdaQueryWrapper<FileShare> shareInWrapper = new LambdaQueryWrapper<>();
-        shareInWrapper.eq(FileShare::getShareToUserId, userId)
-                .eq(FileShare::getRevoked, 0);
-        long shareInCount = fileShareService.count(shareInWrapper);
-
-        // 访问统计
-        List<Long> fileIds = allFiles.stream()
-                .map(FileRecord::getId)
-                .collect(Collectors.toList());
-
-        long totalDownloads = 0, totalViews = 0, totalUploads = 0;
-        if (!fileIds.isEmpty()) {
-            LambdaQueryWrapper<FileAccessLog> logWrapper = new LambdaQueryWrapper<>();
-            logWrapper.in(FileAccessLog::getFileId, fileIds);
-            List<FileAccessLog> logs = fileAccessLogService.list(logWrapper);
-
-            Map<String, Long> accessTypeCount = logs.stream()
-                    .collect(Collectors.groupingBy(FileAccessLog::getAccessType, Collectors.counting()));
-
-            totalDownloads = accessTypeCount.getOrDefault(AccessTypeEnum.DOWNLOAD.name(), 0L);
-            totalViews = accessTypeCount.getOrDefault(AccessTypeEnum.PREVIEW.name(), 0L);
-            totalUploads = accessTypeCount.getOrDefault(AccessTypeEnum.UPLOAD.name(), 0L);
-        }
-
-        // 最近上传时间
-        LocalDateTime lastUploadedAt = allFiles.stream()
-                .map(FileRecord::getCreatedAt)
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
+        // 读取增量维护的统计汇总（O(1)）
+        UserStorageStats stats = userStorageStatsService.getStats(userId);
 
         return FileStatisticsResponse.builder()
-                .totalFiles(totalFiles)
-                .totalSize(totalSize)
-                .imageCount(typeCount.getOrDefault("IMAGE", 0L))
-                .documentCount(typeCount.getOrDefault("DOCUMENT", 0L))
-                .videoCount(typeCount.getOrDefault("VIDEO", 0L))
-                .avatarCount(typeCount.getOrDefault("AVATAR", 0L))
-                .tempCount(typeCount.getOrDefault("TEMP", 0L))
-                .shareOutCount(shareOutCount)
-                .shareInCount(shareInCount)
-                .totalDownloads(totalDownloads)
-                .totalViews(totalViews)
-                .totalUploads(totalUploads)
-                .lastUploadedAt(lastUploadedAt)
+                .totalFiles(stats.getTotalFiles())
+                .totalSize(stats.getTotalSize())
+                .imageCount(stats.getImageCount())
+                .documentCount(stats.getDocumentCount())
+                .videoCount(stats.getVideoCount())
+                .avatarCount(stats.getAvatarCount())
+                .tempCount(stats.getTempCount())
+                .shareOutCount(stats.getShareOutCount())
+                .shareInCount(stats.getShareInCount())
+                .totalDownloads(stats.getDownloadCount())
+                .totalViews(stats.getViewCount())
+                .totalUploads(stats.getUploadCount())
+                .lastUploadedAt(stats.getLastUploadedAt())
                 .build();
     }
 
@@ -751,6 +947,260 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
         return getOne(wrapper);
     }
 
+    /**
+     * 丢弃上传暂存对象（失败只记录日志，不影响主流程）
+     *
+     * @param stagingObjectName 暂存对象名称，为null时忽略
+     */
+    private void discardStagingObject(String stagingObjectName) {
+        if (stagingObjectName == null) {
+            return;
+        }
+        try {
+            minioService.deleteFile(stagingObjectName);
+        } catch (Exception e) {
+            log.warn("清理暂存对象失败: objectName={}", stagingObjectName, e);
+        }
+    }
+
+    /**
+     * 事务回滚时删除已写入的对象（文件记录没有落库，对象不再被任何记录引用）
+     * 提交结果未知时保留对象，宁可遗留也不误删
+     */
+    private void discardObjectOnRollback(String objectName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                try {
+                    minioService.deleteFile(objectName);
+                    log.info("上传事务回滚，已删除对象: objectName={}", objectName);
+                } catch (Exception e) {
+                    log.warn("上传事务回滚后删除对象失败: objectName={}", objectName, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 创建 UPLOADING 状态的文件记录作为上传会话
+     * 预先分配最终对象名称，哈希在对象写入完成后回填
+     */
+    private FileRecord createUploadingRecord(Long userId, String originalFilename, Long fileSize,
+                                             String contentType, String businessType) {
+        // 校验业务类型
+        if (!BusinessTypeEnum.isValid(businessType)) {
+            throw BusinessException.badRequest(ResponseConstant.FILE_TYPE_INVALID_MESSAGE);
+        }
+        userStorageStatsService.checkQuota(userId, fileSize);
+
+        String extension = FileUtil.getFileExtension(originalFilename);
+        String objectName = FileUtil.generateObjectName(userId, businessType, extension);
+
+        FileRecord fileRecord = new FileRecord();
+        fileRecord.setUserId(userId);
+        fileRecord.setBucketName(minioProperties.getBucket());
+        fileRecord.setObjectName(objectName);
+        fileRecord.setOriginalFilename(originalFilename);
+        fileRecord.setFileSize(fileSize);
+        fileRecord.setContentType(StringUtils.isNotBlank(contentType) ? contentType : FileUtil.getMimeType(extension));
+        fileRecord.setFileExtension(extension);
+        fileRecord.setBusinessType(businessType);
+        fileRecord.setStatus(FileStatusEnum.UPLOADING.name());
+        fileRecord.setVisibility(FileVisibilityEnum.PRIVATE.name());
+        fileRecord.setFileUrl(minioService.getObjectUrl(objectName));
+        fileRecord.setFileHash(FileConstant.PENDING_FILE_HASH);
+        save(fileRecord);
+        return fileRecord;
+    }
+
+    /**
+     * 对已写入最终对象的上传会话收尾：校验对象、计算哈希去重、回填记录并关联标签
+     *
+     * @param fileRecord   UPLOADING 状态的文件记录
+     * @param userId       当前用户ID
+     * @param expectedEtag 客户端上传得到的 ETag（可选），不为空时必须与对象一致
+     * @param tagIds       标签ID列表（可选）
+     * @return 上传结果（去重命中时返回已有文件）
+     */
+    private FileUploadResponse finalizeUploadedObject(FileRecord fileRecord, Long userId,
+                                                      String expectedEtag, List<Long> tagIds) {
+        Long fileId = fileRecord.getId();
+        String objectName = fileRecord.getObjectName();
+
+        // 1. 校验对象大小与 ETag，不一致说明上传不完整或被篡改，丢弃对象并让客户端重传
+        FileObjectInfoResponse objectInfo = minioService.getFileInfo(objectName);
+        if (!Objects.equals(objectInfo.getSize(), fileRecord.getFileSize())) {
+            discardStagingObject(objectName);
+            throw BusinessException.badRequest("%s: 期望 %d 字节, 实际 %d 字节",
+                    ResponseConstant.UPLOADED_OBJECT_SIZE_MISMATCH_MESSAGE, fileRecord.getFileSize(), objectInfo.getSize());
+        }
+        if (StringUtils.isNotBlank(expectedEtag)
+                && !StringUtils.strip(expectedEtag, "\"").equals(StringUtils.strip(objectInfo.getEtag(), "\""))) {
+            discardStagingObject(objectName);
+            throw BusinessException.badRequest(ResponseConstant.UPLOADED_OBJECT_ETAG_MISMATCH_MESSAGE);
+        }
+
+        // 2. 流式读取对象计算哈希（在事务之外进行，读取大对象期间不占用数据库连接）
+        String fileHash;
+        try (InputStream inputStream = minioService.downloadFile(objectName)) {
+            fileHash = HashUtil.sha256(inputStream);
+        } catch (Exception e) {
+            log.error("计算上传文件哈希失败: fileId={}", fileId, e);
+            throw BusinessException.badRequest(ResponseConstant.FILE_UPLOAD_FAILED_MESSAGE + ": " + e.getMessage());
+        }
+
+        // 3. 检查文件是否已存在（全局去重），已存在则丢弃新对象并结束会话
+        FileRecord existingFile = checkExistingFile(fileHash);
+        if (existingFile != null) {
+            log.info("文件已存在，复用现有文件: existingFileId={}, uploadId={}", existingFile.getId(), fileId);
+            discardStagingObject(objectName);
+            baseMapper.deleteUploadingRecord(fileId);
+            return buildUploadResponse(existingFile);
+        }
+
+        // 4. 事务内只做记录回填：会话转为已完成（图片进入缩略图处理），并发的重复完成请求只有一个能成功
+        fileRecord.setFileHash(fileHash);
+        fileRecord.setEtag(objectInfo.getEtag());
+        fileRecord.setStatus(resolveStoredStatus(fileRecord.getContentType()).name());
+        fileRecord.setUpdatedAt(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> completeUploadingRecord(fileRecord, userId, tagIds));
+        return buildUploadResponse(fileRecord);
+    }
+
+    /**
+     * 回填上传会话记录、累加存储统计、关联标签并记录访问日志（需在事务内调用）
+     */
+    private void completeUploadingRecord(FileRecord fileRecord, Long userId, List<Long> tagIds) {
+        boolean completed = lambdaUpdate()
+                .eq(FileRecord::getId, fileRecord.getId())
+                .eq(FileRecord::getStatus, FileStatusEnum.UPLOADING.name())
+                .set(FileRecord::getFileHash, fileRecord.getFileHash())
+                .set(FileRecord::getEtag, fileRecord.getEtag())
+                .set(FileRecord::getStatus, fileRecord.getStatus())
+                .set(FileRecord::getUpdatedAt, fileRecord.getUpdatedAt())
+                .update();
+        if (!completed) {
+            throw BusinessException.badRequest(ResponseConstant.MULTIPART_UPLOAD_NOT_IN_PROGRESS_MESSAGE);
+        }
+        userStorageStatsService.onFilesAdded(userId, List.of(fileRecord));
+        publishFileStored(fileRecord);
+
+        if (CollectionUtils.isNotEmpty(tagIds)) {
+            fileTagService.batchSetFileTags(fileRecord.getId(), userId, tagIds);
+        }
+        logFileAccess(fileRecord, userId, AccessTypeEnum.UPLOAD.name());
+    }
+
+    /**
+     * 查询当前用户进行中的上传会话
+     *
+     * @param uploadId 上传会话ID
+     * @param userId   当前用户ID
+     * @return UPLOADING 状态的文件记录
+     */
+    private FileRecord getUploadingRecord(Long uploadId, Long userId) {
+        FileRecord fileRecord = getById(uploadId);
+        BusinessException.assertNotNull(fileRecord, ResponseConstant.MULTIPART_UPLOAD_NOT_FOUND_MESSAGE);
+        BusinessException.assertTrue(fileRecord.getUserId().equals(userId),
+                ResponseConstant.FORBIDDEN, ResponseConstant.FILE_PERMISSION_DENIED_MESSAGE);
+        if (!FileStatusEnum.UPLOADING.name().equals(fileRecord.getStatus())) {
+            throw BusinessException.badRequest(ResponseConstant.MULTIPART_UPLOAD_NOT_IN_PROGRESS_MESSAGE);
+        }
+        return fileRecord;
+    }
+
+    /**
+     * 计算分片总数
+     */
+    private int calculateTotalParts(long fileSize) {
+        return (int) ((fileSize + FileConstant.MULTIPART_PART_SIZE - 1) / FileConstant.MULTIPART_PART_SIZE);
+    }
+
+    /**
+     * 计算指定分片的应有大小（最后一片为剩余字节数）
+     */
+    private long calculatePartSize(long fileSize, int partNumber) {
+        long offset = (partNumber - 1) * FileConstant.MULTIPART_PART_SIZE;
+        return Math.min(FileConstant.MULTIPART_PART_SIZE, fileSize - offset);
+    }
+
+    /**
+     * 列出上传会话中大小正确的已上传分片（按分片号升序）
+     * 大小不符的分片（如中断后残留的对象）视为未上传，需要客户端重传
+     */
+    private List<MultipartUploadPartResponse> listUploadedParts(FileRecord fileRecord) {
+        int totalParts = calculateTotalParts(fileRecord.getFileSize());
+        List<MultipartUploadPartResponse> parts = new ArrayList<>();
+        for (FileObjectInfoResponse object : minioService.listFiles(FileUtil.generateMultipartPrefix(fileRecord.getId()))) {
+            Integer partNumber = FileUtil.parseMultipartPartNumber(object.getObjectName());
+            if (partNumber == null || partNumber < 1 || partNumber > totalParts) {
+                continue;
+            }
+            if (!Objects.equals(object.getSize(), calculatePartSize(fileRecord.getFileSize(), partNumber))) {
+                continue;
+            }
+            parts.add(MultipartUploadPartResponse.builder()
+                    .partNumber(partNumber)
+                    .size(object.getSize())
+                    .build());
+        }
+        parts.sort(Comparator.comparing(MultipartUploadPartResponse::getPartNumber));
+        return parts;
+    }
+
+    /**
+     * 列举过期会话的分片临时对象名称（失败时只记录日志，返回空列表）
+     */
+    private List<String> listMultipartPartNames(Long uploadId) {
+        try {
+            return minioService.listFiles(FileUtil.generateMultipartPrefix(uploadId)).stream()
+                    .map(FileObjectInfoResponse::getObjectName)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            log.warn("列举分片对象失败: uploadId={}", uploadId, e);
+            return List.of();
+        }
+    }
+
+    /**
+     * 清理分片临时对象（失败只记录日志，不影响主流程）
+     */
+    private void discardMultipartParts(List<String> partObjectNames) {
+        if (CollectionUtils.isEmpty(partObjectNames)) {
+            return;
+        }
+        try {
+            Collection<String> failed = asyncMinioService.deleteFiles(partObjectNames).join();
+            if (!failed.isEmpty()) {
+                log.warn("清理分片对象失败: count={}, objectNames={}", failed.size(), failed);
+            }
+        } catch (Exception e) {
+            log.warn("清理分片对象失败: count={}", partObjectNames.size(), e);
+        }
+    }
+
+    /**
+     * 文件写入完成后的状态：需要生成缩略图的图片先进入处理中，其余直接完成
+     */
+    private FileStatusEnum resolveStoredStatus(String contentType) {
+        return thumbnailService.supports(contentType) ? FileStatusEnum.PROCESSING : FileStatusEnum.COMPLETED;
+    }
+
+    /**
+     * 发布文件落库事件（处理中的文件在事务提交后生成缩略图）
+     */
+    private void publishFileStored(FileRecord fileRecord) {
+        if (FileStatusEnum.PROCESSING.name().equals(fileRecord.getStatus())) {
+            eventPublisher.publishEvent(new FileStoredEvent(this, List.of(fileRecord.getId())));
+        }
+    }
+
     /**
      * 构建FileRecord实体
      */
@@ -765,7 +1215,7 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
         fileRecord.setContentType(file.getContentType());
         fileRecord.setFileExtension(FileUtil.getFileExtension(file.getOriginalFilename()));
         fileRecord.setBusinessType(request.getBusinessType());
-        fileRecord.setStatus(FileStatusEnum.COMPLETED.name());
+        fileRecord.setStatus(resolveStoredStatus(file.getContentType()).name());
         fileRecord.setVisibility(FileVisibilityEnum.PRIVATE.name());
         fileRecord.setFileUrl(fileUrl);
         fileRecord.setFileHash(fileHash);
@@ -773,6 +1223,46 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
         return fileRecord;
     }
 
+    /**
+     * 合并 tagId 与 tagIds，并校验标签属于当前用户
+     */
+    private Set<Long> resolveFilterTagIds(ListFilesRequest request, Long userId) {
+        Set<Long> tagIds = new LinkedHashSet<>();
+        if (request.getTagId() != null) {
+            tagIds.add(request.getTagId());
+        }
+        if (CollectionUtils.isNotEmpty(request.getTagIds())) {
+            tagIds.addAll(request.getTagIds());
+        }
+
+        if (!tagIds.isEmpty()) {
+            // 校验标签权限
+            List<Tag> userTags = tagService.listValidTagsByIds(new ArrayList<>(tagIds), userId);
+            BusinessException.throwIf(userTags.size() != tagIds.size(),
+                    ResponseConstant.FORBIDDEN, ResponseConstant.FILE_PERMISSION_DENIED_MESSAGE);
+        }
+        return tagIds;
+    }
+
+    /**
+     * 构建游标分页响应（records 比 limit 多一条时表示还有下一批）
+     */
+    private CursorPageResponse<FileInfoResponse> buildCursorPage(List<FileRecord> records, int limit,
+                                                                 String sortBy, String sortOrder, Long total) {
+        boolean hasMore = records.size() > limit;
+        List<FileRecord> pageRecords = hasMore ? records.subList(0, limit) : records;
+        String nextCursor = hasMore
+                ? CursorUtil.encode(CursorUtil.of(pageRecords.get(pageRecords.size() - 1), sortBy, sortOrder))
+                : null;
+
+        return CursorPageResponse.<FileInfoResponse>builder()
+                .records(buildFileInfoResponses(pageRecords))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .total(total)
+                .build();
+    }
+
     /**
      * 构建上传响应
      */
@@ -794,8 +1284,28 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
      */
     private FileInfoResponse buildFileInfoResponse(FileRecord fileRecord) {
         // 查询文件的标签
-        List<TagResponse> tags = getFileTagsInternal(fileRecord.getId());
+        return buildFileInfoResponse(fileRecord, getFileTagsInternal(fileRecord.getId()));
+    }
+
+    /**
+     * 批量构建文件信息响应（整页标签一次查询）
+     */
+    private List<FileInfoResponse> buildFileInfoResponses(List<FileRecord> fileRecords) {
+        List<Long> fileIds = fileRecords.stream()
+                .map(FileRecord::getId)
+                .toList();
+        Map<Long, List<TagResponse>> tagsMap = fileTagService.getFileTagsResponseMap(fileIds);
 
+        return fileRecords.stream()
+                .map(fileRecord -> buildFileInfoResponse(fileRecord,
+                        tagsMap.getOrDefault(fileRecord.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 使用已查询的标签构建文件信息响应
+     */
+    private FileInfoResponse buildFileInfoResponse(FileRecord fileRecord, List<TagResponse> tags) {
         return FileInfoResponse.builder()
                 .fileId(fileRecord.getId())
                 .originalFilename(fileRecord.getOriginalFilename())
@@ -821,21 +1331,12 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
         // 查询文件的标签
         List<TagResponse> tags = getFileTagsInternal(fileRecord.getId());
 
-        // 查询访问统计
-        LambdaQueryWrapper<FileAccessLog> logWrapper = new LambdaQueryWrapper<>();
-        logWrapper.eq(FileAccessLog::getFileId, fileRecord.getId());
-        List<FileAccessLog> logs = fileAccessLogService.list(logWrapper);
-
-        Map<String, Long> accessTypeCount = logs.stream()
-                .collect(Collectors.groupingBy(FileAccessLog::getAccessType, Collectors.counting()));
-
-        int viewCount = accessTypeCount.getOrDefault(AccessTypeEnum.PREVIEW.name(), 0L).intValue();
-        int downloadCount = accessTypeCount.getOrDefault(AccessTypeEnum.DOWNLOAD.name(), 0L).intValue();
+        // 查询访问统计（按日汇总表，不扫描原始日志）
+        FileAccessSummary accessSummary = fileAccessDailyMapper.selectSummaryByFileIds(List.of(fileRecord.getId()));
 
-        LocalDateTime lastAccessedAt = logs.stream()
-                .map(FileAccessLog::getCreatedAt)
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
+        int viewCount = (int) accessSummary.getViewCount();
+        int downloadCount = (int) accessSummary.getDownloadCount();
+        LocalDateTime lastAccessedAt = accessSummary.getLastAccessedAt();
 
         // 查询分享信息
         LambdaQueryWrapper<FileShare> shareWrapper = new LambdaQueryWrapper<>();
@@ -843,16 +1344,17 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
                 .eq(FileShare::getRevoked, RevokedStatusEnum.NOT_REVOKED.getValue());
         List<FileShare> shares = fileShareService.list(shareWrapper);
 
+        // 接收者用户名一次查询
+        Map<Long, String> usernameMap = loadUsernameMap(shares.stream()
+                .map(FileShare::getShareToUserId)
+                .toList());
         List<FileDetailResponse.FileShareInfo> shareInfos = shares.stream()
-                .map(share -> {
-                    User user = userService.getById(share.getShareToUserId());
-                    return FileDetailResponse.FileShareInfo.builder()
-                            .shareId(share.getId())
-                            .shareToUsername(user != null ? user.getUsername() : "Unknown")
-                            .permissionLevel(share.getPermissionLevel())
-                            .createdAt(share.getCreatedAt())
-                            .build();
-                })
+                .map(share -> FileDetailResponse.FileShareInfo.builder()
+                        .shareId(share.getId())
+                        .shareToUsername(usernameMap.getOrDefault(share.getShareToUserId(), "Unknown"))
+                        .permissionLevel(share.getPermissionLevel())
+                        .createdAt(share.getCreatedAt())
+                        .build())
                 .collect(Collectors.toList());
 
         return FileDetailResponse.builder()
@@ -883,10 +1385,35 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
      * 构建文件分享响应
      */
     private FileShareResponse buildFileShareResponse(FileShare fileShare) {
-        FileRecord fileRecord = getById(fileShare.getFileId());
-        User fromUser = userService.getById(fileShare.getShareFromUserId());
-        User toUser = userService.getById(fileShare.getShareToUserId());
+        return buildFileShareResponses(List.of(fileShare)).get(0);
+    }
+
+    /**
+     * 批量构建文件分享响应（整页文件、用户各一次查询）
+     */
+    private List<FileShareResponse> buildFileShareResponses(List<FileShare> fileShares) {
+        if (fileShares.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> fileIds = fileShares.stream()
+                .map(FileShare::getFileId)
+                .collect(Collectors.toSet());
+        Map<Long, FileRecord> fileRecordMap = listByIds(fileIds).stream()
+                .collect(Collectors.toMap(FileRecord::getId, Function.identity()));
+        Map<Long, String> usernameMap = loadUsernameMap(fileShares.stream()
+                .flatMap(share -> Stream.of(share.getShareFromUserId(), share.getShareToUserId()))
+                .toList());
+
+        return fileShares.stream()
+                .map(share -> buildFileShareResponse(share, fileRecordMap.get(share.getFileId()), usernameMap))
+                .collect(Collectors.toList());
+    }
 
+    /**
+     * 使用已查询的文件与用户名构建文件分享响应
+     */
+    private FileShareResponse buildFileShareResponse(FileShare fileShare, FileRecord fileRecord,
+                                                     Map<Long, String> usernameMap) {
         return FileShareResponse.builder()
                 .shareId(fileShare.getId())
                 .fileId(fileShare.getFileId())
@@ -894,9 +1421,9 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
                 .fileUrl(fileRecord != null ? fileRecord.getFileUrl() : null)
                 .thumbnailUrl(fileRecord != null ? fileRecord.getThumbnailUrl() : null)
                 .shareFromUserId(fileShare.getShareFromUserId())
-                .shareFromUsername(fromUser != null ? fromUser.getUsername() : "Unknown")
+                .shareFromUsername(usernameMap.getOrDefault(fileShare.getShareFromUserId(), "Unknown"))
                 .shareToUserId(fileShare.getShareToUserId())
-                .shareToUsername(toUser != null ? toUser.getUsername() : "Unknown")
+                .shareToUsername(usernameMap.getOrDefault(fileShare.getShareToUserId(), "Unknown"))
                 .shareType(fileShare.getShareType())
                 .expiresAt(fileShare.getExpiresAt())
                 .permissionLevel(fileShare.getPermissionLevel())
@@ -910,19 +1437,35 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
     }
 
     /**
-     * 构建文件访问日志响应
+     * 批量构建文件访问日志响应（整页用户一次查询）
      */
-    private FileAccessLogResponse buildFileAccessLogResponse(FileAccessLog log) {
-        User user = userService.getById(log.getUserId());
-
-        return FileAccessLogResponse.builder()
-                .logId(log.getId())
-                .accessType(log.getAccessType())
-                .username(user != null ? user.getUsername() : "Unknown")
-                .ipAddress(log.getIpAddress())
-                .userAgent(log.getUserAgent())
-                .accessedAt(log.getCreatedAt())
-                .build();
+    private List<FileAccessLogResponse> buildFileAccessLogResponses(List<FileAccessLog> logs) {
+        Map<Long, String> usernameMap = loadUsernameMap(logs.stream()
+                .map(FileAccessLog::getUserId)
+                .toList());
+
+        return logs.stream()
+                .map(accessLog -> FileAccessLogResponse.builder()
+                        .logId(accessLog.getId())
+                        .accessType(accessLog.getAccessType())
+                        .username(usernameMap.getOrDefault(accessLog.getUserId(), "Unknown"))
+                        .ipAddress(accessLog.getIpAddress())
+                        .userAgent(accessLog.getUserAgent())
+                        .accessedAt(accessLog.getCreatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 批量解析用户名（走用户摘要缓存，未命中的一次查询）
+     *
+     * @param userIds 用户ID（可重复、可含 null）
+     * @return userId -> username
+     */
+    private Map<Long, String> loadUsernameMap(Collection<Long> userIds) {
+        return userSummaryCache.getAll(userIds).values().stream()
+                .filter(summary -> summary.getUsername() != null)
+                .collect(Collectors.toMap(UserSummary::getId, UserSummary::getUsername));
     }
 
     /**
@@ -946,6 +1489,32 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
         }
     }
 
+    /**
+     * 解析文件访问权限（下载、预览共用）
+     * 一次窄查询取回对象元信息及当前用户最新的未撤销分享，耗时与文件的访问量、分享数无关
+     */
+    private FileAccessInfo resolveFileAccess(Long fileId, Long userId) {
+        FileAccessInfo accessInfo = baseMapper.selectFileAccess(fileId, userId);
+        BusinessException.assertNotNull(accessInfo, ResponseConstant.FILE_NOT_FOUND_MESSAGE);
+        accessInfo.setUserId(userId);
+
+        // 文件所有者直接通过
+        if (accessInfo.getOwnerId().equals(userId)) {
+            return accessInfo;
+        }
+
+        // 非所有者需存在有效分享
+        BusinessException.assertNotNull(accessInfo.getShareId(), ResponseConstant.FILE_ACCESS_DENIED_MESSAGE);
+
+        // 检查分享是否过期
+        if (accessInfo.getShareExpiresAt() != null) {
+            LocalDateTime now = LocalDateTime.now();
+            BusinessException.throwIf(!accessInfo.getShareExpiresAt().isAfter(now),
+                    ResponseConstant.FORBIDDEN, ResponseConstant.SHARE_EXPIRED_MESSAGE);
+        }
+        return accessInfo;
+    }
+
     /**
      * 内部方法：获取文件标签（不做权限检查）
      */
@@ -955,9 +1524,26 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
     }
 
     /**
-     * 记录文件访问日志
+     * 批量变更后更新存储统计
+     * 实际影响行数与预查询不一致（并发修改）时无法确定增量，改为从源表重建
      */
-    private void logFileAccess(Long fileId, Long userId, String accessType) {
+    private void applyStatsChange(Long userId, List<FileRecord> fileRecords, int affectedCount,
+                                  BiConsumer<Long, List<FileRecord>> statsUpdater) {
+        if (affectedCount == fileRecords.size()) {
+            statsUpdater.accept(userId, fileRecords);
+        } else {
+            userStorageStatsService.rebuild(userId);
+        }
+    }
+
+    /**
+     * 记录文件访问日志（异步批量写入，同时累加文件所有者的访问统计）
+     */
+    private void logFileAccess(FileRecord fileRecord, Long userId, String accessType) {
+        logFileAccess(fileRecord.getId(), fileRecord.getUserId(), userId, accessType);
+    }
+
+    private void logFileAccess(Long fileId, Long ownerId, Long userId, String accessType) {
         try {
             FileAccessLog log = new FileAccessLog();
             log.setFileId(fileId);
@@ -966,7 +1552,7 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
             log.setIpAddress(HttpRequestUtil.extractClientIp());
             log.setUserAgent(HttpRequestUtil.extractUserAgent());
             log.setCreatedAt(LocalDateTime.now());
-            fileAccessLogService.save(log);
+            fileAccessLogService.record(log, ownerId);
         } catch (Exception e) {
             log.warn("记录访问日志失败", e);
         }
@@ -992,15 +1578,28 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
         responsePage.setCurrent(recordPage.getCurrent());
         responsePage.setSize(recordPage.getSize());
         responsePage.setTotal(recordPage.getTotal());
-        responsePage.setRecords(
-                recordPage.getRecords().stream()
-                        .map(this::buildFileInfoResponse)
-                        .toList()
-        );
+        responsePage.setRecords(buildFileInfoResponses(recordPage.getRecords()));
 
         return responsePage;
     }
 
+    @Override
+    public CursorPageResponse<FileInfoResponse> queryTrashByCursor(TrashCursorRequest request) {
+        Long userId = StpUtil.getLoginIdAsLong();
+
+        String sortBy = FileConstant.SORT_BY_CREATED_AT;
+        String sortOrder = FileConstant.SORT_ORDER_DESC;
+        FileCursor cursor = CursorUtil.decode(request.getCursor(), sortBy, sortOrder);
+
+        int limit = request.getSize();
+        List<FileRecord> records = baseMapper.selectTrashFilesAfter(userId, cursor, limit + 1);
+        Long total = Boolean.TRUE.equals(request.getWithTotal())
+                ? baseMapper.selectTrashStats(userId).getCount()
+                : null;
+
+        return buildCursorPage(records, limit, sortBy, sortOrder, total);
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public BatchOperationResponse batchRestoreFiles(BatchOperationRequest request) {
@@ -1023,6 +1622,16 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
                     userId,
                     DeleteStatusEnum.NOT_DELETED.getValue()
             );
+            applyStatsChange(userId, validFileRecords, updatedCount, userStorageStatsService::onFilesRestored);
+
+            // 删除期间缩略图任务会被跳过，恢复后重新提交仍处于处理中的文件
+            List<Long> processingFileIds = validFileRecords.stream()
+                    .filter(fileRecord -> FileStatusEnum.PROCESSING.name().equals(fileRecord.getStatus()))
+                    .map(FileRecord::getId)
+                    .toList();
+            if (!processingFileIds.isEmpty()) {
+                eventPublisher.publishEvent(new FileStoredEvent(this, processingFileIds));
+            }
         }
 
         int successCount = updatedCount;
@@ -1055,12 +1664,19 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
 
         // 收集合法的文件ID和对象名
         List<Long> validFileIds = filesToDelete.stream().map(FileRecord::getId).collect(Collectors.toList());
-        List<String> objectNames = filesToDelete.stream().map(FileRecord::getObjectName).collect(Collectors.toList());
+        List<String> objectNames = filesToDelete.stream().map(FileRecord::getObjectName)
+                .collect(Collectors.toCollection(ArrayList::new));
+        filesToDelete.forEach(file -> objectNames.addAll(thumbnailService.getThumbnailObjectNames(file.getObjectName())));
 
-        // 1. 从 MinIO 批量删除文件（失败不影响数据库操作）
+        // 1. 从 MinIO 批量删除文件（有界并发，失败不影响数据库操作）
         try {
-            minioService.deleteFiles(objectNames);
-            log.info("批量删除 MinIO 文件成功: count={}", objectNames.size());
+            Collection<String> failed = asyncMinioService.deleteFiles(objectNames).join();
+            if (failed.isEmpty()) {
+                log.info("批量删除 MinIO 文件成功: count={}", objectNames.size());
+            } else {
+                log.warn("批量删除 MinIO 文件部分失败（继续删除数据库记录）: count={}, failed={}",
+                        objectNames.size(), failed);
+            }
         } catch (Exception e) {
             log.warn("批量删除 MinIO 文件失败（继续删除数据库记录）: error={}", e.getMessage());
         }
@@ -1082,6 +1698,7 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
 
         // 4. 批量物理删除文件记录
         int deletedCount = baseMapper.permanentDeleteBatch(validFileIds, userId);
+        applyStatsChange(userId, filesToDelete, deletedCount, userStorageStatsService::onFilesPurged);
 
         // 5. 批量减少标签使用计数（按实际出现次数）
         if (!tagCountMap.isEmpty()) {
@@ -1131,16 +1748,12 @@ public class FileServiceImpl extends ServiceImpl<FileRecordMapper, FileRecord> i
 
         log.info("查询回收站统计: userId={}", userId);
 
-        TrashStatsResponse stats = baseMapper.selectTrashStats(userId);
+        UserStorageStats stats = userStorageStatsService.getStats(userId);
 
-        if (stats == null) {
-            return TrashStatsResponse.builder()
-                    .count(0L)
-                    .totalSize(0L)
-                    .build();
-        }
-
-        return stats;
+        return TrashStatsResponse.builder()
+                .count(stats.getTrashCount())
+                .totalSize(stats.getTrashSize())
+                .build();
     }
 
 }
@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.tech.ai.deepimage.entity.FileTag;
 import org.tech.ai.deepimage.entity.Tag;
 import org.tech.ai.deepimage.mapper.FileTagMapper;
+import org.tech.ai.deepimage.model.dto.FileTagDetail;
 import org.tech.ai.deepimage.model.dto.response.TagResponse;
 import org.tech.ai.deepimage.service.FileTagService;
 import org.tech.ai.deepimage.service.TagService;
@@ -123,6 +124,17 @@ public class FileTagServiceImpl extends ServiceImpl<FileTagMapper, FileTag> impl
                 .collect(Collectors.toList());
     }
     
+    @Override
+    public Map<Long, List<TagResponse>> getFileTagsResponseMap(Collection<Long> fileIds) {
+        if (CollectionUtils.isEmpty(fileIds)) {
+            return Map.of();
+        }
+
+        return baseMapper.selectTagDetailsByFileIds(fileIds).stream()
+                .collect(Collectors.groupingBy(FileTagDetail::getFileId,
+                        Collectors.mapping(FileTagDetail::toTagResponse, Collectors.toList())));
+    }
+    
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Set<Long> deleteAllByFileId(Long fileId) {
@@ -1,10 +1,16 @@
 package org.tech.ai.deepimage.service.impl;
 
-import cn.hutool.core.io.IoUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.tech.ai.deepimage.config.ImageDownloadProperties;
 import org.tech.ai.deepimage.config.MinioProperties;
@@ -12,40 +18,104 @@ import org.tech.ai.deepimage.constant.ImageDownloadConstant;
 import org.tech.ai.deepimage.entity.FileRecord;
 import org.tech.ai.deepimage.enums.FileStatusEnum;
 import org.tech.ai.deepimage.enums.FileVisibilityEnum;
+import org.tech.ai.deepimage.enums.ImageDownloadStatusEnum;
+import org.tech.ai.deepimage.event.FileStoredEvent;
 import org.tech.ai.deepimage.exception.BusinessException;
 import org.tech.ai.deepimage.model.dto.ImageInfo;
 import org.tech.ai.deepimage.model.dto.response.DownloadResult;
+import org.tech.ai.deepimage.service.AsyncMinioService;
 import org.tech.ai.deepimage.service.FileRecordService;
 import org.tech.ai.deepimage.service.FileTagService;
+import org.tech.ai.deepimage.service.ImageDownloadListener;
 import org.tech.ai.deepimage.service.ImageDownloadService;
-import org.tech.ai.deepimage.service.MinioService;
+import org.tech.ai.deepimage.service.ThumbnailService;
+import org.tech.ai.deepimage.service.UserStorageStatsService;
 import org.tech.ai.deepimage.util.FileUtil;
 import org.tech.ai.deepimage.util.HashUtil;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * 图片下载服务实现类
+ * 图片下载在有界线程池中并发执行，并按图片源主机限制并发连接数（派发前获取许可，许可不足时在主机通道内排队，
+ * 不占用下载线程）；下载完成后通过 MinioAsyncClient 异步上传，上传期间不占用下载线程；
+ * 只有最终的批量落库在事务内完成，下载期间不占用数据库连接
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ImageDownloadServiceImpl implements ImageDownloadService {
 
-    private final MinioService minioService;
+    private final AsyncMinioService asyncMinioService;
     private final FileRecordService fileRecordService;
     private final FileTagService fileTagService;
     private final MinioProperties minioProperties;
     private final ImageDownloadProperties downloadProperties;
+    private final ThumbnailService thumbnailService;
+    private final UserStorageStatsService userStorageStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 下载线程池（全局共享，线程数即全局并发上限）
+     */
+    private ExecutorService downloadExecutor;
+
+    /**
+     * 按主机划分的并发通道（长时间未访问的主机自动移除）
+     */
+    private Cache<String, HostLane> hostLanes;
+
+    /**
+     * 嵌套事务模板（保存点），单个文件的标签设置失败时只回滚到保存点
+     */
+    private TransactionTemplate savepointTemplate;
+
+    @PostConstruct
+    public void init() {
+        downloadExecutor = Executors.newFixedThreadPool(downloadProperties.getMaxConcurrency(),
+                new CustomizableThreadFactory("image-download-"));
+        hostLanes = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(ImageDownloadConstant.HOST_LANE_IDLE_MINUTES))
+                .build();
+        savepointTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        savepointTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        downloadExecutor.shutdown();
+        if (!downloadExecutor.awaitTermination(downloadProperties.getTimeout(), TimeUnit.MILLISECONDS)) {
+            downloadExecutor.shutdownNow();
+        }
+    }
 
     @Override
-    @Transactional
     public DownloadResult downloadImages(List<ImageInfo> images, Long userId, String keyword, List<Long> tagIds) {
+        return downloadImages(images, userId, keyword, tagIds, (image, status, fileId, errorMessage) -> { });
+    }
+
+    @Override
+    public DownloadResult downloadImages(List<ImageInfo> images, Long userId, String keyword, List<Long> tagIds,
+                                         ImageDownloadListener listener) {
         long startTime = System.currentTimeMillis();
 
         log.info("开始批量下载图片，用户：{}，关键词：{}，图片数量：{}", userId, keyword, images.size());
@@ -53,121 +123,61 @@ public class ImageDownloadServiceImpl implements ImageDownloadService {
         DownloadResult.DownloadResultBuilder resultBuilder = DownloadResult.builder()
                 .totalCount(images.size());
 
-        // 批量操作：收集所有成功下载的文件记录
+        // 第一步：并发下载图片并异步上传到 MinIO，耗时约等于最慢的单张图片
+        List<CompletableFuture<DownloadedImage>> futures = images.stream()
+                .map(imageInfo -> fetchImage(imageInfo)
+                        .thenApply(imageData -> prepareImage(imageInfo, imageData, userId, keyword))
+                        .thenCompose(this::uploadImage)
+                        .whenComplete((downloaded, e) -> notifyListener(listener, imageInfo, downloaded, e)))
+                .collect(Collectors.toList());
+
+        // 按原顺序收集结果
         List<FileRecord> fileRecordsToSave = new ArrayList<>();
+        List<ImageInfo> imagesToSave = new ArrayList<>();
+        List<Long> dedupedFileIds = new ArrayList<>();
         List<DownloadResult.FailedImageInfo> failedImages = new ArrayList<>();
-
-        // 第一步：批量下载图片并准备文件记录
-        for (ImageInfo imageInfo : images) {
+        for (int i = 0; i < images.size(); i++) {
+            ImageInfo imageInfo = images.get(i);
             try {
-                log.debug("开始下载图片：{}", imageInfo.getUrl());
-
-                // 1. 下载图片数据
-                URL url = new URL(imageInfo.getUrl());
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setRequestMethod("GET");
-                connection.setConnectTimeout(downloadProperties.getTimeout());
-                connection.setReadTimeout(downloadProperties.getTimeout());
-                connection.setRequestProperty(ImageDownloadConstant.HEADER_USER_AGENT, downloadProperties.getUserAgent());
-                connection.setRequestProperty(ImageDownloadConstant.HEADER_ACCEPT, ImageDownloadConstant.ACCEPT_IMAGE);
-
-                int responseCode = connection.getResponseCode();
-                BusinessException.assertTrue(
-                        responseCode == HttpURLConnection.HTTP_OK,
-                        String.format("HTTP状态异常：%d", responseCode)
-                );
-
-                String contentType = connection.getContentType();
-                BusinessException.assertTrue(
-                        FileUtil.isImageType(contentType),
-                        String.format("不是图片类型：%s", contentType)
-                );
-
-                int contentLength = connection.getContentLength();
-                BusinessException.throwIf(
-                        contentLength > downloadProperties.getMaxFileSize(),
-                        String.format("文件过大：%.2fMB", contentLength / 1024.0 / 1024.0)
-                );
-
-                byte[] imageData;
-                try (InputStream inputStream = connection.getInputStream()) {
-                    imageData = IoUtil.readBytes(inputStream);
+                DownloadedImage downloaded = futures.get(i).join();
+                if (downloaded.deduped()) {
+                    dedupedFileIds.add(downloaded.fileRecord().getId());
+                } else {
+                    fileRecordsToSave.add(downloaded.fileRecord());
+                    imagesToSave.add(imageInfo);
                 }
-
-                // 断言图片数据不为null且有内容
-                BusinessException.assertNotNull(imageData, "图片数据为空");
-                BusinessException.throwIf(imageData.length == 0, "图片数据长度为0");
-
-                // 2. 生成对象名（遵循项目规范：{userId}/{businessType}/{date}/{uuid}.{extension}）
-                String extension = StringUtils.hasText(imageInfo.getExtension())
-                        ? imageInfo.getExtension()
-                        : downloadProperties.getDefaultExtension();
-
-                String objectName = FileUtil.generateObjectName(
-                        userId,
-                        downloadProperties.getBusinessType()+"/search/"+keyword,
-                        extension
-                );
-
-                // 3. 上传到 MinIO
-                String mimeType = FileUtil.getMimeType(extension);
-                String fileUrl = minioService.uploadFile(new ByteArrayInputStream(imageData), objectName, mimeType);
-
-                // 4. 创建文件记录
-                FileRecord fileRecord = new FileRecord();
-                fileRecord.setUserId(userId);
-                fileRecord.setOriginalFilename(imageInfo.getTitle() != null ? imageInfo.getTitle() : "search_image");
-                fileRecord.setObjectName(objectName);
-                fileRecord.setFileSize((long) imageData.length);
-                fileRecord.setContentType(mimeType);
-                fileRecord.setStatus(FileStatusEnum.COMPLETED.name());
-                fileRecord.setVisibility(FileVisibilityEnum.PRIVATE.name());
-                fileRecord.setBusinessType(downloadProperties.getBusinessType());
-                fileRecord.setFileExtension(extension);
-                fileRecord.setBucketName(minioProperties.getBucket());
-                fileRecord.setFileUrl(fileUrl);
-
-                // 计算文件哈希
-                String fileHash = HashUtil.sha256(imageData);
-                fileRecord.setFileHash(fileHash);
-
-                // 将文件记录添加到批量保存列表（暂不保存到数据库）
-                fileRecordsToSave.add(fileRecord);
                 log.debug("图片下载成功，待保存：{}", imageInfo.getUrl());
-
-            } catch (Exception e) {
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
                 failedImages.add(DownloadResult.FailedImageInfo.builder()
                         .url(imageInfo.getUrl())
-                        .errorMessage(e.getMessage())
+                        .errorMessage(cause.getMessage())
                         .build());
-                log.error("图片下载异常：{}，错误：{}", imageInfo.getUrl(), e.getMessage(), e);
+                log.error("图片下载异常：{}，错误：{}", imageInfo.getUrl(), cause.getMessage(), cause);
             }
         }
 
-        // 第二步：批量保存文件记录到数据库（一次性操作）
-        List<Long> successFileIds = new ArrayList<>();
+        // 第二步：批量保存文件记录到数据库（仅此处开启事务）
+        List<Long> successFileIds = new ArrayList<>(dedupedFileIds);
         if (!fileRecordsToSave.isEmpty()) {
             log.info("批量保存文件记录，数量：{}", fileRecordsToSave.size());
-            boolean savedSuccess = fileRecordService.saveBatch(fileRecordsToSave);
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveFileRecords(fileRecordsToSave, userId, tagIds));
 
-            if (savedSuccess) {
                 // 收集成功保存的文件ID
                 fileRecordsToSave.forEach(record -> successFileIds.add(record.getId()));
-                log.info("文件记录批量保存成功：{} 条", successFileIds.size());
-                
-                // 第三步：如果提供了标签，批量设置标签
-                if (tagIds != null && !tagIds.isEmpty()) {
-                    log.info("批量设置标签，文件数：{}，标签数：{}", successFileIds.size(), tagIds.size());
-                    for (Long fileId : successFileIds) {
-                        try {
-                            fileTagService.batchSetFileTags(fileId, userId, tagIds);
-                        } catch (Exception e) {
-                            log.error("设置文件标签失败，fileId: {}，错误：{}", fileId, e.getMessage(), e);
-                        }
-                    }
-                }
-            } else {
-                log.error("文件记录批量保存失败");
+                log.info("文件记录批量保存成功：{} 条", fileRecordsToSave.size());
+            } catch (RuntimeException e) {
+                log.error("文件记录批量保存失败：{}", e.getMessage(), e);
+                imagesToSave.forEach(imageInfo -> {
+                    failedImages.add(DownloadResult.FailedImageInfo.builder()
+                            .url(imageInfo.getUrl())
+                            .errorMessage(e.getMessage())
+                            .build());
+                    // 上传完成时已上报 DOWNLOADED，这里更正为 FAILED
+                    notifyListener(listener, imageInfo, null, e);
+                });
+                discardUploadedObjects(fileRecordsToSave);
             }
         }
 
@@ -187,6 +197,7 @@ public class ImageDownloadServiceImpl implements ImageDownloadService {
         DownloadResult result = resultBuilder
                 .status(status)
                 .successCount(successFileIds.size())
+                .dedupedCount(dedupedFileIds.size())
                 .failedCount(failedImages.size())
                 .totalTimeSeconds(totalTimeSeconds)
                 .downloadedFileIds(successFileIds)
@@ -198,4 +209,301 @@ public class ImageDownloadServiceImpl implements ImageDownloadService {
 
         return result;
     }
+
+    // ========== 私有辅助方法 ==========
+
+    /**
+     * 单张图片的处理结果
+     *
+     * @param fileRecord 待保存的新文件记录，或去重命中的已有文件记录
+     * @param deduped    是否去重命中
+     * @param imageData  待上传的图片数据（去重命中或已上传时为 null）
+     */
+    private record DownloadedImage(FileRecord fileRecord, boolean deduped, byte[] imageData) {
+    }
+
+    /**
+     * 下载单张图片：经所属主机的并发通道派发到下载线程池
+     */
+    private CompletableFuture<byte[]> fetchImage(ImageInfo imageInfo) {
+        log.debug("开始下载图片：{}", imageInfo.getUrl());
+        URL url;
+        try {
+            url = new URL(imageInfo.getUrl());
+        } catch (MalformedURLException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return hostLanes.get(url.getHost(), host -> new HostLane()).submit(url);
+    }
+
+    /**
+     * 处理已下载的图片（在下载线程中执行），新图片的上传由 {@link #uploadImage} 异步完成
+     * 当前用户已有相同内容的文件时直接复用，不再重复上传
+     */
+    private DownloadedImage prepareImage(ImageInfo imageInfo, byte[] imageData, Long userId, String keyword) {
+        // 1. 计算文件哈希并去重
+        String fileHash = HashUtil.sha256(imageData);
+        FileRecord existingFile = fileRecordService.lambdaQuery()
+                .eq(FileRecord::getUserId, userId)
+                .eq(FileRecord::getFileHash, fileHash)
+                .last("LIMIT 1")
+                .one();
+        if (existingFile != null) {
+            log.debug("图片已存在，复用现有文件：{}，fileId：{}", imageInfo.getUrl(), existingFile.getId());
+            return new DownloadedImage(existingFile, true, null);
+        }
+
+        // 2. 生成对象名（遵循项目规范：{userId}/{businessType}/{date}/{uuid}.{extension}）
+        String extension = StringUtils.hasText(imageInfo.getExtension())
+                ? imageInfo.getExtension()
+                : downloadProperties.getDefaultExtension();
+
+        String objectName = FileUtil.generateObjectName(
+                userId,
+                downloadProperties.getBusinessType()+"/search/"+keyword,
+                extension
+        );
+
+        // 3. 创建文件记录（文件URL在上传完成后回填）
+        String mimeType = FileUtil.getMimeType(extension);
+        FileRecord fileRecord = new FileRecord();
+        fileRecord.setUserId(userId);
+        fileRecord.setOriginalFilename(imageInfo.getTitle() != null ? imageInfo.getTitle() : "search_image");
+        fileRecord.setObjectName(objectName);
+        fileRecord.setFileSize((long) imageData.length);
+        fileRecord.setContentType(mimeType);
+        fileRecord.setStatus(thumbnailService.supports(mimeType)
+                ? FileStatusEnum.PROCESSING.name() : FileStatusEnum.COMPLETED.name());
+        fileRecord.setVisibility(FileVisibilityEnum.PRIVATE.name());
+        fileRecord.setBusinessType(downloadProperties.getBusinessType());
+        fileRecord.setFileExtension(extension);
+        fileRecord.setBucketName(minioProperties.getBucket());
+
+        fileRecord.setFileHash(fileHash);
+        return new DownloadedImage(fileRecord, false, imageData);
+    }
+
+    /**
+     * 异步上传到 MinIO（上传并发由 MinIO OkHttp Dispatcher 限制），去重命中的图片直接返回
+     */
+    private CompletableFuture<DownloadedImage> uploadImage(DownloadedImage downloaded) {
+        if (downloaded.deduped()) {
+            return CompletableFuture.completedFuture(downloaded);
+        }
+        FileRecord fileRecord = downloaded.fileRecord();
+        byte[] imageData = downloaded.imageData();
+        return asyncMinioService.uploadFile(new ByteArrayInputStream(imageData), imageData.length,
+                        fileRecord.getObjectName(), fileRecord.getContentType())
+                .thenApply(fileUrl -> {
+                    fileRecord.setFileUrl(fileUrl);
+                    return new DownloadedImage(fileRecord, false, null);
+                });
+    }
+
+    /**
+     * 回调进度监听器（监听器异常不影响下载流程）
+     */
+    private void notifyListener(ImageDownloadListener listener, ImageInfo imageInfo,
+                                DownloadedImage downloaded, Throwable error) {
+        try {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                listener.onImageFinished(imageInfo, ImageDownloadStatusEnum.FAILED, null, cause.getMessage());
+            } else if (downloaded.deduped()) {
+                listener.onImageFinished(imageInfo, ImageDownloadStatusEnum.DEDUPED,
+                        downloaded.fileRecord().getId(), null);
+            } else {
+                listener.onImageFinished(imageInfo, ImageDownloadStatusEnum.DOWNLOADED, null, null);
+            }
+        } catch (Exception e) {
+            log.warn("下载进度回调失败：{}", imageInfo.getUrl(), e);
+        }
+    }
+
+    /**
+     * 下载图片数据
+     */
+    private byte[] fetch(URL url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setRequestMethod("GET");
+            connection.setConnectTimeout(downloadProperties.getTimeout());
+            connection.setReadTimeout(downloadProperties.getTimeout());
+            connection.setRequestProperty(ImageDownloadConstant.HEADER_USER_AGENT, downloadProperties.getUserAgent());
+            connection.setRequestProperty(ImageDownloadConstant.HEADER_ACCEPT, ImageDownloadConstant.ACCEPT_IMAGE);
+
+            int responseCode = connection.getResponseCode();
+            BusinessException.assertTrue(
+                    responseCode == HttpURLConnection.HTTP_OK,
+                    String.format("HTTP状态异常：%d", responseCode)
+            );
+
+            String contentType = connection.getContentType();
+            BusinessException.assertTrue(
+                    FileUtil.isImageType(contentType),
+                    String.format("不是图片类型：%s", contentType)
+            );
+
+            long contentLength = connection.getContentLengthLong();
+            BusinessException.throwIf(
+                    contentLength > downloadProperties.getMaxFileSize(),
+                    String.format("文件过大：%.2fMB", contentLength / 1024.0 / 1024.0)
+            );
+
+            byte[] imageData;
+            try (InputStream inputStream = connection.getInputStream()) {
+                imageData = readLimited(inputStream, downloadProperties.getMaxFileSize());
+            }
+
+            // 断言图片数据有内容
+            BusinessException.throwIf(imageData.length == 0, "图片数据长度为0");
+            return imageData;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * 读取输入流，超过上限立即中止（未声明 Content-Length 的响应同样受大小限制）
+     */
+    private byte[] readLimited(InputStream inputStream, long maxBytes) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int bytesRead;
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+            total += bytesRead;
+            BusinessException.throwIf(total > maxBytes,
+                    String.format("文件过大：超过%.2fMB", maxBytes / 1024.0 / 1024.0));
+            outputStream.write(buffer, 0, bytesRead);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * 批量保存文件记录并设置标签（事务内执行，失败时整批回滚）
+     */
+    private void saveFileRecords(List<FileRecord> fileRecords, Long userId, List<Long> tagIds) {
+        BusinessException.throwIf(!fileRecordService.saveBatch(fileRecords), "文件记录批量保存失败");
+        userStorageStatsService.onFilesAdded(userId, fileRecords);
+
+        // 如果提供了标签，批量设置标签
+        // PostgreSQL 中语句失败会使整个事务进入中止状态，单个文件的标签在保存点内设置，失败只回滚到保存点
+        if (tagIds != null && !tagIds.isEmpty()) {
+            log.info("批量设置标签，文件数：{}，标签数：{}", fileRecords.size(), tagIds.size());
+            for (FileRecord record : fileRecords) {
+                try {
+                    savepointTemplate.executeWithoutResult(
+                            status -> fileTagService.batchSetFileTags(record.getId(), userId, tagIds));
+                } catch (Exception e) {
+                    log.error("设置文件标签失败，fileId: {}，错误：{}", record.getId(), e.getMessage(), e);
+                }
+            }
+        }
+
+        // 事务提交后异步生成缩略图
+        List<Long> processingFileIds = fileRecords.stream()
+                .filter(record -> FileStatusEnum.PROCESSING.name().equals(record.getStatus()))
+                .map(FileRecord::getId)
+                .collect(Collectors.toList());
+        if (!processingFileIds.isEmpty()) {
+            eventPublisher.publishEvent(new FileStoredEvent(this, processingFileIds));
+        }
+    }
+
+    /**
+     * 落库失败时删除已上传的对象（异步执行，失败只记录日志）
+     */
+    private void discardUploadedObjects(List<FileRecord> fileRecords) {
+        List<String> objectNames = fileRecords.stream()
+                .map(FileRecord::getObjectName)
+                .collect(Collectors.toList());
+        asyncMinioService.deleteFiles(objectNames).whenComplete((failedObjectNames, e) -> {
+            if (e != null) {
+                log.warn("清理未落库的图片对象失败：{}", objectNames, e);
+            } else if (!failedObjectNames.isEmpty()) {
+                log.warn("部分未落库的图片对象清理失败：{}", failedObjectNames);
+            }
+        });
+    }
+
+    /**
+     * 单个主机的并发通道：派发前获取许可，许可不足时任务在通道内排队，
+     * 由释放许可的下载派发下一个，下载线程不会因等待某个慢主机而阻塞
+     */
+    private final class HostLane {
+
+        private final Queue<PendingFetch> waiting = new ArrayDeque<>();
+        private int running;
+
+        /**
+         * 提交下载，许可不足时排队
+         */
+        CompletableFuture<byte[]> submit(URL url) {
+            PendingFetch pending = new PendingFetch(url, new CompletableFuture<>());
+            synchronized (this) {
+                if (running >= downloadProperties.getMaxConcurrencyPerHost()) {
+                    waiting.add(pending);
+                    return pending.future();
+                }
+                running++;
+            }
+            dispatch(pending);
+            return pending.future();
+        }
+
+        /**
+         * 派发到下载线程池（持有许可）；线程池已关闭时以失败结束，并把许可交给下一个
+         */
+        private void dispatch(PendingFetch pending) {
+            while (pending != null) {
+                PendingFetch current = pending;
+                try {
+                    downloadExecutor.execute(() -> run(current));
+                    return;
+                } catch (RejectedExecutionException e) {
+                    current.future().completeExceptionally(e);
+                    pending = next();
+                }
+            }
+        }
+
+        /**
+         * 下载完成后先交出许可，再回调后续处理（哈希、去重查询不占用主机许可）
+         */
+        private void run(PendingFetch pending) {
+            byte[] imageData = null;
+            Throwable error = null;
+            try {
+                imageData = fetch(pending.url());
+            } catch (Throwable e) {
+                error = e;
+            } finally {
+                dispatch(next());
+            }
+            if (error != null) {
+                pending.future().completeExceptionally(error);
+            } else {
+                pending.future().complete(imageData);
+            }
+        }
+
+        /**
+         * 取出下一个排队的下载并转交许可，没有排队时归还许可
+         */
+        private synchronized PendingFetch next() {
+            PendingFetch next = waiting.poll();
+            if (next == null) {
+                running--;
+            }
+            return next;
+        }
+    }
+
+    /**
+     * 排队中的下载
+     */
+    private record PendingFetch(URL url, CompletableFuture<byte[]> future) {
+    }
 }
@@ -1,28 +1,52 @@
 package org.tech.ai.deepimage.service.impl;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
+import org.tech.ai.deepimage.config.ImageSearchProperties;
+import org.tech.ai.deepimage.constant.ResponseConstant;
+import org.tech.ai.deepimage.exception.BusinessException;
 import org.tech.ai.deepimage.model.dto.ImageInfo;
 import org.tech.ai.deepimage.service.ImageSearchService;
+import org.tech.ai.deepimage.service.ImageSearchStreamListener;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * 图片搜索服务实现类
+ * 搜索结果按（关键词, 数量）缓存，同一时刻相同的搜索只发起一次外部请求
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class ImageSearchServiceImpl implements ImageSearchService {
 
-    private static final String BING_SEARCH_URL = "https://cn.bing.com/images/async";
     private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36";
     private static final int REQUEST_TIMEOUT = 30000; // 30秒超时
     
@@ -30,18 +54,170 @@ public class ImageSearchServiceImpl implements ImageSearchService {
     private static final int MAX_RETRY_ATTEMPTS = 3;
     private static final long BASE_RETRY_DELAY_MS = 1000; // 基础重试延迟1秒
 
+    // 流式搜索在预期页数之外最多多翻的页数（部分页面可能全是重复结果）
+    private static final int MAX_EXTRA_PAGES = 2;
+
+    private final ImageSearchProperties searchProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 搜索结果缓存（值为进行中或已完成的搜索，失败的搜索会自动移出缓存）
+     */
+    private AsyncCache<SearchKey, List<ImageInfo>> searchCache;
+
+    /**
+     * 流式搜索线程池（有界队列，满时拒绝）
+     */
+    private ThreadPoolExecutor streamExecutor;
+
+    @PostConstruct
+    public void init() {
+        streamExecutor = new ThreadPoolExecutor(
+                searchProperties.getStreamMaxConcurrency(),
+                searchProperties.getStreamMaxConcurrency(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(searchProperties.getStreamQueueCapacity()),
+                new CustomizableThreadFactory("image-search-stream-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        searchCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(searchProperties.getCacheTtlSeconds()))
+                .maximumSize(searchProperties.getCacheMaxSize())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, searchCache, "imageSearch");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamExecutor.shutdownNow();
+    }
 
     @Override
     public List<ImageInfo> searchImages(String keyword, int count) {
+        SearchKey key = new SearchKey(keyword.trim().toLowerCase(Locale.ROOT), count);
+
+        // 未命中时由当前线程执行搜索，并发的相同请求等待同一个结果
+        CompletableFuture<List<ImageInfo>> loading = new CompletableFuture<>();
+        CompletableFuture<List<ImageInfo>> result = searchCache.get(key, (k, executor) -> loading);
+        if (result == loading) {
+            try {
+                List<ImageInfo> images = fetchImages(keyword, count);
+                loading.complete(images);
+                if (images.isEmpty()) {
+                    // 空结果多为被限流或页面结构变化，不缓存
+                    searchCache.synchronous().invalidate(key);
+                }
+            } catch (Throwable e) {
+                // 任何异常都要结束 future，否则等待同一搜索的请求会一直阻塞，失败的条目也不会移出缓存
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            log.info("命中图片搜索缓存，关键词：{}，数量：{}", keyword, count);
+        }
+
+        try {
+            return new ArrayList<>(result.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @Override
+    public void streamImages(String keyword, int maxCount, ImageSearchStreamListener listener) {
+        try {
+            streamExecutor.execute(() -> {
+                try {
+                    listener.onComplete(walkPages(keyword, maxCount, listener));
+                } catch (Exception e) {
+                    log.error("流式图片搜索异常，关键词：{}，错误：{}", keyword, e.getMessage(), e);
+                    listener.onError(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("流式图片搜索队列已满，拒绝请求，关键词：{}", keyword);
+            throw BusinessException.of(ResponseConstant.TOO_MANY_REQUESTS, ResponseConstant.TOO_MANY_REQUESTS_MESSAGE);
+        }
+    }
+
+    /**
+     * 按 first/count 偏移逐页翻取结果，跨页按URL去重
+     * 某页没有新图片时视为已到末页
+     *
+     * @return 共返回的图片数量
+     */
+    private int walkPages(String keyword, int maxCount, ImageSearchStreamListener listener) throws InterruptedException {
+        log.info("开始流式搜索图片，关键词：{}，数量：{}", keyword, maxCount);
+
+        int pageSize = searchProperties.getStreamPageSize();
+        int maxPages = maxCount / pageSize + MAX_EXTRA_PAGES;
+        Set<String> seenUrls = new HashSet<>();
+        int total = 0;
+        int first = 1;
+
+        for (int page = 1; page <= maxPages && total < maxCount; page++) {
+            if (page > 1) {
+                Thread.sleep(searchProperties.getStreamPageIntervalMillis());
+            }
+
+            String pageUrl = buildSearchUrl(keyword) + "&first=" + first + "&count=" + pageSize;
+            List<ImageInfo> pageImages = fetchPage(pageUrl, Integer.MAX_VALUE);
+            if (pageImages.isEmpty()) {
+                break;
+            }
+            first += pageImages.size();
+
+            int remaining = maxCount - total;
+            List<ImageInfo> batch = pageImages.stream()
+                    .filter(image -> seenUrls.add(image.getUrl()))
+                    .limit(remaining)
+                    .collect(Collectors.toList());
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            total += batch.size();
+            listener.onBatch(page, batch);
+            log.debug("流式搜索第{}页完成，新增：{}，累计：{}", page, batch.size(), total);
+        }
+
+        log.info("流式搜索完成，关键词：{}，实际获取数量：{}/{}", keyword, total, maxCount);
+        return total;
+    }
+
+    /**
+     * 抓取并解析搜索结果首页
+     */
+    private List<ImageInfo> fetchImages(String keyword, int count) {
+        log.info("开始搜索图片，关键词：{}，数量：{}", keyword, count);
+        List<ImageInfo> imageList = fetchPage(buildSearchUrl(keyword), count);
+        log.info("图片搜索完成，关键词：{}，实际获取数量：{}/{}", keyword, imageList.size(), count);
+        return imageList;
+    }
+
+    /**
+     * 构建搜索URL
+     */
+    private String buildSearchUrl(String keyword) {
+        String encodedKeyword = URLEncoder.encode(keyword, StandardCharsets.UTF_8);
+        return searchProperties.getBaseUrl() + "?q=" + encodedKeyword + "&mmasync=1";
+    }
+
+    /**
+     * 抓取并解析一页搜索结果
+     *
+     * @param searchUrl 搜索URL
+     * @param limit     最多解析的图片数量
+     * @return 图片信息列表
+     */
+    private List<ImageInfo> fetchPage(String searchUrl, int limit) {
         List<ImageInfo> imageList = new ArrayList<>();
         
         try {
-            log.info("开始搜索图片，关键词：{}，数量：{}", keyword, count);
-            
-            // 构建搜索URL
-            String encodedKeyword = URLEncoder.encode(keyword, StandardCharsets.UTF_8);
-            String searchUrl = BING_SEARCH_URL + "?q=" + encodedKeyword + "&mmasync=1";
-            
             // 带重试的HTTP请求
             Document doc = executeWithRetry(() -> Jsoup.connect(searchUrl)
                     .userAgent(USER_AGENT)
@@ -55,7 +231,7 @@ public class ImageSearchServiceImpl implements ImageSearchService {
             
             // 解析图片信息
             for (Element img : imgElements) {
-                if (imageList.size() >= count) {
+                if (imageList.size() >= limit) {
                     break;
                 }
                 
@@ -70,16 +246,20 @@ public class ImageSearchServiceImpl implements ImageSearchService {
                 }
             }
             
-            log.info("图片搜索完成，关键词：{}，实际获取数量：{}/{}", keyword, imageList.size(), count);
-            
         } catch (Exception e) {
-            log.error("图片搜索异常，关键词：{}，错误：{}", keyword, e.getMessage(), e);
+            log.error("图片搜索异常，URL：{}，错误：{}", searchUrl, e.getMessage(), e);
             throw new RuntimeException("图片搜索失败: " + e.getMessage());
         }
         
         return imageList;
     }
 
+    /**
+     * 搜索缓存键
+     */
+    private record SearchKey(String keyword, int count) {
+    }
+
     @Override
     public String cleanImageUrl(String originalUrl) {
         if (!StringUtils.hasText(originalUrl)) {
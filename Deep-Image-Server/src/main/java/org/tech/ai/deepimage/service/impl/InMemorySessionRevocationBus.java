@@ -0,0 +1,27 @@
+package org.tech.ai.deepimage.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.tech.ai.deepimage.model.dto.SessionRevocationMessage;
+import org.tech.ai.deepimage.service.SessionRevocationBus;
+import org.tech.ai.deepimage.service.SessionService;
+
+/**
+ * 进程内会话失效广播，只清除本节点缓存，适用于单节点部署与测试
+ *
+ * @author zgq
+ * @since 2025-10-28
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "deepimage.session-cache", name = "revocation-bus", havingValue = "memory")
+public class InMemorySessionRevocationBus implements SessionRevocationBus {
+
+    private final SessionService sessionService;
+
+    @Override
+    public void publish(SessionRevocationMessage message) {
+        sessionService.applyRevocation(message);
+    }
+}
@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.tech.ai.deepimage.config.MinioProperties;
+import org.tech.ai.deepimage.constant.MinioConstant;
 import org.tech.ai.deepimage.exception.BusinessException;
 import org.tech.ai.deepimage.model.dto.response.FileObjectInfoResponse;
 import org.tech.ai.deepimage.service.MinioService;
@@ -17,6 +18,7 @@ import org.tech.ai.deepimage.service.MinioService;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -44,10 +46,11 @@ public class MinioServiceImpl implements MinioService {
     public String uploadFile(String bucketName, InputStream inputStream, String objectName, String contentType) {
         try {
             // 构建上传参数
+            // 大小未知（available() 只是可无阻塞读取的字节数，不是流的总长度），按固定分片大小分段上传
             PutObjectArgs args = PutObjectArgs.builder()
                     .bucket(bucketName)
                     .object(objectName)
-                    .stream(inputStream, inputStream.available(), -1)
+                    .stream(inputStream, -1, MinioConstant.DEFAULT_PART_SIZE)
                     .contentType(contentType != null ? contentType : "application/octet-stream")
                     .build();
 
@@ -63,6 +66,29 @@ public class MinioServiceImpl implements MinioService {
         }
     }
 
+    @Override
+    public String uploadFile(InputStream inputStream, long objectSize, String objectName, String contentType) {
+        String bucketName = minioProperties.getBucket();
+        try {
+            // 已知大小时由 SDK 自动计算分片大小，按分片读取，内存占用与文件大小无关
+            PutObjectArgs args = PutObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .stream(inputStream, objectSize, -1)
+                    .contentType(contentType != null ? contentType : "application/octet-stream")
+                    .build();
+
+            minioClient.putObject(args);
+
+            log.info("文件流式上传成功: bucket={}, object={}, size={}", bucketName, objectName, objectSize);
+            return getFileUrl(bucketName, objectName);
+
+        } catch (Exception e) {
+            log.error("文件流式上传失败: bucket={}, object={}", bucketName, objectName, e);
+            throw BusinessException.serverError("文件上传失败: " + e.getMessage());
+        }
+    }
+
     // ========== 文件下载 ==========
 
     @Override
@@ -88,6 +114,29 @@ public class MinioServiceImpl implements MinioService {
         }
     }
 
+    @Override
+    public InputStream downloadFile(String objectName, long offset, long length) {
+        String bucketName = minioProperties.getBucket();
+        try {
+            GetObjectArgs args = GetObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .offset(offset)
+                    .length(length)
+                    .build();
+
+            InputStream stream = minioClient.getObject(args);
+            log.info("文件区间下载成功: bucket={}, object={}, offset={}, length={}",
+                    bucketName, objectName, offset, length);
+            return stream;
+
+        } catch (Exception e) {
+            log.error("文件区间下载失败: bucket={}, object={}, offset={}, length={}",
+                    bucketName, objectName, offset, length, e);
+            throw BusinessException.notFound("文件不存在: " + objectName);
+        }
+    }
+
     // ========== 文件删除 ==========
 
     @Override
@@ -366,6 +415,52 @@ public class MinioServiceImpl implements MinioService {
         copyObject(bucket, sourceObject, bucket, targetObject);
     }
 
+    @Override
+    public String moveObject(String sourceObject, String targetObject) {
+        String bucket = minioProperties.getBucket();
+        copyObject(bucket, sourceObject, bucket, targetObject);
+        try {
+            deleteFile(bucket, sourceObject);
+        } catch (Exception e) {
+            // 目标对象已就绪，源对象残留不影响结果
+            log.warn("移动对象后删除源对象失败: bucket={}, object={}", bucket, sourceObject);
+        }
+        return getFileUrl(bucket, targetObject);
+    }
+
+    @Override
+    public String composeObject(List<String> sourceObjects, String targetObject, String contentType) {
+        String bucket = minioProperties.getBucket();
+        try {
+            List<ComposeSource> sources = sourceObjects.stream()
+                    .map(sourceObject -> ComposeSource.builder()
+                            .bucket(bucket)
+                            .object(sourceObject)
+                            .build())
+                    .collect(Collectors.toList());
+
+            ComposeObjectArgs args = ComposeObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(targetObject)
+                    .sources(sources)
+                    .headers(Map.of("Content-Type", contentType != null ? contentType : "application/octet-stream"))
+                    .build();
+
+            minioClient.composeObject(args);
+            log.info("合并对象成功: bucket={}, target={}, sources={}", bucket, targetObject, sourceObjects.size());
+            return getFileUrl(bucket, targetObject);
+
+        } catch (Exception e) {
+            log.error("合并对象失败: bucket={}, target={}", bucket, targetObject, e);
+            throw BusinessException.serverError("合并对象失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String getObjectUrl(String objectName) {
+        return getFileUrl(minioProperties.getBucket(), objectName);
+    }
+
     // ========== 私有工具方法 ==========
 
     /**
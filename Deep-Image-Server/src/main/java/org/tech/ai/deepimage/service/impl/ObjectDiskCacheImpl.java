@@ -0,0 +1,491 @@
+package org.tech.ai.deepimage.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.tech.ai.deepimage.config.DiskCacheProperties;
+import org.tech.ai.deepimage.service.ObjectDiskCache;
+import org.tech.ai.deepimage.util.HashUtil;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 本地磁盘对象缓存实现
+ * 索引使用 Caffeine（按字节加权，W-TinyLFU 兼顾访问频率与时间），淘汰时同步删除文件；
+ * 写入先落临时文件并校验 SHA-256，fsync 后原子重命名，进程崩溃只会留下临时文件（启动时清理）；
+ * sendfile 发送的是缓存文件的硬链接，容器打开文件前缓存文件被淘汰也不影响发送
+ *
+ * @author zgq
+ * @since 2025-10-30
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ObjectDiskCacheImpl implements ObjectDiskCache {
+
+    /**
+     * Tomcat sendfile 请求属性
+     */
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * 合法的文件哈希（SHA-256 十六进制），同时防止路径穿越
+     */
+    private static final Pattern FILE_HASH_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+
+    /**
+     * sendfile 硬链接的保留时间：容器在响应提交后立即打开文件，此后删除链接不影响发送
+     */
+    private static final long SENDFILE_LINK_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final DiskCacheProperties diskCacheProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * fileHash -> 文件大小（字节）
+     */
+    private Cache<String, Long> cache;
+
+    /**
+     * 正在写入的对象，同一对象只由一个请求回填
+     */
+    private final Set<String> fillingHashes = ConcurrentHashMap.newKeySet();
+
+    private Path objectsDir;
+    private Path tmpDir;
+    private Path sendfileDir;
+
+    private Counter bytesSavedCounter;
+    private Counter fillFailedCounter;
+
+    @PostConstruct
+    public void init() {
+        if (!diskCacheProperties.isEnabled()) {
+            log.info("本地磁盘缓存未启用");
+            return;
+        }
+
+        Path rootDir = Paths.get(diskCacheProperties.getDirectory()).toAbsolutePath().normalize();
+        objectsDir = rootDir.resolve("objects");
+        tmpDir = rootDir.resolve("tmp");
+        sendfileDir = rootDir.resolve("sendfile");
+        try {
+            Files.createDirectories(objectsDir);
+            Files.createDirectories(tmpDir);
+            Files.createDirectories(sendfileDir);
+        } catch (IOException e) {
+            throw new IllegalStateException("创建本地磁盘缓存目录失败: " + rootDir, e);
+        }
+
+        cache = Caffeine.newBuilder()
+                .maximumWeight(diskCacheProperties.getMaxBytes())
+                .weigher((String fileHash, Long size) -> (int) Math.min(size, Integer.MAX_VALUE))
+                // 淘汰监听器在淘汰时同步执行，避免异步删除误删同一哈希新写入的文件
+                .evictionListener((String fileHash, Long size, RemovalCause cause) ->
+                        deleteQuietly(objectPath(fileHash)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "objectDisk");
+        Gauge.builder("deepimage.disk_cache.size_bytes", cache,
+                        c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .description("本地磁盘缓存占用字节数")
+                .register(meterRegistry);
+        bytesSavedCounter = Counter.builder("deepimage.disk_cache.bytes_saved")
+                .description("命中本地缓存而未从 MinIO 读取的字节数")
+                .register(meterRegistry);
+        fillFailedCounter = Counter.builder("deepimage.disk_cache.fill_failed")
+                .description("写入本地缓存失败（读取中断、校验不通过或 IO 异常）的次数")
+                .register(meterRegistry);
+
+        cleanDir(tmpDir);
+        cleanDir(sendfileDir);
+        loadExistingObjects();
+        log.info("本地磁盘缓存已启用: directory={}, maxBytes={}, entries={}",
+                rootDir, diskCacheProperties.getMaxBytes(), cache.estimatedSize());
+    }
+
+    @Override
+    public Path lookup(String fileHash) {
+        if (cache == null || !isValidHash(fileHash)) {
+            return null;
+        }
+        if (cache.getIfPresent(fileHash) == null) {
+            return null;
+        }
+        Path cachedPath = objectPath(fileHash);
+        if (!Files.isRegularFile(cachedPath)) {
+            // 缓存文件被外部删除，移出索引后按未命中处理
+            discard(fileHash);
+            return null;
+        }
+        return cachedPath;
+    }
+
+    @Override
+    public boolean sendfile(Path cachedPath, long offset, long length) {
+        if (!diskCacheProperties.isSendfile()) {
+            return false;
+        }
+        ServletRequestAttributes attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        HttpServletRequest request = attrs != null ? attrs.getRequest() : null;
+        if (request == null || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            return false;
+        }
+
+        // 容器在响应提交后才按文件名打开文件，交给容器的是硬链接：期间缓存文件被淘汰删除也不影响发送
+        // 硬链接与缓存文件共享修改时间，创建时间记录在文件名中：{创建时间毫秒}.{哈希}.{随机串}
+        Path linkPath = sendfileDir.resolve(System.currentTimeMillis() + "." + cachedPath.getFileName() + "." + UUID.randomUUID());
+        try {
+            Files.createLink(linkPath, cachedPath);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.debug("创建 sendfile 硬链接失败，改为读取文件: path={}", cachedPath, e);
+            return false;
+        }
+
+        // 容器在响应提交后通过 FileChannel.transferTo 发送文件区间（end 不包含）
+        request.setAttribute(SENDFILE_FILENAME_ATTR, linkPath.toString());
+        request.setAttribute(SENDFILE_START_ATTR, offset);
+        request.setAttribute(SENDFILE_END_ATTR, offset + length);
+        bytesSavedCounter.increment(length);
+        return true;
+    }
+
+    @Override
+    public InputStream open(Path cachedPath, long offset, long length) {
+        try {
+            FileChannel channel = FileChannel.open(cachedPath, StandardOpenOption.READ);
+            InputStream inputStream = new RangeInputStream(Channels.newInputStream(channel.position(offset)), length);
+            bytesSavedCounter.increment(length);
+            return inputStream;
+        } catch (IOException e) {
+            log.warn("打开本地缓存文件失败，回源 MinIO: path={}", cachedPath, e);
+            discard(cachedPath.getFileName().toString());
+            return null;
+        }
+    }
+
+    /**
+     * 定期删除已交给容器的 sendfile 硬链接（容器已打开的文件不受影响）
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void cleanSendfileLinks() {
+        if (cache == null) {
+            return;
+        }
+        long expiredBefore = System.currentTimeMillis() - SENDFILE_LINK_TTL_MILLIS;
+        try (Stream<Path> links = Files.list(sendfileDir)) {
+            links.filter(link -> linkCreatedAt(link) < expiredBefore)
+                    .forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("清理 sendfile 硬链接失败: {}", sendfileDir, e);
+        }
+    }
+
+    @Override
+    public InputStream cacheOnRead(String fileHash, long fileSize, InputStream source) {
+        if (cache == null || !isValidHash(fileHash)
+                || fileSize > diskCacheProperties.getMaxObjectBytes()
+                || fileSize > diskCacheProperties.getMaxBytes()) {
+            return source;
+        }
+        if (!fillingHashes.add(fileHash)) {
+            return source;
+        }
+
+        Path tmpPath = tmpDir.resolve(fileHash + "." + UUID.randomUUID() + ".part");
+        try {
+            FileChannel channel = FileChannel.open(tmpPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            return new FillingInputStream(source, fileHash, fileSize, tmpPath, channel);
+        } catch (IOException e) {
+            log.warn("创建本地缓存临时文件失败: path={}", tmpPath, e);
+            fillingHashes.remove(fileHash);
+            fillFailedCounter.increment();
+            return source;
+        }
+    }
+
+    // ========== 私有方法 ==========
+
+    private boolean isValidHash(String fileHash) {
+        return fileHash != null && FILE_HASH_PATTERN.matcher(fileHash).matches();
+    }
+
+    /**
+     * 缓存文件路径：objects/{哈希前两位}/{哈希}，避免单目录文件过多
+     */
+    private Path objectPath(String fileHash) {
+        return objectsDir.resolve(fileHash.substring(0, 2)).resolve(fileHash);
+    }
+
+    /**
+     * 从 sendfile 硬链接文件名解析创建时间，无法解析时视为已过期
+     */
+    private long linkCreatedAt(Path link) {
+        String name = link.getFileName().toString();
+        int dot = name.indexOf('.');
+        try {
+            return Long.parseLong(dot > 0 ? name.substring(0, dot) : name);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 移出索引并删除缓存文件（显式失效不会触发淘汰监听器，需要在这里删除文件）
+     */
+    private void discard(String fileHash) {
+        cache.asMap().computeIfPresent(fileHash, (key, size) -> {
+            deleteQuietly(objectPath(key));
+            return null;
+        });
+    }
+
+    /**
+     * 清理上次进程遗留的临时文件（写入中途崩溃）和 sendfile 硬链接
+     */
+    private void cleanDir(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("清理本地缓存目录失败: {}", dir, e);
+        }
+    }
+
+    /**
+     * 启动时重建索引（按修改时间从旧到新加入，超出容量时由 Caffeine 淘汰）
+     */
+    private void loadExistingObjects() {
+        List<Path> cachedFiles;
+        try (Stream<Path> files = Files.walk(objectsDir, 2)) {
+            cachedFiles = files.filter(Files::isRegularFile)
+                    .filter(path -> isValidHash(path.getFileName().toString()))
+                    .sorted(Comparator.comparing(path -> path.toFile().lastModified()))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.warn("加载本地缓存目录失败: {}", objectsDir, e);
+            return;
+        }
+        for (Path path : cachedFiles) {
+            try {
+                cache.put(path.getFileName().toString(), Files.size(path));
+            } catch (IOException e) {
+                deleteQuietly(path);
+            }
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除本地缓存文件失败: {}", path, e);
+        }
+    }
+
+    /**
+     * 限制读取长度的输入流（区间读取）
+     */
+    private static final class RangeInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private RangeInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+    }
+
+    /**
+     * 回源时同步写入临时文件的输入流
+     * 读到流末尾且长度、哈希一致时 fsync 并原子重命名为缓存文件；提前关闭、跳读或写入异常时丢弃
+     */
+    private final class FillingInputStream extends FilterInputStream {
+
+        private final String fileHash;
+        private final long expectedSize;
+        private final Path tmpPath;
+        private final FileChannel channel;
+        private final MessageDigest digest = HashUtil.newSha256Digest();
+        private long written;
+        private boolean done;
+
+        private FillingInputStream(InputStream in, String fileHash, long expectedSize, Path tmpPath, FileChannel channel) {
+            super(in);
+            this.fileHash = fileHash;
+            this.expectedSize = expectedSize;
+            this.tmpPath = tmpPath;
+            this.channel = channel;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b == -1) {
+                complete();
+            } else {
+                append(new byte[]{(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n == -1) {
+                complete();
+            } else if (n > 0) {
+                append(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            abandon();
+            return super.skip(n);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                abandon();
+            }
+        }
+
+        private void append(byte[] b, int off, int len) {
+            if (done) {
+                return;
+            }
+            try {
+                digest.update(b, off, len);
+                ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                written += len;
+                if (written > expectedSize) {
+                    abandon();
+                }
+            } catch (IOException e) {
+                log.warn("写入本地缓存临时文件失败: path={}", tmpPath, e);
+                abandon();
+            }
+        }
+
+        private void complete() {
+            if (done) {
+                return;
+            }
+            if (written != expectedSize || !fileHash.equals(HashUtil.toHex(digest))) {
+                log.warn("本地缓存校验失败，丢弃: fileHash={}, expectedSize={}, written={}",
+                        fileHash, expectedSize, written);
+                abandon();
+                return;
+            }
+            done = true;
+            try {
+                channel.force(true);
+                channel.close();
+                Path cachedPath = objectPath(fileHash);
+                Files.createDirectories(cachedPath.getParent());
+                Files.move(tmpPath, cachedPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                cache.put(fileHash, expectedSize);
+                log.debug("写入本地缓存: fileHash={}, size={}", fileHash, expectedSize);
+            } catch (IOException e) {
+                log.warn("提交本地缓存文件失败: fileHash={}", fileHash, e);
+                fillFailedCounter.increment();
+                deleteQuietly(tmpPath);
+            } finally {
+                fillingHashes.remove(fileHash);
+            }
+        }
+
+        private void abandon() {
+            if (done) {
+                return;
+            }
+            done = true;
+            fillFailedCounter.increment();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("关闭本地缓存临时文件失败: path={}", tmpPath, e);
+            }
+            deleteQuietly(tmpPath);
+            fillingHashes.remove(fileHash);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.tech.ai.deepimage.service.impl;
+
+import com.alibaba.fastjson2.JSON;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Service;
+import org.tech.ai.deepimage.config.SessionCacheProperties;
+import org.tech.ai.deepimage.mapper.SessionMapper;
+import org.tech.ai.deepimage.model.dto.SessionRevocationMessage;
+import org.tech.ai.deepimage.service.SessionRevocationBus;
+import org.tech.ai.deepimage.service.SessionService;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 基于 PostgreSQL LISTEN/NOTIFY 的会话失效广播
+ * 发布走业务连接的 pg_notify（处于事务中时随提交投递），每个节点用一条独立连接 LISTEN 并清除本地缓存
+ *
+ * @author zgq
+ * @since 2025-10-28
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "deepimage.session-cache", name = "revocation-bus", havingValue = "postgres", matchIfMissing = true)
+public class PgSessionRevocationBus implements SessionRevocationBus {
+
+    private final SessionCacheProperties sessionCacheProperties;
+    private final DataSourceProperties dataSourceProperties;
+    private final SessionMapper sessionMapper;
+    private final SessionService sessionService;
+
+    private Thread listenerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        running = true;
+        listenerThread = new Thread(this::runListener, "session-revocation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        listenerThread.interrupt();
+        try {
+            listenerThread.join(sessionCacheProperties.getListenerPollMillis() * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void publish(SessionRevocationMessage message) {
+        // 本节点立即生效，不依赖通知回环
+        sessionService.applyRevocation(message);
+        try {
+            sessionMapper.notifyChannel(sessionCacheProperties.getRevocationChannel(), JSON.toJSONString(message));
+        } catch (Exception e) {
+            // 广播失败时其他节点依赖缓存 TTL 兜底
+            log.warn("会话失效广播发送失败: type={}, userId={}", message.getType(), message.getUserId(), e);
+        }
+    }
+
+    /**
+     * 监听循环：连接断开或探活失败后按间隔重连
+     */
+    private void runListener() {
+        while (running) {
+            try (Connection connection = openConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN \"" + sessionCacheProperties.getRevocationChannel() + "\"");
+                }
+                // 未监听期间的通知已丢失，清空本地缓存后重新开始
+                sessionService.evictAllSessionCache();
+                log.info("会话失效广播监听已建立: channel={}", sessionCacheProperties.getRevocationChannel());
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                long nextProbeAt = System.currentTimeMillis() + sessionCacheProperties.getListenerProbeMillis();
+                while (running) {
+                    PGNotification[] notifications =
+                            pgConnection.getNotifications((int) sessionCacheProperties.getListenerPollMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handleNotification(notification.getParameter());
+                        }
+                    }
+                    if (System.currentTimeMillis() >= nextProbeAt) {
+                        probe(connection);
+                        nextProbeAt = System.currentTimeMillis() + sessionCacheProperties.getListenerProbeMillis();
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("会话失效广播监听连接异常，{}ms 后重连", sessionCacheProperties.getListenerReconnectMillis(), e);
+                sessionService.evictAllSessionCache();
+                sleepQuietly(sessionCacheProperties.getListenerReconnectMillis());
+            }
+        }
+        log.info("会话失效广播监听已停止");
+    }
+
+    /**
+     * 探活：半开的 TCP 连接上 getNotifications 只会一直返回空，不会抛异常
+     */
+    private void probe(Connection connection) throws SQLException {
+        if (!connection.isValid(sessionCacheProperties.getListenerProbeTimeoutSeconds())) {
+            throw new SQLException("会话失效广播监听连接探活失败");
+        }
+    }
+
+    /**
+     * 处理单条通知
+     */
+    private void handleNotification(String payload) {
+        try {
+            sessionService.applyRevocation(JSON.parseObject(payload, SessionRevocationMessage.class));
+        } catch (Exception e) {
+            log.warn("会话失效广播消息解析失败: payload={}", payload, e);
+        }
+    }
+
+    /**
+     * 监听使用独立连接，避免长期占用连接池
+     */
+    private Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
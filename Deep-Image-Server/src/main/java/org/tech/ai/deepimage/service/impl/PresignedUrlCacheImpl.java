@@ -0,0 +1,103 @@
+package org.tech.ai.deepimage.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.tech.ai.deepimage.config.PresignedUrlCacheProperties;
+import org.tech.ai.deepimage.constant.MinioConstant;
+import org.tech.ai.deepimage.model.dto.PresignedUrl;
+import org.tech.ai.deepimage.service.MinioService;
+import org.tech.ai.deepimage.service.PresignedUrlCache;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 预签名URL缓存实现（Caffeine，按条目的实际过期时间减去安全余量淘汰）
+ *
+ * @author zgq
+ * @since 2025-11-01
+ */
+@Service
+@RequiredArgsConstructor
+public class PresignedUrlCacheImpl implements PresignedUrlCache {
+
+    private final MinioService minioService;
+    private final PresignedUrlCacheProperties presignedUrlCacheProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * objectName|有效期分档 -> 已签发的URL
+     */
+    private Cache<String, CachedUrl> cache;
+
+    /**
+     * 已签发的URL
+     *
+     * @param url          预签名URL
+     * @param expiresAt    过期时间
+     * @param reuseSeconds 可复用时长（有效期减去安全余量）
+     */
+    private record CachedUrl(String url, LocalDateTime expiresAt, long reuseSeconds) {
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(presignedUrlCacheProperties.getMaxSize())
+                .expireAfter(new Expiry<String, CachedUrl>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedUrl value, long currentTime) {
+                        return TimeUnit.SECONDS.toNanos(value.reuseSeconds());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedUrl value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedUrl value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "presignedUrl");
+    }
+
+    @Override
+    public PresignedUrl getDownloadUrl(String objectName, int expirySeconds) {
+        int expiryBucket = toExpiryBucket(expirySeconds);
+        CachedUrl cachedUrl = cache.get(objectName + "|" + expiryBucket, key -> sign(objectName, expiryBucket));
+        return PresignedUrl.builder()
+                .url(cachedUrl.url())
+                .expiresAt(cachedUrl.expiresAt())
+                .build();
+    }
+
+    /**
+     * 有效期分档：向下取整到步长的整数倍（不超过期望有效期，分享的剩余时间限制因此依然成立），
+     * 不足一个步长时按原值签发
+     */
+    private int toExpiryBucket(int expirySeconds) {
+        int expiry = Math.min(expirySeconds, MinioConstant.MAX_PRESIGNED_EXPIRY);
+        int step = presignedUrlCacheProperties.getExpiryStepSeconds();
+        return step > 0 && expiry > step ? expiry / step * step : expiry;
+    }
+
+    /**
+     * 签发URL；过期时间以签发前的时间计算，不会晚于URL的实际过期时间
+     */
+    private CachedUrl sign(String objectName, int expiryBucket) {
+        LocalDateTime signedAt = LocalDateTime.now();
+        String url = minioService.getPresignedDownloadUrl(objectName, expiryBucket);
+        long safetyMargin = Math.min(presignedUrlCacheProperties.getSafetyMarginSeconds(), expiryBucket / 2);
+        return new CachedUrl(url, signedAt.plusSeconds(expiryBucket), expiryBucket - safetyMargin);
+    }
+}
@@ -2,13 +2,24 @@ package org.tech.ai.deepimage.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.tech.ai.deepimage.config.SessionCacheProperties;
+import org.tech.ai.deepimage.enums.SessionStatusEnum;
+import org.tech.ai.deepimage.model.dto.SessionRevocationMessage;
 import org.tech.ai.deepimage.model.dto.request.FindSessionByTokenRequest;
 import org.tech.ai.deepimage.entity.Session;
 import org.tech.ai.deepimage.mapper.SessionMapper;
 import org.tech.ai.deepimage.service.SessionService;
 import org.tech.ai.deepimage.util.CryptoUtil;
 
+import java.time.Duration;
+
 /**
  * 用户会话表 服务实现类
  * 
@@ -16,8 +27,27 @@ import org.tech.ai.deepimage.util.CryptoUtil;
  * @since 2025-09-29
  */
 @Service
+@RequiredArgsConstructor
 public class SessionServiceImpl extends ServiceImpl<SessionMapper, Session> implements SessionService {
 
+    private final SessionCacheProperties sessionCacheProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 会话有效性缓存：userId:accessTokenHash -> 是否活跃
+     */
+    private Cache<String, Boolean> sessionActiveCache;
+
+    @PostConstruct
+    public void init() {
+        sessionActiveCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(sessionCacheProperties.getTtlSeconds()))
+                .maximumSize(sessionCacheProperties.getMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sessionActiveCache, "sessionActive");
+    }
+
     @Override
     public Session findByAccessTokenAndUserId(FindSessionByTokenRequest request) {
         String accessTokenHash = CryptoUtil.sha256Hex(request.getAccessToken());
@@ -25,4 +55,54 @@ public class SessionServiceImpl extends ServiceImpl<SessionMapper, Session> impl
                 .eq(Session::getAccessTokenHash, accessTokenHash)
                 .eq(Session::getUserId, request.getUserId()));
     }
+
+    @Override
+    public boolean isSessionActive(String accessToken, Long userId) {
+        String accessTokenHash = CryptoUtil.sha256Hex(accessToken);
+        return sessionActiveCache.get(cacheKey(userId, accessTokenHash), key -> {
+            Session session = getOne(new LambdaQueryWrapper<Session>()
+                    .select(Session::getId, Session::getActive)
+                    .eq(Session::getAccessTokenHash, accessTokenHash)
+                    .eq(Session::getUserId, userId));
+            return session != null && session.getActive() != null
+                    && session.getActive() == SessionStatusEnum.ACTIVE.getValue();
+        });
+    }
+
+    @Override
+    public void evictSessionCache(Long userId, String accessTokenHash) {
+        if (userId == null || accessTokenHash == null) {
+            return;
+        }
+        sessionActiveCache.invalidate(cacheKey(userId, accessTokenHash));
+    }
+
+    @Override
+    public void evictUserSessionCache(Long userId) {
+        String prefix = userId + ":";
+        sessionActiveCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    @Override
+    public void evictAllSessionCache() {
+        sessionActiveCache.invalidateAll();
+    }
+
+    @Override
+    public void applyRevocation(SessionRevocationMessage message) {
+        if (message == null || message.getType() == null || message.getUserId() == null) {
+            return;
+        }
+        switch (message.getType()) {
+            case SESSION_REVOKED -> evictSessionCache(message.getUserId(), message.getAccessTokenHash());
+            case USER_LOGGED_OUT -> evictUserSessionCache(message.getUserId());
+        }
+    }
+
+    /**
+     * 缓存键
+     */
+    private String cacheKey(Long userId, String accessTokenHash) {
+        return userId + ":" + accessTokenHash;
+    }
 }
@@ -0,0 +1,373 @@
+package org.tech.ai.deepimage.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.tech.ai.deepimage.config.ThumbnailProperties;
+import org.tech.ai.deepimage.constant.FileConstant;
+import org.tech.ai.deepimage.entity.FileRecord;
+import org.tech.ai.deepimage.enums.FileStatusEnum;
+import org.tech.ai.deepimage.event.FileStoredEvent;
+import org.tech.ai.deepimage.service.FileRecordService;
+import org.tech.ai.deepimage.service.MinioService;
+import org.tech.ai.deepimage.service.ThumbnailService;
+import org.tech.ai.deepimage.util.FileUtil;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 缩略图生成Service实现类
+ * 每张原图只解码一次，按规格从大到小逐级缩放生成多个缩略图
+ * 工作线程池使用有界队列，队列满时拒绝提交：文件保持处理中状态，由定时恢复任务在队列空闲后重新提交，
+ * 上传请求线程不会被拖去解码图片
+ *
+ * @author zgq
+ * @since 2025-10-22
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ThumbnailServiceImpl implements ThumbnailService {
+
+    private final MinioService minioService;
+    private final FileRecordService fileRecordService;
+    private final ThumbnailProperties thumbnailProperties;
+
+    /**
+     * 缩略图工作线程池
+     */
+    private ThreadPoolExecutor thumbnailExecutor;
+
+    /**
+     * 重试调度器（仅负责延迟重新入队，不执行生成任务）
+     */
+    private ScheduledExecutorService retryScheduler;
+
+    /**
+     * 已排队、执行中或等待重试的文件ID（恢复任务据此跳过，避免重复提交）
+     */
+    private final Set<Long> inFlightFileIds = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        thumbnailExecutor = new ThreadPoolExecutor(
+                thumbnailProperties.getWorkerThreads(),
+                thumbnailProperties.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(thumbnailProperties.getQueueCapacity()),
+                new CustomizableThreadFactory("thumbnail-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("thumbnail-retry-"));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        retryScheduler.shutdownNow();
+        thumbnailExecutor.shutdown();
+        if (!thumbnailExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("缩略图任务未在关闭前完成，剩余任务将在下次启动时恢复: queued={}", thumbnailExecutor.getQueue().size());
+            thumbnailExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean supports(String contentType) {
+        // SVG 为矢量图，前端直接渲染原图即可
+        return thumbnailProperties.isEnabled()
+                && FileUtil.isImageType(contentType)
+                && !contentType.startsWith(FileConstant.SVG_CONTENT_TYPE);
+    }
+
+    @Override
+    public void submit(List<Long> fileIds) {
+        if (!thumbnailProperties.isEnabled() || CollectionUtils.isEmpty(fileIds)) {
+            return;
+        }
+        for (Long fileId : fileIds) {
+            if (inFlightFileIds.add(fileId)) {
+                enqueue(fileId, 1);
+            }
+        }
+    }
+
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFileStored(FileStoredEvent event) {
+        submit(event.getFileIds());
+    }
+
+    /**
+     * 定时恢复仍处于处理中的文件：上次关闭时未完成的任务、队列满时被拒绝的任务、回收站恢复前被跳过的任务
+     * 每轮最多提交队列剩余容量个，队列已满时跳过本轮
+     */
+    @Scheduled(fixedDelayString = "${deepimage.thumbnail.recover-interval-millis:60000}")
+    public void recoverPending() {
+        int remainingCapacity = thumbnailExecutor.getQueue().remainingCapacity();
+        if (!thumbnailProperties.isEnabled() || thumbnailExecutor.isShutdown() || remainingCapacity == 0) {
+            return;
+        }
+        List<Long> inFlight = List.copyOf(inFlightFileIds);
+        List<Long> pendingFileIds = fileRecordService.lambdaQuery()
+                .select(FileRecord::getId)
+                .eq(FileRecord::getStatus, FileStatusEnum.PROCESSING.name())
+                .notIn(!inFlight.isEmpty(), FileRecord::getId, inFlight)
+                .orderByAsc(FileRecord::getUpdatedAt)
+                .last("LIMIT " + remainingCapacity)
+                .list()
+                .stream()
+                .map(FileRecord::getId)
+                .collect(Collectors.toList());
+        if (!pendingFileIds.isEmpty()) {
+            log.info("恢复未完成的缩略图任务: count={}", pendingFileIds.size());
+            submit(pendingFileIds);
+        }
+    }
+
+    @Override
+    public List<String> getThumbnailObjectNames(String objectName) {
+        return thumbnailProperties.getSizes().stream()
+                .map(size -> FileUtil.generateThumbnailObjectName(objectName, size))
+                .collect(Collectors.toList());
+    }
+
+    // ========== 私有辅助方法 ==========
+
+    /**
+     * 提交任务到工作线程池；队列满时放弃本次提交，文件保持处理中状态等待恢复任务
+     */
+    private void enqueue(Long fileId, int attempt) {
+        if (thumbnailExecutor.isShutdown()) {
+            inFlightFileIds.remove(fileId);
+            return;
+        }
+        try {
+            thumbnailExecutor.execute(() -> generate(fileId, attempt));
+        } catch (RejectedExecutionException e) {
+            inFlightFileIds.remove(fileId);
+            log.warn("缩略图队列已满，等待恢复任务重新提交: fileId={}, attempt={}", fileId, attempt);
+        }
+    }
+
+    /**
+     * 生成单个文件的缩略图，失败按指数退避重试；未进入重试时释放文件ID
+     */
+    private void generate(Long fileId, int attempt) {
+        boolean retryScheduled = false;
+        try {
+            retryScheduled = generateOnce(fileId, attempt);
+        } finally {
+            if (!retryScheduled) {
+                inFlightFileIds.remove(fileId);
+            }
+        }
+    }
+
+    /**
+     * 执行一次生成
+     *
+     * @return 是否已安排重试
+     */
+    private boolean generateOnce(Long fileId, int attempt) {
+        FileRecord fileRecord = fileRecordService.getById(fileId);
+        if (fileRecord == null || !FileStatusEnum.PROCESSING.name().equals(fileRecord.getStatus())) {
+            // 文件已删除（恢复时重新提交）或已处理完成
+            return false;
+        }
+
+        try {
+            String thumbnailUrl = generateThumbnails(fileRecord);
+            updateThumbnailResult(fileId, thumbnailUrl, FileStatusEnum.COMPLETED);
+            log.info("缩略图生成成功: fileId={}, attempt={}", fileId, attempt);
+
+        } catch (UnsupportedImageException e) {
+            // 格式不支持或尺寸超限，重试无意义
+            log.warn("缩略图生成跳过: fileId={}, reason={}", fileId, e.getMessage());
+            updateThumbnailResult(fileId, null, FileStatusEnum.THUMBNAIL_FAILED);
+
+        } catch (Exception e) {
+            if (attempt <= thumbnailProperties.getMaxRetries()) {
+                long delayMillis = thumbnailProperties.getRetryBackoffMillis() << (attempt - 1);
+                log.warn("缩略图生成失败，{}ms 后重试: fileId={}, attempt={}", delayMillis, fileId, attempt, e);
+                try {
+                    retryScheduler.schedule(() -> enqueue(fileId, attempt + 1), delayMillis, TimeUnit.MILLISECONDS);
+                    return true;
+                } catch (RejectedExecutionException rejected) {
+                    // 正在关闭，文件保持处理中状态，下次启动后恢复
+                    return false;
+                }
+            }
+            log.error("缩略图生成失败，已达最大重试次数: fileId={}", fileId, e);
+            updateThumbnailResult(fileId, null, FileStatusEnum.THUMBNAIL_FAILED);
+        }
+        return false;
+    }
+
+    /**
+     * 解码原图并写入各规格缩略图
+     *
+     * @return 最小规格缩略图的访问URL
+     */
+    private String generateThumbnails(FileRecord fileRecord) throws IOException {
+        BufferedImage current;
+        try (InputStream inputStream = minioService.downloadFile(fileRecord.getObjectName())) {
+            current = decode(inputStream);
+        }
+
+        // 从大到小逐级缩放，小规格基于上一级结果缩放，避免重复处理原图
+        List<Integer> sizes = thumbnailProperties.getSizes().stream()
+                .distinct()
+                .sorted(Comparator.reverseOrder())
+                .collect(Collectors.toList());
+
+        String thumbnailUrl = null;
+        for (Integer size : sizes) {
+            current = resize(current, size);
+            byte[] data = encodeJpeg(current);
+            String objectName = FileUtil.generateThumbnailObjectName(fileRecord.getObjectName(), size);
+            thumbnailUrl = minioService.uploadFile(new ByteArrayInputStream(data), data.length, objectName,
+                    FileConstant.THUMBNAIL_CONTENT_TYPE);
+        }
+        return thumbnailUrl;
+    }
+
+    /**
+     * 解码图片，解码前先读取尺寸校验像素数
+     */
+    private BufferedImage decode(InputStream inputStream) throws IOException {
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            if (imageInputStream == null) {
+                throw new UnsupportedImageException("不支持的图片格式");
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+            if (!readers.hasNext()) {
+                throw new UnsupportedImageException("不支持的图片格式");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > thumbnailProperties.getMaxSourcePixels()) {
+                    throw new UnsupportedImageException("图片像素数超过限制: " + pixels);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 等比缩放到最长边不超过 size（不放大），输出不带透明通道的 RGB 图像
+     * 大比例缩小时逐级减半，兼顾速度与画质
+     */
+    private BufferedImage resize(BufferedImage source, int size) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) size / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = drawScaled(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    /**
+     * 绘制到指定尺寸的 RGB 画布，透明背景填充白色
+     */
+    private BufferedImage drawScaled(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * 按配置质量编码为 JPEG
+     */
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(FileConstant.THUMBNAIL_FORMAT).next();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            writer.setOutput(imageOutputStream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(thumbnailProperties.getQuality());
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * 回写缩略图结果（仅处理中状态的记录，避免覆盖并发变更）
+     */
+    private void updateThumbnailResult(Long fileId, String thumbnailUrl, FileStatusEnum status) {
+        fileRecordService.lambdaUpdate()
+                .eq(FileRecord::getId, fileId)
+                .eq(FileRecord::getStatus, FileStatusEnum.PROCESSING.name())
+                .set(thumbnailUrl != null, FileRecord::getThumbnailUrl, thumbnailUrl)
+                .set(FileRecord::getStatus, status.name())
+                .set(FileRecord::getUpdatedAt, LocalDateTime.now())
+                .update();
+    }
+
+    /**
+     * 无法生成缩略图的图片（格式不支持、尺寸超限），不参与重试
+     */
+    private static class UnsupportedImageException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedImageException(String message) {
+            super(message);
+        }
+    }
+}
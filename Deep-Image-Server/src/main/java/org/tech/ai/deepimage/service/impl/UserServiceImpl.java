@@ -6,6 +6,7 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.tech.ai.deepimage.constant.ResponseConstant;
 import org.tech.ai.deepimage.enums.RefreshTokenStatusEnum;
 import org.tech.ai.deepimage.enums.SessionStatusEnum;
@@ -21,8 +22,10 @@ import org.tech.ai.deepimage.model.dto.response.SessionItemResponse;
 import org.tech.ai.deepimage.model.dto.response.SessionListResponse;
 import org.tech.ai.deepimage.model.dto.response.UserProfileResponse;
 import org.tech.ai.deepimage.service.RefreshTokenService;
+import org.tech.ai.deepimage.service.SessionRevocationBus;
 import org.tech.ai.deepimage.service.SessionService;
 import org.tech.ai.deepimage.service.UserService;
+import org.tech.ai.deepimage.service.UserSummaryCache;
 import org.tech.ai.deepimage.util.CryptoUtil;
 
 import java.time.LocalDateTime;
@@ -41,6 +44,12 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     @Autowired
     private SessionService sessionService;
     
+    @Autowired
+    private SessionRevocationBus sessionRevocationBus;
+    
+    @Autowired
+    private UserSummaryCache userSummaryCache;
+    
     @Autowired
     private RefreshTokenService refreshTokenService;
     
@@ -69,6 +78,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public UserProfileResponse updateUserProfile(Long userId, UpdateUserProfileRequest request) {
         // 查询用户
         User user = BusinessException.assertNotNull(
@@ -103,6 +113,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         
         // 保存更新
         this.updateById(user);
+        userSummaryCache.invalidate(userId);
         
         // 返回更新后的用户信息
         return getCurrentUserProfile(userId);
@@ -180,6 +191,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         session.setActive(SessionStatusEnum.INACTIVE.getValue());
         session.setUpdatedAt(LocalDateTime.now());
         sessionService.updateById(session);
+        sessionRevocationBus.publishSessionRevoked(userId, session.getAccessTokenHash());
         
         // 撤销该会话关联的所有refresh_token
         LambdaQueryWrapper<RefreshToken> wrapper = new LambdaQueryWrapper<>();
@@ -222,6 +234,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         updateSession.setActive(SessionStatusEnum.INACTIVE.getValue());
         updateSession.setUpdatedAt(LocalDateTime.now());
         sessionService.update(updateSession, sessionWrapper);
+        sessionRevocationBus.publishUserLoggedOut(userId);
         
         // 批量撤销相关的refresh_token
         LambdaQueryWrapper<RefreshToken> tokenWrapper = new LambdaQueryWrapper<>();
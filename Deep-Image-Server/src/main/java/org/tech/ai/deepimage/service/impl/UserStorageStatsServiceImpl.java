@@ -0,0 +1,204 @@
+package org.tech.ai.deepimage.service.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tech.ai.deepimage.config.StorageProperties;
+import org.tech.ai.deepimage.constant.ResponseConstant;
+import org.tech.ai.deepimage.entity.FileRecord;
+import org.tech.ai.deepimage.entity.UserStorageStats;
+import org.tech.ai.deepimage.exception.BusinessException;
+import org.tech.ai.deepimage.mapper.FileAccessDailyMapper;
+import org.tech.ai.deepimage.mapper.UserStorageStatsMapper;
+import org.tech.ai.deepimage.model.dto.FileAccessSummary;
+import org.tech.ai.deepimage.model.dto.UserStorageDelta;
+import org.tech.ai.deepimage.service.UserStorageStatsService;
+import org.tech.ai.deepimage.util.Timer;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 用户存储统计Service实现类
+ *
+ * @author zgq
+ * @since 2025-10-25
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserStorageStatsServiceImpl extends ServiceImpl<UserStorageStatsMapper, UserStorageStats>
+        implements UserStorageStatsService {
+
+    private final FileAccessDailyMapper fileAccessDailyMapper;
+    private final StorageProperties storageProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public UserStorageStats getStats(Long userId) {
+        UserStorageStats stats = getById(userId);
+        if (stats == null) {
+            rebuild(userId);
+            stats = getById(userId);
+        }
+        return stats;
+    }
+
+    @Override
+    public void onFilesAdded(Long userId, Collection<FileRecord> fileRecords) {
+        if (CollectionUtils.isEmpty(fileRecords)) {
+            return;
+        }
+        UserStorageDelta delta = new UserStorageDelta(userId);
+        fileRecords.forEach(fileRecord -> delta.addActiveFile(fileRecord, 1));
+        delta.setLastUploadedAt(fileRecords.stream()
+                .map(FileRecord::getCreatedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(LocalDateTime.now()));
+
+        // 累加与配额校验在同一条 UPDATE 中完成，并发上传不会同时通过配额检查
+        long quotaBytes = storageProperties.getQuotaBytes();
+        if (baseMapper.applyDelta(delta, quotaBytes) == 0) {
+            // 统计记录不存在或超出配额：从源表重建（已包含本次新增）后按实际用量判断
+            rebuild(userId);
+            UserStorageStats stats = getById(userId);
+            BusinessException.throwIf(quotaBytes > 0 && usedBytes(stats) > quotaBytes,
+                    ResponseConstant.FORBIDDEN, ResponseConstant.STORAGE_QUOTA_EXCEEDED_MESSAGE);
+        }
+    }
+
+    @Override
+    public void onFilesTrashed(Long userId, Collection<FileRecord> fileRecords) {
+        if (CollectionUtils.isEmpty(fileRecords)) {
+            return;
+        }
+        UserStorageDelta delta = new UserStorageDelta(userId);
+        fileRecords.forEach(fileRecord -> {
+            delta.addActiveFile(fileRecord, -1);
+            delta.addTrashFile(fileRecord, 1);
+        });
+        // 访问统计只包含有效文件
+        delta.addAccess(summarizeAccess(fileRecords), -1);
+        applyDelta(delta);
+    }
+
+    @Override
+    public void onFilesRestored(Long userId, Collection<FileRecord> fileRecords) {
+        if (CollectionUtils.isEmpty(fileRecords)) {
+            return;
+        }
+        UserStorageDelta delta = new UserStorageDelta(userId);
+        fileRecords.forEach(fileRecord -> {
+            delta.addActiveFile(fileRecord, 1);
+            delta.addTrashFile(fileRecord, -1);
+        });
+        delta.addAccess(summarizeAccess(fileRecords), 1);
+        applyDelta(delta);
+    }
+
+    @Override
+    public void onFilesPurged(Long userId, Collection<FileRecord> fileRecords) {
+        if (CollectionUtils.isEmpty(fileRecords)) {
+            return;
+        }
+        UserStorageDelta delta = new UserStorageDelta(userId);
+        fileRecords.forEach(fileRecord -> delta.addTrashFile(fileRecord, -1));
+        applyDelta(delta);
+    }
+
+    @Override
+    public void onShareChanged(Long fromUserId, Long toUserId, int sign) {
+        UserStorageDelta fromDelta = new UserStorageDelta(fromUserId);
+        fromDelta.setShareOutCount(sign);
+        UserStorageDelta toDelta = new UserStorageDelta(toUserId);
+        toDelta.setShareInCount(sign);
+
+        // 按用户ID顺序更新两行统计，与访问日志批量写入的加锁顺序一致，避免死锁
+        if (fromUserId <= toUserId) {
+            applyDelta(fromDelta);
+            applyDelta(toDelta);
+        } else {
+            applyDelta(toDelta);
+            applyDelta(fromDelta);
+        }
+    }
+
+    @Override
+    public void onFileAccessed(Long ownerId, String accessType, long count) {
+        UserStorageDelta delta = new UserStorageDelta(ownerId);
+        delta.addAccess(accessType, count);
+        applyDelta(delta);
+    }
+
+    @Override
+    public void rebuild(Long userId) {
+        // 先锁定统计行再聚合源表：持锁期间的增量更新排在重建之后，重建不会覆盖并发写入的增量
+        transactionTemplate.executeWithoutResult(status -> {
+            baseMapper.insertIfAbsent(userId);
+            baseMapper.lockByUserId(userId);
+            baseMapper.rebuild(userId);
+        });
+        log.info("重建用户存储统计: userId={}", userId);
+    }
+
+    @Override
+    @Scheduled(cron = "${deepimage.storage.stats-repair-cron:0 30 3 * * ?}")
+    public void rebuildAll() {
+        Timer timer = Timer.start();
+        int count = 0;
+        for (Long userId : baseMapper.selectUserIdsToRebuild()) {
+            try {
+                rebuild(userId);
+                count++;
+            } catch (Exception e) {
+                log.error("重建用户存储统计失败: userId={}", userId, e);
+            }
+        }
+        timer.stop();
+        log.info("存储统计修复完成: users={}, 耗时={}ms", count, timer.getElapsedMillis());
+    }
+
+    @Override
+    public void checkQuota(Long userId, long additionalSize) {
+        long quotaBytes = storageProperties.getQuotaBytes();
+        if (quotaBytes <= 0) {
+            return;
+        }
+        UserStorageStats stats = getStats(userId);
+        BusinessException.throwIf(usedBytes(stats) + additionalSize > quotaBytes,
+                ResponseConstant.FORBIDDEN, ResponseConstant.STORAGE_QUOTA_EXCEEDED_MESSAGE);
+    }
+
+    /**
+     * 累加统计增量，统计记录不存在时从源表重建（源表已包含本次变更）
+     */
+    private void applyDelta(UserStorageDelta delta) {
+        if (baseMapper.applyDelta(delta, 0) == 0) {
+            rebuild(delta.getUserId());
+        }
+    }
+
+    /**
+     * 已用存储空间（含回收站）
+     */
+    private long usedBytes(UserStorageStats stats) {
+        return stats.getTotalSize() + stats.getTrashSize();
+    }
+
+    /**
+     * 汇总指定文件的累计访问次数（按日汇总表，不受日志保留期影响）
+     */
+    private FileAccessSummary summarizeAccess(Collection<FileRecord> fileRecords) {
+        List<Long> fileIds = fileRecords.stream()
+                .map(FileRecord::getId)
+                .toList();
+        return fileAccessDailyMapper.selectSummaryByFileIds(fileIds);
+    }
+}
@@ -0,0 +1,109 @@
+package org.tech.ai.deepimage.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.tech.ai.deepimage.config.UserSummaryCacheProperties;
+import org.tech.ai.deepimage.entity.User;
+import org.tech.ai.deepimage.mapper.UserMapper;
+import org.tech.ai.deepimage.model.dto.UserSummary;
+import org.tech.ai.deepimage.service.UserSummaryCache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 用户摘要缓存实现（Caffeine，按容量淘汰，直接使用 UserMapper 回源以避免与 UserService 循环依赖）
+ *
+ * @author zgq
+ * @since 2025-10-28
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSummaryCacheImpl implements UserSummaryCache {
+
+    private final UserMapper userMapper;
+    private final UserSummaryCacheProperties userSummaryCacheProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * userId -> 用户摘要
+     */
+    private Cache<Long, UserSummary> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(userSummaryCacheProperties.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(userSummaryCacheProperties.getTtlSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userSummary");
+    }
+
+    @Override
+    public UserSummary get(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        return getAll(Set.of(userId)).get(userId);
+    }
+
+    @Override
+    public Map<Long, UserSummary> getAll(Collection<Long> userIds) {
+        Set<Long> ids = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        // 未命中的用户一次 IN 查询；查不到的用户不写入缓存
+        return cache.getAll(ids, this::loadAll);
+    }
+
+    @Override
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        // 处于事务中时等提交后再清除，避免提交前的并发读取把旧值重新载入缓存
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        } else {
+            cache.invalidate(userId);
+        }
+    }
+
+    /**
+     * 批量回源（只查摘要所需的列）
+     */
+    private Map<Long, UserSummary> loadAll(Set<? extends Long> userIds) {
+        return userMapper.selectList(new LambdaQueryWrapper<User>()
+                        .select(User::getId, User::getUsername, User::getAvatarUrl)
+                        .in(User::getId, userIds))
+                .stream()
+                .map(user -> UserSummary.builder()
+                        .id(user.getId())
+                        .username(user.getUsername())
+                        .avatarUrl(user.getAvatarUrl())
+                        .build())
+                .collect(Collectors.toMap(UserSummary::getId, Function.identity(), (a, b) -> a));
+    }
+}
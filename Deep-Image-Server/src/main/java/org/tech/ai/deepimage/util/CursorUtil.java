@@ -0,0 +1,113 @@
+package org.tech.ai.deepimage.util;
+
+import org.tech.ai.deepimage.constant.FileConstant;
+import org.tech.ai.deepimage.constant.ResponseConstant;
+import org.tech.ai.deepimage.entity.FileRecord;
+import org.tech.ai.deepimage.exception.BusinessException;
+import org.tech.ai.deepimage.model.dto.FileCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 游标分页工具类
+ * 游标格式：Base64URL("sortBy:sortOrder:id:排序键")，排序键放在最后，文件名中的冒号不影响解析
+ *
+ * @author zgq
+ * @since 2025-10-28
+ */
+public class CursorUtil {
+
+    private static final String SEPARATOR = ":";
+
+    private CursorUtil() {
+        // 私有构造函数，防止实例化
+    }
+
+    /**
+     * 规范化排序字段（不在白名单内时按创建时间）
+     */
+    public static String normalizeSortBy(String sortBy) {
+        if (FileConstant.SORT_BY_FILE_SIZE.equals(sortBy) || FileConstant.SORT_BY_FILENAME.equals(sortBy)) {
+            return sortBy;
+        }
+        return FileConstant.SORT_BY_CREATED_AT;
+    }
+
+    /**
+     * 规范化排序方向（非 asc 时按降序）
+     */
+    public static String normalizeSortOrder(String sortOrder) {
+        return FileConstant.SORT_ORDER_ASC.equalsIgnoreCase(sortOrder)
+                ? FileConstant.SORT_ORDER_ASC
+                : FileConstant.SORT_ORDER_DESC;
+    }
+
+    /**
+     * 以记录的排序键生成游标
+     */
+    public static FileCursor of(FileRecord fileRecord, String sortBy, String sortOrder) {
+        FileCursor cursor = FileCursor.builder()
+                .sortBy(sortBy)
+                .sortOrder(sortOrder)
+                .id(fileRecord.getId())
+                .build();
+        switch (sortBy) {
+            case FileConstant.SORT_BY_FILE_SIZE -> cursor.setFileSize(fileRecord.getFileSize());
+            case FileConstant.SORT_BY_FILENAME -> cursor.setOriginalFilename(fileRecord.getOriginalFilename());
+            default -> cursor.setCreatedAt(fileRecord.getCreatedAt());
+        }
+        return cursor;
+    }
+
+    /**
+     * 编码游标
+     */
+    public static String encode(FileCursor cursor) {
+        String sortKey = switch (cursor.getSortBy()) {
+            case FileConstant.SORT_BY_FILE_SIZE -> String.valueOf(cursor.getFileSize());
+            case FileConstant.SORT_BY_FILENAME -> cursor.getOriginalFilename();
+            default -> cursor.getCreatedAt().toString();
+        };
+        String raw = String.join(SEPARATOR, cursor.getSortBy(), cursor.getSortOrder(),
+                String.valueOf(cursor.getId()), sortKey);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标，并校验与本次查询的排序一致
+     *
+     * @param value     游标字符串
+     * @param sortBy    本次查询的排序字段（已规范化）
+     * @param sortOrder 本次查询的排序方向（已规范化）
+     * @return 游标，value 为空时返回 null（第一页）
+     */
+    public static FileCursor decode(String value, String sortBy, String sortOrder) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+            BusinessException.throwIf(parts.length != 4, ResponseConstant.PARAM_ERROR, ResponseConstant.INVALID_CURSOR_MESSAGE);
+            BusinessException.throwIf(!parts[0].equals(sortBy) || !parts[1].equals(sortOrder),
+                    ResponseConstant.PARAM_ERROR, ResponseConstant.INVALID_CURSOR_MESSAGE);
+
+            FileCursor cursor = FileCursor.builder()
+                    .sortBy(sortBy)
+                    .sortOrder(sortOrder)
+                    .id(Long.parseLong(parts[2]))
+                    .build();
+            switch (sortBy) {
+                case FileConstant.SORT_BY_FILE_SIZE -> cursor.setFileSize(Long.parseLong(parts[3]));
+                case FileConstant.SORT_BY_FILENAME -> cursor.setOriginalFilename(parts[3]);
+                default -> cursor.setCreatedAt(LocalDateTime.parse(parts[3]));
+            }
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw BusinessException.badRequest(ResponseConstant.INVALID_CURSOR_MESSAGE);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.tech.ai.deepimage.util;
 
 import lombok.extern.slf4j.Slf4j;
+import org.tech.ai.deepimage.constant.FileConstant;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -56,6 +57,74 @@ public class FileUtil {
                 extension);
     }
     
+    /**
+     * 生成上传暂存对象名称
+     * 格式: staging/{userId}/{uuid}
+     * 
+     * @param userId 用户ID
+     * @return 暂存对象名称
+     */
+    public static String generateStagingObjectName(Long userId) {
+        String uuid = UUID.randomUUID().toString().replace("-", "");
+        return String.format("%s/%d/%s", FileConstant.STAGING_OBJECT_PREFIX, userId, uuid);
+    }
+    
+    /**
+     * 生成缩略图对象名称
+     * 格式: thumbnail/{size}/{原图对象名去扩展名}.jpg
+     * 例如: thumbnail/200/1001/image/20251002/abc123def456.jpg
+     * 
+     * @param objectName 原图对象名称
+     * @param size 缩略图最长边像素
+     * @return 缩略图对象名称
+     */
+    public static String generateThumbnailObjectName(String objectName, int size) {
+        int dotIndex = objectName.lastIndexOf('.');
+        String baseName = dotIndex > objectName.lastIndexOf('/') ? objectName.substring(0, dotIndex) : objectName;
+        return String.format("%s/%d/%s.%s", FileConstant.THUMBNAIL_OBJECT_PREFIX, size, baseName,
+                FileConstant.THUMBNAIL_FORMAT);
+    }
+    
+    /**
+     * 生成分片临时对象前缀
+     * 格式: multipart/{uploadId}/
+     * 
+     * @param uploadId 上传会话ID
+     * @return 分片对象前缀
+     */
+    public static String generateMultipartPrefix(Long uploadId) {
+        return String.format("%s/%d/", FileConstant.MULTIPART_OBJECT_PREFIX, uploadId);
+    }
+    
+    /**
+     * 生成分片临时对象名称
+     * 格式: multipart/{uploadId}/{partNumber}，分片号补零保证对象列表按序返回
+     * 
+     * @param uploadId 上传会话ID
+     * @param partNumber 分片号（从1开始）
+     * @return 分片对象名称
+     */
+    public static String generateMultipartPartName(Long uploadId, int partNumber) {
+        return String.format("%s%05d", generateMultipartPrefix(uploadId), partNumber);
+    }
+    
+    /**
+     * 从分片临时对象名称中解析分片号
+     * 
+     * @param partObjectName 分片对象名称
+     * @return 分片号，无法解析时返回null
+     */
+    public static Integer parseMultipartPartNumber(String partObjectName) {
+        if (partObjectName == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(partObjectName.substring(partObjectName.lastIndexOf('/') + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
     /**
      * 获取文件扩展名（不含点）
      * 
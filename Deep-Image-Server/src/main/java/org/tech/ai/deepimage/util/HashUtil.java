@@ -58,6 +58,31 @@ public class HashUtil {
         }
     }
     
+    /**
+     * 创建 SHA-256 摘要器
+     * 配合 {@link java.security.DigestInputStream} 使用，可在读取流的同时计算哈希，避免二次读取
+     * 
+     * @return MessageDigest 实例
+     */
+    public static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance(SHA256_ALGORITHM);
+        } catch (Exception e) {
+            log.error("创建SHA-256摘要器失败", e);
+            throw new RuntimeException("计算文件哈希失败", e);
+        }
+    }
+    
+    /**
+     * 输出摘要器的十六进制哈希值（调用后摘要器被重置）
+     * 
+     * @param digest 已更新完数据的摘要器
+     * @return 64位十六进制字符串
+     */
+    public static String toHex(MessageDigest digest) {
+        return bytesToHex(digest.digest());
+    }
+    
     /**
      * 计算字符串的 SHA-256 哈希值
      * 
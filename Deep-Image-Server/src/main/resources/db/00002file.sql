@@ -40,7 +40,7 @@ COMMENT ON COLUMN di_file_records.file_size IS '文件大小(字节)';
 COMMENT ON COLUMN di_file_records.content_type IS '文件MIME类型,如: image/jpeg, application/pdf';
 COMMENT ON COLUMN di_file_records.file_extension IS '文件扩展名,如: jpg, pdf, png';
 COMMENT ON COLUMN di_file_records.business_type IS '业务类型: avatar(头像), document(文档), image(图片), video(视频), temp(临时文件)等';
-COMMENT ON COLUMN di_file_records.status IS '文件状态枚举: UPLOADING(上传中), COMPLETED(已完成), FAILED(失败), DELETED(已删除)';
+COMMENT ON COLUMN di_file_records.status IS '文件状态枚举: UPLOADING(上传中), PROCESSING(处理中), COMPLETED(已完成), THUMBNAIL_FAILED(缩略图生成失败), FAILED(失败), DELETED(已删除)';
 COMMENT ON COLUMN di_file_records.visibility IS '访问权限枚举: PRIVATE(私有), PUBLIC(公开), SHARED(分享)';
 COMMENT ON COLUMN di_file_records.file_url IS '文件访问URL';
 COMMENT ON COLUMN di_file_records.thumbnail_url IS '缩略图URL(仅图片类型)';
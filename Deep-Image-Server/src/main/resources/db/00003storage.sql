@@ -0,0 +1,47 @@
+-- ============================================
+-- 用户存储统计模块数据库设计
+-- ============================================
+
+-- 用户存储统计汇总表（由文件写操作增量维护，定时任务按源表重建）
+CREATE TABLE di_user_storage_stats (
+    user_id BIGINT PRIMARY KEY,
+    total_files BIGINT NOT NULL DEFAULT 0,
+    total_size BIGINT NOT NULL DEFAULT 0,
+    image_count BIGINT NOT NULL DEFAULT 0,
+    document_count BIGINT NOT NULL DEFAULT 0,
+    video_count BIGINT NOT NULL DEFAULT 0,
+    avatar_count BIGINT NOT NULL DEFAULT 0,
+    temp_count BIGINT NOT NULL DEFAULT 0,
+    trash_count BIGINT NOT NULL DEFAULT 0,
+    trash_size BIGINT NOT NULL DEFAULT 0,
+    share_out_count BIGINT NOT NULL DEFAULT 0,
+    share_in_count BIGINT NOT NULL DEFAULT 0,
+    download_count BIGINT NOT NULL DEFAULT 0,
+    view_count BIGINT NOT NULL DEFAULT 0,
+    upload_count BIGINT NOT NULL DEFAULT 0,
+    last_uploaded_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 表注释
+COMMENT ON TABLE di_user_storage_stats IS '用户存储统计汇总表,文件上传/删除/恢复/分享/访问时增量更新,定时任务从源表重建';
+
+-- 字段注释
+COMMENT ON COLUMN di_user_storage_stats.user_id IS '用户ID,主键';
+COMMENT ON COLUMN di_user_storage_stats.total_files IS '有效文件数(未删除且非上传中)';
+COMMENT ON COLUMN di_user_storage_stats.total_size IS '有效文件总大小(字节)';
+COMMENT ON COLUMN di_user_storage_stats.image_count IS '业务类型IMAGE的有效文件数';
+COMMENT ON COLUMN di_user_storage_stats.document_count IS '业务类型DOCUMENT的有效文件数';
+COMMENT ON COLUMN di_user_storage_stats.video_count IS '业务类型VIDEO的有效文件数';
+COMMENT ON COLUMN di_user_storage_stats.avatar_count IS '业务类型AVATAR的有效文件数';
+COMMENT ON COLUMN di_user_storage_stats.temp_count IS '业务类型TEMP的有效文件数';
+COMMENT ON COLUMN di_user_storage_stats.trash_count IS '回收站文件数';
+COMMENT ON COLUMN di_user_storage_stats.trash_size IS '回收站文件总大小(字节)';
+COMMENT ON COLUMN di_user_storage_stats.share_out_count IS '分享出去且未撤销的分享数';
+COMMENT ON COLUMN di_user_storage_stats.share_in_count IS '收到且未撤销的分享数';
+COMMENT ON COLUMN di_user_storage_stats.download_count IS '有效文件的下载次数';
+COMMENT ON COLUMN di_user_storage_stats.view_count IS '有效文件的预览次数';
+COMMENT ON COLUMN di_user_storage_stats.upload_count IS '有效文件的上传次数';
+COMMENT ON COLUMN di_user_storage_stats.last_uploaded_at IS '最近上传时间';
+COMMENT ON COLUMN di_user_storage_stats.updated_at IS '记录最后更新时间';
+
@@ -0,0 +1,95 @@
+-- ============================================
+-- 文件访问日志分区与按日汇总
+-- ============================================
+
+-- 按月分区的访问日志表（沿用原表的ID序列）
+CREATE TABLE di_file_access_logs_partitioned (
+    id BIGINT NOT NULL DEFAULT nextval('di_file_access_logs_id_seq'),
+    file_id BIGINT NOT NULL,
+    user_id BIGINT,
+    access_type VARCHAR(20) NOT NULL,
+    ip_address VARCHAR(45),
+    user_agent TEXT,
+    share_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- 默认分区，兜底未预建月份的数据
+CREATE TABLE di_file_access_logs_default PARTITION OF di_file_access_logs_partitioned DEFAULT;
+
+-- 为已有数据所在月份及未来3个月创建分区，之后由应用定时预建
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM di_file_access_logs), CURRENT_DATE));
+    end_month DATE := date_trunc('month', CURRENT_DATE) + INTERVAL '3 months';
+BEGIN
+    WHILE month_start < end_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF di_file_access_logs_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'di_file_access_logs_p' || to_char(month_start, 'YYYYMM'),
+                       month_start, (month_start + INTERVAL '1 month')::DATE);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+-- 迁移已有数据并替换原表
+INSERT INTO di_file_access_logs_partitioned (id, file_id, user_id, access_type, ip_address, user_agent, share_id, created_at)
+SELECT id, file_id, user_id, access_type, ip_address, user_agent, share_id, COALESCE(created_at, CURRENT_TIMESTAMP)
+FROM di_file_access_logs;
+
+ALTER SEQUENCE di_file_access_logs_id_seq OWNED BY NONE;
+DROP TABLE di_file_access_logs;
+ALTER TABLE di_file_access_logs_partitioned RENAME TO di_file_access_logs;
+ALTER SEQUENCE di_file_access_logs_id_seq OWNED BY di_file_access_logs.id;
+
+COMMENT ON TABLE di_file_access_logs IS '文件访问日志表,按created_at按月分区,超过保留期的分区由应用定时删除';
+COMMENT ON COLUMN di_file_access_logs.id IS '日志记录唯一标识';
+COMMENT ON COLUMN di_file_access_logs.file_id IS '被访问的文件ID';
+COMMENT ON COLUMN di_file_access_logs.user_id IS '访问用户ID,未登录用户为NULL';
+COMMENT ON COLUMN di_file_access_logs.access_type IS '访问类型枚举: DOWNLOAD(下载), PREVIEW(预览), UPLOAD(上传)';
+COMMENT ON COLUMN di_file_access_logs.ip_address IS '访问IP地址';
+COMMENT ON COLUMN di_file_access_logs.user_agent IS '用户代理信息';
+COMMENT ON COLUMN di_file_access_logs.share_id IS '分享ID,如果是通过分享访问';
+COMMENT ON COLUMN di_file_access_logs.created_at IS '访问时间,分区键';
+
+-- 分区表索引（created_at 由分区裁剪覆盖）
+CREATE INDEX idx_di_file_access_logs_file_id ON di_file_access_logs(file_id);
+CREATE INDEX idx_di_file_access_logs_user_id ON di_file_access_logs(user_id);
+
+-- ============================================
+-- 文件访问按日汇总表
+-- ============================================
+
+CREATE TABLE di_file_access_daily (
+    file_id BIGINT NOT NULL,
+    stat_date DATE NOT NULL,
+    view_count BIGINT NOT NULL DEFAULT 0,
+    download_count BIGINT NOT NULL DEFAULT 0,
+    upload_count BIGINT NOT NULL DEFAULT 0,
+    last_accessed_at TIMESTAMP,
+
+    PRIMARY KEY (file_id, stat_date)
+);
+
+-- 表注释
+COMMENT ON TABLE di_file_access_daily IS '文件访问按日汇总表,访问日志写入时增量更新,不随日志分区删除';
+
+-- 字段注释
+COMMENT ON COLUMN di_file_access_daily.file_id IS '文件ID';
+COMMENT ON COLUMN di_file_access_daily.stat_date IS '统计日期';
+COMMENT ON COLUMN di_file_access_daily.view_count IS '当日预览次数';
+COMMENT ON COLUMN di_file_access_daily.download_count IS '当日下载次数';
+COMMENT ON COLUMN di_file_access_daily.upload_count IS '当日上传次数';
+COMMENT ON COLUMN di_file_access_daily.last_accessed_at IS '当日最后访问时间';
+
+-- 从已有日志初始化汇总
+INSERT INTO di_file_access_daily (file_id, stat_date, view_count, download_count, upload_count, last_accessed_at)
+SELECT file_id,
+       created_at::DATE,
+       COUNT(*) FILTER (WHERE access_type = 'PREVIEW'),
+       COUNT(*) FILTER (WHERE access_type = 'DOWNLOAD'),
+       COUNT(*) FILTER (WHERE access_type = 'UPLOAD'),
+       MAX(created_at)
+FROM di_file_access_logs
+GROUP BY file_id, created_at::DATE;
@@ -0,0 +1,29 @@
+-- ============================================
+-- 文件列表游标分页索引
+-- ============================================
+
+-- 游标查询按 (排序键, id) 做行值比较并按相同顺序排序，索引列与之一致时可直接按索引顺序读取
+-- 使用部分索引只覆盖列表实际查询的行（未删除且非上传中 / 回收站）
+
+-- 全部文件：按创建时间
+CREATE INDEX IF NOT EXISTS idx_di_file_records_active_created
+    ON di_file_records(user_id, created_at, id)
+    WHERE delete_flag = 0 AND status <> 'UPLOADING';
+
+-- 按业务类型筛选（图库、头像列表）：三种排序
+CREATE INDEX IF NOT EXISTS idx_di_file_records_active_business_created
+    ON di_file_records(user_id, business_type, created_at, id)
+    WHERE delete_flag = 0 AND status <> 'UPLOADING';
+
+CREATE INDEX IF NOT EXISTS idx_di_file_records_active_business_size
+    ON di_file_records(user_id, business_type, file_size, id)
+    WHERE delete_flag = 0 AND status <> 'UPLOADING';
+
+CREATE INDEX IF NOT EXISTS idx_di_file_records_active_business_filename
+    ON di_file_records(user_id, business_type, original_filename, id)
+    WHERE delete_flag = 0 AND status <> 'UPLOADING';
+
+-- 回收站：按创建时间
+CREATE INDEX IF NOT EXISTS idx_di_file_records_trash_created
+    ON di_file_records(user_id, created_at, id)
+    WHERE delete_flag = 1;
@@ -0,0 +1,25 @@
+-- ============================================
+-- 文件记录索引按实际查询形态调整
+-- ============================================
+
+-- 秒传/去重（checkExistingFile: file_hash + delete_flag），file_hash 在前，按用户去重的抓取查询同样可用
+CREATE INDEX IF NOT EXISTS idx_di_file_records_hash_delete
+    ON di_file_records(file_hash, delete_flag);
+
+-- 启动时恢复缩略图任务（status = 'PROCESSING'），只索引处理中的少量行
+CREATE INDEX IF NOT EXISTS idx_di_file_records_processing
+    ON di_file_records(id)
+    WHERE status = 'PROCESSING';
+
+-- 文件列表与回收站由 00005file_cursor.sql 的部分索引覆盖：
+--   未删除：(user_id, created_at, id)、(user_id, business_type, created_at|file_size|original_filename, id)
+--   回收站：(user_id, created_at, id) WHERE delete_flag = 1
+
+-- 删除被以上索引或唯一约束取代、且没有查询单独使用的索引
+DROP INDEX IF EXISTS idx_di_file_records_file_hash;          -- 由 idx_di_file_records_hash_delete 取代
+DROP INDEX IF EXISTS idx_di_file_records_object_name;        -- object_name 的 UNIQUE 约束已自带索引
+DROP INDEX IF EXISTS idx_di_file_records_status;             -- 低基数，唯一的等值查询由 idx_di_file_records_processing 覆盖
+DROP INDEX IF EXISTS idx_di_file_records_business_type;      -- 低基数，业务类型筛选总是带 user_id
+DROP INDEX IF EXISTS idx_di_file_records_created_at;         -- 没有不带 user_id 的按时间查询
+DROP INDEX IF EXISTS idx_di_file_records_user_business;      -- 由列表部分索引取代
+DROP INDEX IF EXISTS idx_di_file_tags_file_id;               -- UNIQUE(file_id, tag_id) 已覆盖按 file_id 查询
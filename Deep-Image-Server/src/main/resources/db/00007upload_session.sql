@@ -0,0 +1,8 @@
+-- ============================================
+-- 上传会话清理
+-- ============================================
+
+-- 过期上传会话清理（selectExpiredUploads: status = 'UPLOADING' AND created_at < ?），只索引上传中的少量行
+CREATE INDEX IF NOT EXISTS idx_di_file_records_uploading
+    ON di_file_records(created_at)
+    WHERE status = 'UPLOADING';
@@ -0,0 +1,12 @@
+-- ============================================
+-- 文件列表（不按业务类型筛选）的游标分页索引
+-- ============================================
+
+-- 00005file_cursor.sql 只为"全部文件"建了按创建时间的索引，按大小、文件名排序时需要对该用户的全部文件排序
+CREATE INDEX IF NOT EXISTS idx_di_file_records_active_size
+    ON di_file_records(user_id, file_size, id)
+    WHERE delete_flag = 0 AND status <> 'UPLOADING';
+
+CREATE INDEX IF NOT EXISTS idx_di_file_records_active_filename
+    ON di_file_records(user_id, original_filename, id)
+    WHERE delete_flag = 0 AND status <> 'UPLOADING';
@@ -0,0 +1,156 @@
+package org.tech.ai.deepimage.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.tech.ai.deepimage.model.dto.DownloadContent;
+import org.tech.ai.deepimage.model.dto.FileAccessInfo;
+import org.tech.ai.deepimage.service.FileService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 文件下载的 Range / If-Range / 条件请求测试
+ */
+class FileControllerDownloadTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+    private static final String ETAG = "\"abc123\"";
+
+    private FileService fileService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        fileService = mock(FileService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new FileController(fileService)).build();
+
+        FileAccessInfo accessInfo = FileAccessInfo.builder()
+                .fileId(1L)
+                .originalFilename("a.txt")
+                .contentType("text/plain")
+                .fileSize((long) CONTENT.length)
+                .etag("abc123")
+                .lastModified(LocalDateTime.of(2025, 10, 1, 12, 0))
+                .build();
+        when(fileService.prepareDownload(1L)).thenReturn(accessInfo);
+        when(fileService.openDownload(any(), anyLong(), anyLong())).thenAnswer(invocation -> {
+            int offset = (int) (long) invocation.getArgument(1);
+            int length = (int) (long) invocation.getArgument(2);
+            return DownloadContent.of(new ByteArrayInputStream(Arrays.copyOfRange(CONTENT, offset, offset + length)));
+        });
+    }
+
+    @Test
+    void fullDownload() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("fileId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "10"))
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void singleRangeReturnsPartialContent() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("fileId", "1")
+                        .header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "4"))
+                .andExpect(content().string("2345"));
+        verify(fileService).openDownload(any(), eq(2L), eq(4L));
+    }
+
+    @Test
+    void suffixRangeReturnsTail() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("fileId", "1")
+                        .header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+    }
+
+    @Test
+    void multiRangeFallsBackToFullBody() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("fileId", "1")
+                        .header(HttpHeaders.RANGE, "bytes=0-1,4-5"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "10"))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void malformedRangeFallsBackToFullBody() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("fileId", "1")
+                        .header(HttpHeaders.RANGE, "bytes=abc"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void ifRangeMismatchFallsBackToFullBody() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("fileId", "1")
+                        .header(HttpHeaders.RANGE, "bytes=2-5")
+                        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void ifRangeMatchReturnsPartialContent() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("fileId", "1")
+                        .header(HttpHeaders.RANGE, "bytes=2-5")
+                        .header(HttpHeaders.IF_RANGE, ETAG))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    void ifNoneMatchReturnsNotModified() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("fileId", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        verify(fileService, never()).openDownload(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void sendfileWritesHeadersOnly() throws Exception {
+        when(fileService.openDownload(any(), anyLong(), anyLong())).thenReturn(DownloadContent.sentByContainer());
+
+        mockMvc.perform(get("/api/files/download").param("fileId", "1")
+                        .header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "4"))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void unsatisfiableRangeReturns416() throws Exception {
+        mockMvc.perform(get("/api/files/download").param("fileId", "1")
+                        .header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+        verify(fileService, never()).openDownload(any(), anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,63 @@
+package org.tech.ai.deepimage.mapper;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * 文件模块查询计划回归测试
+ * 在 PostgreSQL 容器上执行全部迁移脚本后运行 db/plan_regression.sql，热点查询的计划中出现 Seq Scan 即失败
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PlanRegressionTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void migrate() throws IOException, SQLException {
+        Resource[] migrations = new PathMatchingResourcePatternResolver().getResources("classpath:db/0000*.sql");
+        Arrays.sort(migrations, Comparator.comparing(Resource::getFilename));
+        for (Resource migration : migrations) {
+            execute(migration);
+        }
+    }
+
+    @Test
+    void hotQueriesAvoidSequentialScans() throws IOException {
+        try {
+            execute(new ClassPathResource("db/plan_regression.sql"));
+        } catch (SQLException e) {
+            // assert_no_seq_scan 抛出的异常信息包含查询标签与顺序扫描的表
+            fail(e.getMessage());
+        }
+    }
+
+    /**
+     * 整个脚本作为一次简单查询发送（驱动按语句拆分并识别 $$ 引用，函数体与 DO 块无需额外处理）
+     */
+    private static void execute(Resource script) throws IOException, SQLException {
+        String sql = script.getContentAsString(StandardCharsets.UTF_8);
+        try (Connection connection = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package org.tech.ai.deepimage.service.impl;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+import org.tech.ai.deepimage.config.MinioProperties;
+import org.tech.ai.deepimage.entity.FileRecord;
+import org.tech.ai.deepimage.enums.BusinessTypeEnum;
+import org.tech.ai.deepimage.exception.BusinessException;
+import org.tech.ai.deepimage.mapper.FileRecordMapper;
+import org.tech.ai.deepimage.model.dto.request.UploadFileRequest;
+import org.tech.ai.deepimage.model.dto.response.FileObjectInfoResponse;
+import org.tech.ai.deepimage.service.FileAccessLogService;
+import org.tech.ai.deepimage.service.MinioService;
+import org.tech.ai.deepimage.service.ThumbnailService;
+import org.tech.ai.deepimage.service.UserStorageStatsService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 普通上传的内存占用与失败清理测试
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FileServiceImplUploadTest {
+
+    private static final long USER_ID = 7L;
+    private static final long SMALL_SIZE = 64 * 1024;
+    private static final long LARGE_SIZE = 8 * 1024 * 1024;
+
+    @Mock
+    private MinioService minioService;
+    @Mock
+    private MinioProperties minioProperties;
+    @Mock
+    private UserStorageStatsService userStorageStatsService;
+    @Mock
+    private ThumbnailService thumbnailService;
+    @Mock
+    private FileAccessLogService fileAccessLogService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @InjectMocks
+    private FileServiceImpl fileService;
+
+    private MockedStatic<StpUtil> stpUtil;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // LambdaQueryWrapper 解析列名依赖实体元数据
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), FileRecord.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fileService, "baseMapper", mock(FileRecordMapper.class));
+        stpUtil = mockStatic(StpUtil.class);
+        stpUtil.when(StpUtil::getLoginIdAsLong).thenReturn(USER_ID);
+
+        // 桩 MinIO 以固定缓冲区读完上传流，模拟真实客户端的分块发送
+        when(minioService.uploadFile(any(InputStream.class), anyLong(), anyString(), any())).thenAnswer(invocation -> {
+            try (InputStream in = invocation.getArgument(0)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return null;
+        });
+        when(minioService.moveObject(anyString(), anyString()))
+                .thenAnswer(invocation -> "http://minio/" + invocation.getArgument(1));
+        when(minioService.getFileInfo(anyString())).thenReturn(FileObjectInfoResponse.builder().etag("etag").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stpUtil.close();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void peakAllocationDoesNotGrowWithFileSize() throws IOException {
+        // 预热：类加载、Lambda 元数据缓存
+        for (int i = 0; i < 3; i++) {
+            fileService.uploadFile(request(SMALL_SIZE));
+        }
+
+        long small = allocatedBytes(SMALL_SIZE);
+        long large = allocatedBytes(LARGE_SIZE);
+
+        // 文件大小相差约 8MB，分配量的差异应远小于文件大小（不在内存中缓冲文件内容）
+        assertTrue(large - small < LARGE_SIZE / 8,
+                "allocation grew with file size: small=" + small + ", large=" + large);
+    }
+
+    @Test
+    void movedObjectIsDeletedWhenTransactionRollsBack() throws IOException {
+        TransactionSynchronizationManager.initSynchronization();
+        doThrow(BusinessException.badRequest("quota")).when(userStorageStatsService).onFilesAdded(eq(USER_ID), any());
+
+        assertThrows(BusinessException.class, () -> fileService.uploadFile(request(SMALL_SIZE)));
+        ArgumentCaptor<String> objectName = ArgumentCaptor.forClass(String.class);
+        verify(minioService).moveObject(anyString(), objectName.capture());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        verify(minioService).deleteFile(objectName.getValue());
+    }
+
+    @Test
+    void movedObjectIsKeptWhenTransactionCommits() throws IOException {
+        TransactionSynchronizationManager.initSynchronization();
+
+        fileService.uploadFile(request(SMALL_SIZE));
+        ArgumentCaptor<String> objectName = ArgumentCaptor.forClass(String.class);
+        verify(minioService).moveObject(anyString(), objectName.capture());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        verify(minioService, never()).deleteFile(objectName.getValue());
+    }
+
+    private long allocatedBytes(long fileSize) throws IOException {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        UploadFileRequest request = request(fileSize);
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        fileService.uploadFile(request);
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private UploadFileRequest request(long fileSize) throws IOException {
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.getSize()).thenReturn(fileSize);
+        when(file.getOriginalFilename()).thenReturn("photo.jpg");
+        when(file.getContentType()).thenReturn("image/jpeg");
+        when(file.getInputStream()).thenReturn(generatedStream(fileSize));
+
+        UploadFileRequest request = new UploadFileRequest();
+        request.setFile(file);
+        request.setBusinessType(BusinessTypeEnum.IMAGE.name());
+        return request;
+    }
+
+    /**
+     * 按需生成内容的输入流，自身不持有文件大小的缓冲区
+     */
+    private InputStream generatedStream(long size) {
+        return new InputStream() {
+            private long remaining = size;
+
+            @Override
+            public int read() {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                remaining--;
+                return 'x';
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int count = (int) Math.min(length, remaining);
+                Arrays.fill(buffer, offset, offset + count, (byte) 'x');
+                remaining -= count;
+                return count;
+            }
+        };
+    }
+}
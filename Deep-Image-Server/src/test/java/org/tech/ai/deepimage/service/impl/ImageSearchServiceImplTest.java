@@ -0,0 +1,129 @@
+package org.tech.ai.deepimage.service.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.tech.ai.deepimage.config.ImageSearchProperties;
+import org.tech.ai.deepimage.model.dto.ImageInfo;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 图片搜索合并与缓存测试（本地桩服务代替搜索引擎）
+ */
+class ImageSearchServiceImplTest {
+
+    private static final String RESULT_PAGE = """
+            <html><body>
+            <div class="img_cont"><img class="mimg" src="http://img.example.com/a.jpg?w=1" alt="a"></div>
+            <div class="img_cont"><img class="mimg" src="http://img.example.com/b.png" alt="b"></div>
+            </body></html>
+            """;
+
+    private HttpServer stubServer;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile String responseBody = RESULT_PAGE;
+    private volatile CountDownLatch requestReceived = new CountDownLatch(0);
+    private volatile CountDownLatch releaseResponse = new CountDownLatch(0);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ImageSearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stubServer.createContext("/images/async", this::handle);
+        stubServer.start();
+
+        ImageSearchProperties properties = new ImageSearchProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + stubServer.getAddress().getPort() + "/images/async");
+        meterRegistry = new SimpleMeterRegistry();
+        searchService = new ImageSearchServiceImpl(properties, meterRegistry);
+        searchService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseResponse.countDown();
+        searchService.shutdown();
+        stubServer.stop(0);
+    }
+
+    @Test
+    void concurrentIdenticalSearchesShareOneRequest() throws Exception {
+        requestReceived = new CountDownLatch(1);
+        releaseResponse = new CountDownLatch(1);
+
+        CompletableFuture<List<ImageInfo>> first = CompletableFuture.supplyAsync(() -> searchService.searchImages("Cat", 10));
+        assertTrue(requestReceived.await(5, TimeUnit.SECONDS));
+        // 大小写不同的相同关键词，等待进行中的搜索
+        CompletableFuture<List<ImageInfo>> second = CompletableFuture.supplyAsync(() -> searchService.searchImages("cat", 10));
+        awaitCacheHits(1);
+        releaseResponse.countDown();
+
+        assertEquals(2, first.get(5, TimeUnit.SECONDS).size());
+        assertEquals(first.get(), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void completedSearchIsServedFromCache() {
+        List<ImageInfo> images = searchService.searchImages("dog", 10);
+        List<ImageInfo> cached = searchService.searchImages("dog", 10);
+
+        assertEquals(images, cached);
+        assertEquals("https://img.example.com/a.jpg", images.get(0).getUrl());
+        assertEquals(1, requestCount.get());
+
+        // 数量不同属于不同的缓存键
+        assertEquals(1, searchService.searchImages("dog", 1).size());
+        assertEquals(2, requestCount.get());
+    }
+
+    @Test
+    void emptyResultIsNotCached() {
+        responseBody = "<html><body></body></html>";
+
+        assertTrue(searchService.searchImages("nothing", 10).isEmpty());
+        assertTrue(searchService.searchImages("nothing", 10).isEmpty());
+        assertEquals(2, requestCount.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        requestReceived.countDown();
+        try {
+            releaseResponse.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = responseBody.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void awaitCacheHits(double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "second search never joined the in-flight one");
+            Thread.sleep(10);
+        }
+    }
+}
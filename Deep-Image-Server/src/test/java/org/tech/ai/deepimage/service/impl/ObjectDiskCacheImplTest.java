@@ -0,0 +1,193 @@
+package org.tech.ai.deepimage.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.tech.ai.deepimage.config.DiskCacheProperties;
+import org.tech.ai.deepimage.util.HashUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 本地磁盘缓存的回填、淘汰与 sendfile 测试
+ */
+class ObjectDiskCacheImplTest {
+
+    private static final int OBJECT_SIZE = 40;
+    private static final long MAX_BYTES = 100;
+
+    @TempDir
+    Path rootDir;
+
+    private ObjectDiskCacheImpl diskCache;
+
+    @BeforeEach
+    void setUp() {
+        DiskCacheProperties properties = new DiskCacheProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(rootDir.toString());
+        properties.setMaxBytes(MAX_BYTES);
+        properties.setMaxObjectBytes(MAX_BYTES);
+        properties.setSendfile(true);
+        diskCache = new ObjectDiskCacheImpl(properties, new SimpleMeterRegistry());
+        diskCache.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void fullReadFillsCache() throws IOException {
+        byte[] data = object('a');
+        String fileHash = HashUtil.sha256(data);
+
+        readFully(diskCache.cacheOnRead(fileHash, data.length, new ByteArrayInputStream(data)));
+
+        Path cachedPath = diskCache.lookup(fileHash);
+        assertNotNull(cachedPath);
+        assertArrayEquals(data, Files.readAllBytes(cachedPath));
+        try (InputStream in = diskCache.open(cachedPath, 10, 5)) {
+            assertArrayEquals(Arrays.copyOfRange(data, 10, 15), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void abandonedOrCorruptReadIsNotCached() throws IOException {
+        byte[] data = object('b');
+        String fileHash = HashUtil.sha256(data);
+
+        // 提前关闭
+        InputStream partial = diskCache.cacheOnRead(fileHash, data.length, new ByteArrayInputStream(data));
+        partial.read(new byte[10]);
+        partial.close();
+        assertNull(diskCache.lookup(fileHash));
+
+        // 内容与哈希不一致
+        byte[] corrupt = object('c');
+        readFully(diskCache.cacheOnRead(fileHash, corrupt.length, new ByteArrayInputStream(corrupt)));
+        assertNull(diskCache.lookup(fileHash));
+        try (var tmpFiles = Files.list(rootDir.resolve("tmp"))) {
+            assertEquals(0, tmpFiles.count());
+        }
+    }
+
+    @Test
+    void evictionKeepsWeightWithinLimitAndDeletesFiles() throws IOException {
+        List<String> hashes = new ArrayList<>();
+        for (char c = 'd'; c < 'i'; c++) {
+            byte[] data = object(c);
+            String fileHash = HashUtil.sha256(data);
+            hashes.add(fileHash);
+            readFully(diskCache.cacheOnRead(fileHash, data.length, new ByteArrayInputStream(data)));
+        }
+        index().cleanUp();
+
+        long cachedBytes = 0;
+        int cachedCount = 0;
+        for (String fileHash : hashes) {
+            Path objectPath = objectPath(fileHash);
+            if (diskCache.lookup(fileHash) != null) {
+                cachedCount++;
+                cachedBytes += Files.size(objectPath);
+            } else {
+                // 被淘汰的对象文件同步删除
+                assertFalse(Files.exists(objectPath), "evicted object still on disk: " + fileHash);
+            }
+        }
+        assertTrue(cachedCount > 0);
+        assertTrue(cachedCount < hashes.size());
+        assertTrue(cachedBytes <= MAX_BYTES);
+    }
+
+    @Test
+    void externallyDeletedFileIsTreatedAsMiss() throws IOException {
+        byte[] data = object('j');
+        String fileHash = HashUtil.sha256(data);
+        readFully(diskCache.cacheOnRead(fileHash, data.length, new ByteArrayInputStream(data)));
+
+        Files.delete(objectPath(fileHash));
+
+        assertNull(diskCache.lookup(fileHash));
+        assertNull(index().getIfPresent(fileHash));
+    }
+
+    @Test
+    void sendfileHandsContainerAHardLinkThatSurvivesEviction() throws IOException {
+        byte[] data = object('k');
+        String fileHash = HashUtil.sha256(data);
+        readFully(diskCache.cacheOnRead(fileHash, data.length, new ByteArrayInputStream(data)));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        Path cachedPath = diskCache.lookup(fileHash);
+        assertTrue(diskCache.sendfile(cachedPath, 0, data.length));
+
+        Path linkPath = Path.of((String) request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertNotEquals(cachedPath, linkPath);
+        assertEquals(0L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals((long) data.length, request.getAttribute("org.apache.tomcat.sendfile.end"));
+
+        // 容器打开文件前缓存文件被淘汰删除，硬链接仍可读取
+        Files.delete(cachedPath);
+        assertArrayEquals(data, Files.readAllBytes(linkPath));
+    }
+
+    @Test
+    void sendfileUnsupportedWithoutContainerSupport() throws IOException {
+        byte[] data = object('l');
+        String fileHash = HashUtil.sha256(data);
+        readFully(diskCache.cacheOnRead(fileHash, data.length, new ByteArrayInputStream(data)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertFalse(diskCache.sendfile(diskCache.lookup(fileHash), 0, data.length));
+    }
+
+    private byte[] object(char c) {
+        byte[] data = new byte[OBJECT_SIZE];
+        Arrays.fill(data, (byte) c);
+        byte[] tag = String.valueOf(c).getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(tag, 0, data, 0, tag.length);
+        return data;
+    }
+
+    private void readFully(InputStream inputStream) throws IOException {
+        try (InputStream in = inputStream) {
+            in.readAllBytes();
+        }
+    }
+
+    private Path objectPath(String fileHash) {
+        return rootDir.resolve("objects").resolve(fileHash.substring(0, 2)).resolve(fileHash);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<String, Long> index() {
+        return (Cache<String, Long>) ReflectionTestUtils.getField(diskCache, "cache");
+    }
+}
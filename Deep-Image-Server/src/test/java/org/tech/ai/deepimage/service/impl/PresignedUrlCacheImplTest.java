@@ -0,0 +1,120 @@
+package org.tech.ai.deepimage.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.tech.ai.deepimage.config.PresignedUrlCacheProperties;
+import org.tech.ai.deepimage.constant.MinioConstant;
+import org.tech.ai.deepimage.model.dto.PresignedUrl;
+import org.tech.ai.deepimage.service.MinioService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 预签名URL缓存的有效期分档、复用与安全余量测试
+ */
+class PresignedUrlCacheImplTest {
+
+    private static final String OBJECT_NAME = "7/image/20251101/a.jpg";
+
+    private MinioService minioService;
+    private PresignedUrlCacheImpl presignedUrlCache;
+
+    @BeforeEach
+    void setUp() {
+        minioService = mock(MinioService.class);
+        AtomicInteger signCount = new AtomicInteger();
+        when(minioService.getPresignedDownloadUrl(anyString(), anyInt())).thenAnswer(invocation ->
+                "http://minio/" + invocation.getArgument(0) + "?expires=" + invocation.getArgument(1)
+                        + "&n=" + signCount.incrementAndGet());
+
+        PresignedUrlCacheProperties properties = new PresignedUrlCacheProperties();
+        properties.setExpiryStepSeconds(300);
+        properties.setSafetyMarginSeconds(300);
+        presignedUrlCache = new PresignedUrlCacheImpl(minioService, properties, new SimpleMeterRegistry());
+        presignedUrlCache.init();
+    }
+
+    @Test
+    void expiryIsRoundedDownToStep() {
+        presignedUrlCache.getDownloadUrl(OBJECT_NAME, 3599);
+        presignedUrlCache.getDownloadUrl(OBJECT_NAME, 3600);
+
+        verify(minioService).getPresignedDownloadUrl(OBJECT_NAME, 3300);
+        verify(minioService).getPresignedDownloadUrl(OBJECT_NAME, 3600);
+    }
+
+    @Test
+    void expiryShorterThanStepIsKept() {
+        presignedUrlCache.getDownloadUrl(OBJECT_NAME, 200);
+
+        verify(minioService).getPresignedDownloadUrl(OBJECT_NAME, 200);
+    }
+
+    @Test
+    void expiryIsCappedAtMinioMaximum() {
+        presignedUrlCache.getDownloadUrl(OBJECT_NAME, MinioConstant.MAX_PRESIGNED_EXPIRY + 1000);
+
+        verify(minioService).getPresignedDownloadUrl(OBJECT_NAME, MinioConstant.MAX_PRESIGNED_EXPIRY);
+    }
+
+    @Test
+    void sameBucketReusesSignedUrl() {
+        PresignedUrl first = presignedUrlCache.getDownloadUrl(OBJECT_NAME, 3500);
+        PresignedUrl second = presignedUrlCache.getDownloadUrl(OBJECT_NAME, 3400);
+        PresignedUrl otherBucket = presignedUrlCache.getDownloadUrl(OBJECT_NAME, 3700);
+
+        assertEquals(first.getUrl(), second.getUrl());
+        assertEquals(first.getExpiresAt(), second.getExpiresAt());
+        assertNotEquals(first.getUrl(), otherBucket.getUrl());
+        verify(minioService, times(1)).getPresignedDownloadUrl(OBJECT_NAME, 3300);
+        verify(minioService, times(1)).getPresignedDownloadUrl(OBJECT_NAME, 3600);
+    }
+
+    @Test
+    void expiresAtNeverExceedsRequestedExpiry() {
+        LocalDateTime before = LocalDateTime.now();
+        PresignedUrl url = presignedUrlCache.getDownloadUrl(OBJECT_NAME, 3599);
+
+        // 分档后的有效期不超过期望值，分享剩余时间的限制依然成立
+        assertTrue(!url.getExpiresAt().isBefore(before.plusSeconds(3300)));
+        assertTrue(!url.getExpiresAt().isAfter(LocalDateTime.now().plusSeconds(3300)));
+    }
+
+    @Test
+    void cachedUrlStopsBeingReusedBeforeItExpires() {
+        presignedUrlCache.getDownloadUrl(OBJECT_NAME, 3600);
+        presignedUrlCache.getDownloadUrl(OBJECT_NAME, 200);
+
+        // 复用时长 = 有效期 - 安全余量，余量最多为有效期的一半
+        assertReuseWindow(OBJECT_NAME + "|3600", 3600 - 300);
+        assertReuseWindow(OBJECT_NAME + "|200", 100);
+    }
+
+    private void assertReuseWindow(String key, long expectedSeconds) {
+        Cache<String, ?> cache = cache();
+        Duration remaining = cache.policy().expireVariably().orElseThrow()
+                .getExpiresAfter(key).orElseThrow();
+        assertTrue(remaining.toSeconds() <= expectedSeconds, key + " reused for " + remaining);
+        assertTrue(remaining.toSeconds() >= expectedSeconds - 5, key + " reused for " + remaining);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<String, ?> cache() {
+        return (Cache<String, ?>) ReflectionTestUtils.getField(presignedUrlCache, "cache");
+    }
+}
@@ -0,0 +1,164 @@
+package org.tech.ai.deepimage.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tech.ai.deepimage.config.StorageProperties;
+import org.tech.ai.deepimage.constant.ResponseConstant;
+import org.tech.ai.deepimage.entity.FileRecord;
+import org.tech.ai.deepimage.entity.UserStorageStats;
+import org.tech.ai.deepimage.enums.BusinessTypeEnum;
+import org.tech.ai.deepimage.enums.FileStatusEnum;
+import org.tech.ai.deepimage.exception.BusinessException;
+import org.tech.ai.deepimage.mapper.FileAccessDailyMapper;
+import org.tech.ai.deepimage.mapper.UserStorageStatsMapper;
+import org.tech.ai.deepimage.model.dto.UserStorageDelta;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户存储统计与配额计算测试
+ */
+class UserStorageStatsServiceImplTest {
+
+    private static final long USER_ID = 7L;
+    private static final long QUOTA = 1000L;
+
+    private UserStorageStatsMapper mapper;
+    private StorageProperties storageProperties;
+    private UserStorageStatsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        mapper = mock(UserStorageStatsMapper.class);
+        storageProperties = new StorageProperties();
+        storageProperties.setQuotaBytes(QUOTA);
+        service = new UserStorageStatsServiceImpl(mock(FileAccessDailyMapper.class), storageProperties,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(service, "baseMapper", mapper);
+    }
+
+    @Test
+    void filesAddedAccumulatesDeltaWithQuotaCondition() {
+        when(mapper.applyDelta(any(), anyLong())).thenReturn(1);
+
+        service.onFilesAdded(USER_ID, List.of(file(300L, BusinessTypeEnum.IMAGE), file(200L, BusinessTypeEnum.DOCUMENT)));
+
+        ArgumentCaptor<UserStorageDelta> captor = ArgumentCaptor.forClass(UserStorageDelta.class);
+        verify(mapper).applyDelta(captor.capture(), eq(QUOTA));
+        UserStorageDelta delta = captor.getValue();
+        assertEquals(USER_ID, delta.getUserId().longValue());
+        assertEquals(2, delta.getTotalFiles());
+        assertEquals(500L, delta.getTotalSize());
+        assertEquals(1, delta.getImageCount());
+        assertEquals(1, delta.getDocumentCount());
+        verify(mapper, never()).rebuild(anyLong());
+    }
+
+    @Test
+    void uploadingSessionIsNotCounted() {
+        when(mapper.applyDelta(any(), anyLong())).thenReturn(1);
+        FileRecord uploading = file(300L, BusinessTypeEnum.IMAGE);
+        uploading.setStatus(FileStatusEnum.UPLOADING.name());
+
+        service.onFilesAdded(USER_ID, List.of(uploading));
+
+        ArgumentCaptor<UserStorageDelta> captor = ArgumentCaptor.forClass(UserStorageDelta.class);
+        verify(mapper).applyDelta(captor.capture(), eq(QUOTA));
+        assertEquals(0, captor.getValue().getTotalFiles());
+        assertEquals(0L, captor.getValue().getTotalSize());
+    }
+
+    @Test
+    void filesAddedOverQuotaThrowsAfterRebuild() {
+        when(mapper.applyDelta(any(), anyLong())).thenReturn(0);
+        when(mapper.selectById(USER_ID)).thenReturn(stats(900L, 200L));
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> service.onFilesAdded(USER_ID, List.of(file(200L, BusinessTypeEnum.IMAGE))));
+        assertEquals(ResponseConstant.FORBIDDEN, e.getCode());
+
+        // 重建前先锁定统计行
+        InOrder order = inOrder(mapper);
+        order.verify(mapper).insertIfAbsent(USER_ID);
+        order.verify(mapper).lockByUserId(USER_ID);
+        order.verify(mapper).rebuild(USER_ID);
+    }
+
+    @Test
+    void missingStatsRowIsRebuiltWithinQuota() {
+        when(mapper.applyDelta(any(), anyLong())).thenReturn(0);
+        when(mapper.selectById(USER_ID)).thenReturn(stats(200L, 0L));
+
+        assertDoesNotThrow(() -> service.onFilesAdded(USER_ID, List.of(file(200L, BusinessTypeEnum.IMAGE))));
+        verify(mapper).rebuild(USER_ID);
+    }
+
+    @Test
+    void unlimitedQuotaNeverRejects() {
+        storageProperties.setQuotaBytes(0);
+        when(mapper.applyDelta(any(), anyLong())).thenReturn(0);
+        when(mapper.selectById(USER_ID)).thenReturn(stats(Long.MAX_VALUE / 2, 0L));
+
+        assertDoesNotThrow(() -> service.onFilesAdded(USER_ID, List.of(file(200L, BusinessTypeEnum.IMAGE))));
+        verify(mapper).applyDelta(any(), eq(0L));
+        assertDoesNotThrow(() -> service.checkQuota(USER_ID, Long.MAX_VALUE / 2));
+    }
+
+    @Test
+    void checkQuotaCountsTrash() {
+        when(mapper.selectById(USER_ID)).thenReturn(stats(600L, 300L));
+
+        assertDoesNotThrow(() -> service.checkQuota(USER_ID, 100L));
+        assertThrows(BusinessException.class, () -> service.checkQuota(USER_ID, 101L));
+    }
+
+    @Test
+    void shareChangeUpdatesRowsInUserIdOrder() {
+        when(mapper.applyDelta(any(), anyLong())).thenReturn(1);
+
+        service.onShareChanged(9L, 3L, 1);
+
+        // 两行统计按用户ID顺序更新
+        ArgumentCaptor<UserStorageDelta> captor = ArgumentCaptor.forClass(UserStorageDelta.class);
+        verify(mapper, times(2)).applyDelta(captor.capture(), eq(0L));
+        assertEquals(3L, captor.getAllValues().get(0).getUserId().longValue());
+        assertEquals(9L, captor.getAllValues().get(1).getUserId().longValue());
+    }
+
+    private FileRecord file(long size, BusinessTypeEnum businessType) {
+        FileRecord fileRecord = new FileRecord();
+        fileRecord.setUserId(USER_ID);
+        fileRecord.setFileSize(size);
+        fileRecord.setBusinessType(businessType.name());
+        fileRecord.setStatus(FileStatusEnum.COMPLETED.name());
+        fileRecord.setCreatedAt(LocalDateTime.now());
+        return fileRecord;
+    }
+
+    private UserStorageStats stats(long totalSize, long trashSize) {
+        UserStorageStats stats = new UserStorageStats();
+        stats.setUserId(USER_ID);
+        stats.setTotalSize(totalSize);
+        stats.setTrashSize(trashSize);
+        return stats;
+    }
+}
@@ -0,0 +1,109 @@
+package org.tech.ai.deepimage.util;
+
+import org.junit.jupiter.api.Test;
+import org.tech.ai.deepimage.constant.FileConstant;
+import org.tech.ai.deepimage.entity.FileRecord;
+import org.tech.ai.deepimage.exception.BusinessException;
+import org.tech.ai.deepimage.model.dto.FileCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 游标分页编码、解码与排序校验测试
+ */
+class CursorUtilTest {
+
+    @Test
+    void createdAtCursorRoundTrip() {
+        FileRecord fileRecord = fileRecord(42L, 1024L, "a.jpg", LocalDateTime.of(2025, 10, 28, 9, 30, 15, 123456000));
+
+        FileCursor cursor = roundTrip(fileRecord, FileConstant.SORT_BY_CREATED_AT, FileConstant.SORT_ORDER_DESC);
+
+        assertEquals(42L, cursor.getId().longValue());
+        assertEquals(fileRecord.getCreatedAt(), cursor.getCreatedAt());
+        assertNull(cursor.getFileSize());
+        assertNull(cursor.getOriginalFilename());
+    }
+
+    @Test
+    void fileSizeCursorRoundTrip() {
+        FileRecord fileRecord = fileRecord(7L, 5_000_000_000L, "big.mp4", LocalDateTime.now());
+
+        FileCursor cursor = roundTrip(fileRecord, FileConstant.SORT_BY_FILE_SIZE, FileConstant.SORT_ORDER_ASC);
+
+        assertEquals(7L, cursor.getId().longValue());
+        assertEquals(5_000_000_000L, cursor.getFileSize().longValue());
+    }
+
+    @Test
+    void filenameWithSeparatorsRoundTrip() {
+        FileRecord fileRecord = fileRecord(9L, 1L, "报告:2025:终稿 (1).pdf", LocalDateTime.now());
+
+        FileCursor cursor = roundTrip(fileRecord, FileConstant.SORT_BY_FILENAME, FileConstant.SORT_ORDER_ASC);
+
+        assertEquals("报告:2025:终稿 (1).pdf", cursor.getOriginalFilename());
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertNull(CursorUtil.decode(null, FileConstant.SORT_BY_CREATED_AT, FileConstant.SORT_ORDER_DESC));
+        assertNull(CursorUtil.decode(" ", FileConstant.SORT_BY_CREATED_AT, FileConstant.SORT_ORDER_DESC));
+    }
+
+    @Test
+    void cursorFromAnotherSortIsRejected() {
+        String value = CursorUtil.encode(CursorUtil.of(fileRecord(1L, 10L, "a", LocalDateTime.now()),
+                FileConstant.SORT_BY_FILE_SIZE, FileConstant.SORT_ORDER_DESC));
+
+        assertThrows(BusinessException.class,
+                () -> CursorUtil.decode(value, FileConstant.SORT_BY_CREATED_AT, FileConstant.SORT_ORDER_DESC));
+        assertThrows(BusinessException.class,
+                () -> CursorUtil.decode(value, FileConstant.SORT_BY_FILE_SIZE, FileConstant.SORT_ORDER_ASC));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        String sortBy = FileConstant.SORT_BY_FILE_SIZE;
+        String sortOrder = FileConstant.SORT_ORDER_DESC;
+
+        assertThrows(BusinessException.class, () -> CursorUtil.decode("not base64!", sortBy, sortOrder));
+        assertThrows(BusinessException.class, () -> CursorUtil.decode(encodeRaw("fileSize:desc:1"), sortBy, sortOrder));
+        assertThrows(BusinessException.class, () -> CursorUtil.decode(encodeRaw("fileSize:desc:x:10"), sortBy, sortOrder));
+        assertThrows(BusinessException.class, () -> CursorUtil.decode(encodeRaw("fileSize:desc:1:big"), sortBy, sortOrder));
+        assertThrows(BusinessException.class, () -> CursorUtil.decode(encodeRaw("createdAt:desc:1:yesterday"),
+                FileConstant.SORT_BY_CREATED_AT, sortOrder));
+    }
+
+    @Test
+    void sortParametersAreNormalized() {
+        assertEquals(FileConstant.SORT_BY_CREATED_AT, CursorUtil.normalizeSortBy(null));
+        assertEquals(FileConstant.SORT_BY_CREATED_AT, CursorUtil.normalizeSortBy("id; DROP TABLE"));
+        assertEquals(FileConstant.SORT_BY_FILENAME, CursorUtil.normalizeSortBy(FileConstant.SORT_BY_FILENAME));
+        assertEquals(FileConstant.SORT_ORDER_ASC, CursorUtil.normalizeSortOrder("ASC"));
+        assertEquals(FileConstant.SORT_ORDER_DESC, CursorUtil.normalizeSortOrder("sideways"));
+    }
+
+    private FileCursor roundTrip(FileRecord fileRecord, String sortBy, String sortOrder) {
+        String value = CursorUtil.encode(CursorUtil.of(fileRecord, sortBy, sortOrder));
+        return CursorUtil.decode(value, sortBy, sortOrder);
+    }
+
+    private String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private FileRecord fileRecord(Long id, Long fileSize, String filename, LocalDateTime createdAt) {
+        FileRecord fileRecord = new FileRecord();
+        fileRecord.setId(id);
+        fileRecord.setFileSize(fileSize);
+        fileRecord.setOriginalFilename(filename);
+        fileRecord.setCreatedAt(createdAt);
+        return fileRecord;
+    }
+}
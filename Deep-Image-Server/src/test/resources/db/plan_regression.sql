@@ -0,0 +1,192 @@
+-- ============================================
+-- 文件模块查询计划回归检查
+-- ============================================
+-- 由 PlanRegressionTest 在 Testcontainers PostgreSQL 上执行全部 db/0000N*.sql 后运行；
+-- 也可在本地已迁移的库上手动运行：
+--   psql -v ON_ERROR_STOP=1 -d deepimage_plan -f plan_regression.sql
+-- 在事务内生成测试数据并 ANALYZE，逐条 EXPLAIN 热点查询（与 mapper 中的 SQL 形态一致），
+-- 计划中出现顺序扫描即报错退出；结束时回滚，不留下数据。
+
+BEGIN;
+
+-- 生成数据：2000 个用户、20 万条文件记录（约 10% 在回收站、1% 上传中、1% 处理中）
+INSERT INTO di_file_records (user_id, bucket_name, object_name, original_filename, file_size, content_type,
+                             file_extension, business_type, status, visibility, file_url, file_hash,
+                             delete_flag, created_at, updated_at)
+SELECT 900000 + (g % 2000),
+       'deepimage',
+       'plan/' || g || '.jpg',
+       'image_' || md5(g::text) || '.jpg',
+       (random() * 10000000)::bigint,
+       'image/jpeg',
+       'jpg',
+       (ARRAY['IMAGE', 'IMAGE', 'IMAGE', 'DOCUMENT', 'VIDEO', 'AVATAR', 'TEMP'])[1 + g % 7],
+       CASE WHEN g % 100 = 0 THEN 'UPLOADING' WHEN g % 100 = 1 THEN 'PROCESSING' ELSE 'COMPLETED' END,
+       'PRIVATE',
+       'http://localhost/plan/' || g || '.jpg',
+       md5(g::text) || md5((g + 1)::text),
+       CASE WHEN g % 10 = 0 THEN 1 ELSE 0 END,
+       TIMESTAMP '2025-01-01' + (g || ' seconds')::interval,
+       TIMESTAMP '2025-01-01' + (g || ' seconds')::interval
+FROM generate_series(1, 200000) AS g;
+
+-- 每个文件约 0.5 个标签
+INSERT INTO di_file_tags (file_id, tag_id)
+SELECT id, 800000 + (id % 50)
+FROM di_file_records
+WHERE user_id >= 900000 AND id % 2 = 0;
+
+-- 分享：每个用户约 10 条
+INSERT INTO di_file_shares (file_id, share_from_user_id, share_to_user_id, revoked)
+SELECT id, user_id, 900000 + ((user_id + 1) % 2000), 0
+FROM di_file_records
+WHERE user_id >= 900000 AND id % 10 = 1;
+
+ANALYZE di_file_records;
+ANALYZE di_file_tags;
+ANALYZE di_file_shares;
+
+-- 断言：查询计划中没有顺序扫描
+CREATE FUNCTION pg_temp.assert_no_seq_scan(label TEXT, query TEXT) RETURNS VOID AS $$
+DECLARE
+    plan JSONB;
+    seq_tables TEXT;
+BEGIN
+    EXECUTE 'EXPLAIN (FORMAT JSON) ' || query INTO plan;
+    SELECT string_agg(DISTINCT node ->> 'Relation Name', ', ')
+    INTO seq_tables
+    FROM jsonb_path_query(plan, '$.** ? (@."Node Type" == "Seq Scan")') AS node;
+    IF seq_tables IS NOT NULL THEN
+        RAISE EXCEPTION '[%] 出现顺序扫描: %', label, seq_tables;
+    END IF;
+    RAISE NOTICE '[%] OK', label;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 文件列表（selectFilePage / selectFilesAfter）
+SELECT pg_temp.assert_no_seq_scan('list: image, created_at desc', $q$
+    SELECT * FROM di_file_records f
+    WHERE f.user_id = 900042 AND f.delete_flag = 0 AND f.status != 'UPLOADING' AND f.business_type = 'IMAGE'
+    ORDER BY f.created_at DESC, f.id DESC LIMIT 41
+$q$);
+
+SELECT pg_temp.assert_no_seq_scan('list: image, file_size asc', $q$
+    SELECT * FROM di_file_records f
+    WHERE f.user_id = 900042 AND f.delete_flag = 0 AND f.status != 'UPLOADING' AND f.business_type = 'IMAGE'
+    ORDER BY f.file_size ASC, f.id ASC LIMIT 41
+$q$);
+
+SELECT pg_temp.assert_no_seq_scan('list: image, filename desc', $q$
+    SELECT * FROM di_file_records f
+    WHERE f.user_id = 900042 AND f.delete_flag = 0 AND f.status != 'UPLOADING' AND f.business_type = 'IMAGE'
+    ORDER BY f.original_filename DESC, f.id DESC LIMIT 41
+$q$);
+
+SELECT pg_temp.assert_no_seq_scan('list: all types, created_at desc', $q$
+    SELECT * FROM di_file_records f
+    WHERE f.user_id = 900042 AND f.delete_flag = 0 AND f.status != 'UPLOADING'
+    ORDER BY f.created_at DESC, f.id DESC LIMIT 21
+$q$);
+
+SELECT pg_temp.assert_no_seq_scan('list: all types, file_size desc', $q$
+    SELECT * FROM di_file_records f
+    WHERE f.user_id = 900042 AND f.delete_flag = 0 AND f.status != 'UPLOADING'
+    ORDER BY f.file_size DESC, f.id DESC LIMIT 21
+$q$);
+
+SELECT pg_temp.assert_no_seq_scan('list: all types, filename asc', $q$
+    SELECT * FROM di_file_records f
+    WHERE f.user_id = 900042 AND f.delete_flag = 0 AND f.status != 'UPLOADING'
+      AND (f.original_filename, f.id) > ('image_8', 0)
+    ORDER BY f.original_filename ASC, f.id ASC LIMIT 21
+$q$);
+
+SELECT pg_temp.assert_no_seq_scan('list: cursor continuation', $q$
+    SELECT * FROM di_file_records f
+    WHERE f.user_id = 900042 AND f.delete_flag = 0 AND f.status != 'UPLOADING' AND f.business_type = 'IMAGE'
+      AND (f.created_at, f.id) < (TIMESTAMP '2025-01-02', 100000)
+    ORDER BY f.created_at DESC, f.id DESC LIMIT 41
+$q$);
+
+SELECT pg_temp.assert_no_seq_scan('list: tag filter any', $q$
+    SELECT * FROM di_file_records f
+    WHERE f.user_id = 900042 AND f.delete_flag = 0 AND f.status != 'UPLOADING'
+      AND EXISTS (SELECT 1 FROM di_file_tags ft WHERE ft.file_id = f.id AND ft.tag_id IN (800001, 800002))
+    ORDER BY f.created_at DESC, f.id DESC LIMIT 21
+$q$);
+
+SELECT pg_temp.assert_no_seq_scan('list: count', $q$
+    SELECT COUNT(*) FROM di_file_records f
+    WHERE f.user_id = 900042 AND f.delete_flag = 0 AND f.status != 'UPLOADING' AND f.business_type = 'IMAGE'
+$q$);
+
+-- 秒传/去重（checkExistingFile、抓取去重）
+SELECT pg_temp.assert_no_seq_scan('dedup: file_hash', $q$
+    SELECT * FROM di_file_records
+    WHERE file_hash = md5('4242') || md5('4243') AND delete_flag = 0 LIMIT 1
+$q$);
+
+SELECT pg_temp.assert_no_seq_scan('dedup: user + file_hash', $q$
+    SELECT * FROM di_file_records
+    WHERE delete_flag = 0 AND user_id = 900042 AND file_hash = md5('4242') || md5('4243') LIMIT 1
+$q$);
+
+-- 回收站（selectTrashFiles / selectTrashFilesAfter / selectTrashStats / selectTrashFileIds）
+SELECT pg_temp.assert_no_seq_scan('trash: list', $q$
+    SELECT * FROM di_file_records
+    WHERE user_id = 900042 AND delete_flag = 1
+    ORDER BY created_at DESC, id DESC LIMIT 21
+$q$);
+
+SELECT pg_temp.assert_no_seq_scan('trash: stats', $q$
+    SELECT COUNT(*), COALESCE(SUM(file_size), 0) FROM di_file_records
+    WHERE user_id = 900042 AND delete_flag = 1
+$q$);
+
+SELECT pg_temp.assert_no_seq_scan('trash: ids', $q$
+    SELECT id FROM di_file_records WHERE user_id = 900042 AND delete_flag = 1
+$q$);
+
+-- 缩略图任务恢复（recoverPending）
+SELECT pg_temp.assert_no_seq_scan('thumbnail: processing', $q$
+    SELECT id FROM di_file_records
+    WHERE status = 'PROCESSING' AND delete_flag = 0 AND id NOT IN (101, 201, 301)
+    ORDER BY updated_at ASC LIMIT 200
+$q$);
+
+-- 过期上传会话清理（selectExpiredUploads）
+SELECT pg_temp.assert_no_seq_scan('upload: expired sessions', $q$
+    SELECT id, object_name FROM di_file_records
+    WHERE status = 'UPLOADING' AND created_at < TIMESTAMP '2025-01-02'
+    ORDER BY created_at LIMIT 100
+$q$);
+
+-- 分享列表
+SELECT pg_temp.assert_no_seq_scan('share: outgoing', $q$
+    SELECT * FROM di_file_shares
+    WHERE share_from_user_id = 900042 AND revoked = 0
+    ORDER BY created_at DESC LIMIT 20
+$q$);
+
+SELECT pg_temp.assert_no_seq_scan('share: incoming', $q$
+    SELECT * FROM di_file_shares
+    WHERE share_to_user_id = 900042 AND revoked = 0
+      AND (expires_at IS NULL OR expires_at > CURRENT_TIMESTAMP)
+    ORDER BY created_at DESC LIMIT 20
+$q$);
+
+-- 下载 / 预览权限解析（selectFileAccess）
+SELECT pg_temp.assert_no_seq_scan('access: resolve', $q$
+    SELECT f.id, f.user_id, f.object_name, f.original_filename, f.content_type, f.file_size, f.etag,
+           COALESCE(f.updated_at, f.created_at), s.id, s.expires_at
+    FROM di_file_records f
+    LEFT JOIN LATERAL (
+        SELECT sh.id, sh.expires_at FROM di_file_shares sh
+        WHERE sh.file_id = f.id AND sh.share_to_user_id = 900043 AND sh.revoked = 0
+        ORDER BY sh.created_at DESC LIMIT 1
+    ) s ON f.user_id != 900043
+    WHERE f.id = (SELECT MIN(id) FROM di_file_records WHERE user_id = 900042) AND f.delete_flag = 0
+      AND f.status != 'UPLOADING'
+$q$);
+
+ROLLBACK;